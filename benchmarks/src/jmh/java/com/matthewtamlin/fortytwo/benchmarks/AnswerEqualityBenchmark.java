@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.benchmarks;
+
+import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@code hashCode} and {@code equals} methods of the {@link ImmutableAnswer}
+ * and {@link PojoAnswer} classes, using texts of varying length and type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnswerEqualityBenchmark {
+	/**
+	 * The number of characters in each answer text.
+	 */
+	@Param({"16", "1024", "65536"})
+	public int textLength;
+
+	/**
+	 * The type of CharSequence to use for the answer texts.
+	 */
+	@Param({"String", "StringBuilder"})
+	public String textType;
+
+	/**
+	 * An ImmutableAnswer.
+	 */
+	private ImmutableAnswer immutableAnswer;
+
+	/**
+	 * A distinct ImmutableAnswer with equal text and correctness.
+	 */
+	private ImmutableAnswer equalImmutableAnswer;
+
+	/**
+	 * A PojoAnswer.
+	 */
+	private PojoAnswer pojoAnswer;
+
+	/**
+	 * A distinct PojoAnswer with equal text and correctness.
+	 */
+	private PojoAnswer equalPojoAnswer;
+
+	/**
+	 * Creates the answers before each trial. Every answer has its own copy of the text, so that
+	 * equality checks cannot short circuit on identity.
+	 */
+	@Setup
+	public void setup() {
+		immutableAnswer = new ImmutableAnswer(createText(), true);
+		equalImmutableAnswer = new ImmutableAnswer(createText(), true);
+		pojoAnswer = new PojoAnswer(createText(), true);
+		equalPojoAnswer = new PojoAnswer(createText(), true);
+	}
+
+	/**
+	 * @return the hash code of an ImmutableAnswer
+	 */
+	@Benchmark
+	public int immutableAnswerHashCode() {
+		return immutableAnswer.hashCode();
+	}
+
+	/**
+	 * @return the result of comparing two equal ImmutableAnswers
+	 */
+	@Benchmark
+	public boolean immutableAnswerEquals() {
+		return immutableAnswer.equals(equalImmutableAnswer);
+	}
+
+	/**
+	 * @return the hash code of a PojoAnswer
+	 */
+	@Benchmark
+	public int pojoAnswerHashCode() {
+		return pojoAnswer.hashCode();
+	}
+
+	/**
+	 * @return the result of comparing two equal PojoAnswers
+	 */
+	@Benchmark
+	public boolean pojoAnswerEquals() {
+		return pojoAnswer.equals(equalPojoAnswer);
+	}
+
+	/**
+	 * @return a new CharSequence of the current type and length
+	 */
+	private CharSequence createText() {
+		final StringBuilder builder = new StringBuilder(textLength);
+
+		for (int i = 0; i < textLength; i++) {
+			builder.append((char) ('a' + (i % 26)));
+		}
+
+		return "String".equals(textType) ? new String(builder) : builder;
+	}
+}
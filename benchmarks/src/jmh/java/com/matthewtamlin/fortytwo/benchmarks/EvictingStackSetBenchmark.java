@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.benchmarks;
+
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link EvictingStackSet} class at a range of size limits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvictingStackSetBenchmark {
+	/**
+	 * The size limit of the stack under test.
+	 */
+	@Param({"1", "10", "100", "1000"})
+	public int limit;
+
+	/**
+	 * Pre-boxed elements to push, twice as many as the limit so that pushing cycles through
+	 * evictions.
+	 */
+	private Integer[] elements;
+
+	/**
+	 * The stack under test.
+	 */
+	private EvictingStackSet<Integer> stack;
+
+	/**
+	 * The index of the next element to push.
+	 */
+	private int nextElement;
+
+	/**
+	 * Creates the elements and fills the stack to its limit before each trial.
+	 */
+	@Setup
+	public void setup() {
+		elements = new Integer[limit * 2];
+
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = i;
+		}
+
+		stack = new EvictingStackSet<>(limit);
+
+		for (int i = 0; i < limit; i++) {
+			stack.push(elements[i]);
+		}
+
+		nextElement = limit;
+	}
+
+	/**
+	 * Pushes an element which is not contained, so that every push evicts the bottom element.
+	 *
+	 * @return the stack, to prevent dead code elimination
+	 */
+	@Benchmark
+	public Object pushWithEviction() {
+		stack.push(elements[nextElement]);
+		nextElement = (nextElement + 1) % elements.length;
+
+		return stack;
+	}
+
+	/**
+	 * Pushes the bottom element of a full stack, so that every push moves an existing element to
+	 * the top.
+	 *
+	 * @return the stack, to prevent dead code elimination
+	 */
+	@Benchmark
+	public Object pushExisting() {
+		return stack.push(stack.peekBottom());
+	}
+
+	/**
+	 * Fills the stack to its limit, then shrinks it to a single element and restores the limit.
+	 * This measures eviction driven by {@link EvictingStackSet#setMaxSize(int)}.
+	 *
+	 * @return the stack, to prevent dead code elimination
+	 */
+	@Benchmark
+	public Object fillThenShrink() {
+		for (int i = 0; i < limit; i++) {
+			stack.push(elements[i]);
+		}
+
+		stack.setMaxSize(1);
+		stack.setMaxSize(limit);
+
+		return stack;
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.benchmarks;
+
+import com.matthewtamlin.fortytwo.library.answer_group.SelectionModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for how the selection bookkeeping of an answer group scales with the number of
+ * answers. Each benchmark selects, marks or removes every answer in a group of 10, 100 or 1000
+ * answers, so dividing the score by {@code answerCount} gives the cost per answer. If the cost
+ * per answer grows noticeably from 100 to 1000 answers, an operation has become quadratic.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupScalingBenchmark {
+	/**
+	 * The number of answers in the group.
+	 */
+	@Param({"10", "100", "1000"})
+	public int answerCount;
+
+	/**
+	 * The answers in the group.
+	 */
+	private Object[] answers;
+
+	/**
+	 * The answers in the group, as a list.
+	 */
+	private List<Object> answerList;
+
+	/**
+	 * Creates the answers before each trial.
+	 */
+	@Setup
+	public void setup() {
+		answers = new Object[answerCount];
+
+		for (int i = 0; i < answerCount; i++) {
+			answers[i] = new Object();
+		}
+
+		answerList = Arrays.asList(answers);
+	}
+
+	/**
+	 * Selects every answer one at a time, as if each one was clicked.
+	 *
+	 * @return the number of selected answers, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int selectEach() {
+		final SelectionModel<Object> model = new SelectionModel<>(answerCount);
+
+		for (final Object answer : answers) {
+			model.select(answer);
+		}
+
+		return model.getSelectedCount();
+	}
+
+	/**
+	 * Selects every answer in a single batch, as when restoring a saved selection.
+	 *
+	 * @return the number of selected answers, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int selectBatch() {
+		final SelectionModel<Object> model = new SelectionModel<>(answerCount);
+		model.selectAll(answerList);
+
+		return model.getSelectedCount();
+	}
+
+	/**
+	 * Selects every answer and then marks every answer, as when a question is submitted.
+	 *
+	 * @return the number of selected answers, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int selectAndMarkAll() {
+		final SelectionModel<Object> model = new SelectionModel<>(answerCount);
+		model.selectAll(answerList);
+
+		for (final Object answer : answers) {
+			model.setMarked(answer, true);
+		}
+
+		return model.getSelectedCount();
+	}
+
+	/**
+	 * Selects every answer and then removes every answer, oldest first.
+	 *
+	 * @return the number of selected answers, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int selectAndRemoveAll() {
+		final SelectionModel<Object> model = new SelectionModel<>(answerCount);
+		model.selectAll(answerList);
+
+		for (final Object answer : answers) {
+			model.remove(answer);
+		}
+
+		return model.getSelectedCount();
+	}
+}
\ No newline at end of file
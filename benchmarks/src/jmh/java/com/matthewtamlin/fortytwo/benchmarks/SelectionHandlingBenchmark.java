@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.benchmarks;
+
+import com.matthewtamlin.fortytwo.library.answer_group.SelectionModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for click handling in a pure Java model of the SelectionLimitedAnswerGroup class. The
+ * model mirrors the selection logic of the real group but contains no Android views, so the cost
+ * of the selection bookkeeping can be measured in isolation. The {@link SelectionModel} is also
+ * benchmarked directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectionHandlingBenchmark {
+	/**
+	 * The number of clicks to precompute. Clicks are replayed cyclically.
+	 */
+	private static final int CLICK_SEQUENCE_LENGTH = 4096;
+
+	/**
+	 * The number of answers in the group.
+	 */
+	@Param({"10", "100", "1000"})
+	public int answerCount;
+
+	/**
+	 * The selection limit of the group.
+	 */
+	@Param({"1", "10", "100"})
+	public int selectionLimit;
+
+	/**
+	 * The group under test.
+	 */
+	private ModelAnswerGroup group;
+
+	/**
+	 * A selection model with no listeners, used to measure the bookkeeping alone.
+	 */
+	private SelectionModel<ModelAnswerView> model;
+
+	/**
+	 * The answers contained in the group.
+	 */
+	private ModelAnswerView[] answers;
+
+	/**
+	 * The indices of the answers to click, in order.
+	 */
+	private int[] clickSequence;
+
+	/**
+	 * The position of the next click in the click sequence.
+	 */
+	private int nextClick;
+
+	/**
+	 * Creates the group and a reproducible pseudo-random click sequence before each trial.
+	 */
+	@Setup
+	public void setup() {
+		group = new ModelAnswerGroup(selectionLimit);
+		model = new SelectionModel<>(selectionLimit);
+		answers = new ModelAnswerView[answerCount];
+
+		for (int i = 0; i < answerCount; i++) {
+			answers[i] = new ModelAnswerView();
+		}
+
+		final Random random = new Random(42);
+		clickSequence = new int[CLICK_SEQUENCE_LENGTH];
+
+		for (int i = 0; i < CLICK_SEQUENCE_LENGTH; i++) {
+			clickSequence[i] = random.nextInt(answerCount);
+		}
+
+		nextClick = 0;
+	}
+
+	/**
+	 * Clicks the next answer in the click sequence.
+	 *
+	 * @return the number of selection callbacks delivered so far, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int handleClick() {
+		group.handleClick(answers[clickSequence[nextClick]]);
+		nextClick = (nextClick + 1) % CLICK_SEQUENCE_LENGTH;
+
+		return group.callbackCount;
+	}
+
+	/**
+	 * Toggles the next answer in the click sequence directly in the selection model.
+	 *
+	 * @return the number of selected answers, to prevent dead code elimination
+	 */
+	@Benchmark
+	public int toggleInModel() {
+		model.toggle(answers[clickSequence[nextClick]]);
+		nextClick = (nextClick + 1) % CLICK_SEQUENCE_LENGTH;
+
+		return model.getSelectedCount();
+	}
+
+	/**
+	 * A model of the SelectionLimitedAnswerGroup click handling logic.
+	 */
+	private static class ModelAnswerGroup {
+		/**
+		 * Records which views are selected and marked, and enforces the selection limit.
+		 */
+		private final SelectionModel<ModelAnswerView> selectionModel;
+
+		/**
+		 * Counts the callbacks which would have been delivered to listeners.
+		 */
+		private int callbackCount = 0;
+
+		/**
+		 * Constructs a new ModelAnswerGroup.
+		 *
+		 * @param selectionLimit
+		 * 		the selection limit, at least 1
+		 */
+		private ModelAnswerGroup(final int selectionLimit) {
+			selectionModel = new SelectionModel<>(selectionLimit);
+
+			selectionModel.registerListener(new SelectionModel.Listener<ModelAnswerView>() {
+				@Override
+				public void onSelected(final SelectionModel<ModelAnswerView> model,
+						final ModelAnswerView item) {
+					item.setSelected(true);
+					callbackCount++;
+				}
+
+				@Override
+				public void onDeselected(final SelectionModel<ModelAnswerView> model,
+						final ModelAnswerView item) {
+					item.setSelected(false);
+					callbackCount++;
+				}
+			});
+		}
+
+		/**
+		 * Mirrors SelectionLimitedAnswerGroup.handleClick(AnswerView).
+		 *
+		 * @param clickedView
+		 * 		the view which was clicked, not null
+		 */
+		private void handleClick(final ModelAnswerView clickedView) {
+			selectionModel.setMarked(clickedView, clickedView.isMarked());
+			selectionModel.toggle(clickedView);
+		}
+	}
+
+	/**
+	 * Models an answer view, storing only the state used by the click handling logic.
+	 */
+	private static class ModelAnswerView {
+		/**
+		 * Whether or not this view is marked.
+		 */
+		private boolean marked;
+
+		/**
+		 * Whether or not this view is selected.
+		 */
+		private boolean selected;
+
+		/**
+		 * @return whether or not this view is marked
+		 */
+		private boolean isMarked() {
+			return marked;
+		}
+
+		/**
+		 * @param selected
+		 * 		whether or not this view is selected
+		 */
+		private void setSelected(final boolean selected) {
+			this.selected = selected;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkLessThan;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * A compact store for very large numbers of answers. Rather than holding an object and a String
+ * for each answer, the bank stores the text of every answer in a single shared char array, records
+ * where each answer starts in an int array, and records the correctness of every answer in a
+ * BitSet. Each answer costs roughly 4 bytes plus its characters, compared to around 60 bytes
+ * plus its characters for an {@link ImmutableAnswer} holding a String.
+ * <p>
+ * Answers are identified by their index in the bank. The {@link #get(int)} method returns a small
+ * flyweight {@link Answer} which reads from the bank, so answers from the bank can be passed to
+ * {@code AnswerView.setAnswer(Answer, boolean)} like any other answer. Flyweights are only
+ * created when requested, and can be discarded as soon as they are no longer displayed.
+ * <p>
+ * Answers can be added but not changed or removed, so the text returned for an answer never
+ * changes. This class is not thread safe.
+ */
+public final class AnswerBank {
+	/**
+	 * The initial number of answers the bank can hold before growing, when no capacity is
+	 * specified.
+	 */
+	private static final int DEFAULT_ANSWER_CAPACITY = 16;
+
+	/**
+	 * The initial number of characters the bank can hold before growing, when no capacity is
+	 * specified.
+	 */
+	private static final int DEFAULT_CHAR_CAPACITY = 256;
+
+	/**
+	 * The text of every answer, one after the other. Entries between 0 (inclusive) and {@code
+	 * charCount} (exclusive) are in use.
+	 */
+	private char[] chars;
+
+	/**
+	 * The number of characters in use.
+	 */
+	private int charCount = 0;
+
+	/**
+	 * The index in {@code chars} at which the text of each answer starts. The text of answer i
+	 * ends where the text of answer i + 1 starts, and the text of the last answer ends at {@code
+	 * charCount}.
+	 */
+	private int[] offsets;
+
+	/**
+	 * The number of answers in the bank.
+	 */
+	private int size = 0;
+
+	/**
+	 * The correctness of each answer, indexed by answer.
+	 */
+	private final BitSet correctness;
+
+	/**
+	 * Constructs a new empty AnswerBank.
+	 */
+	public AnswerBank() {
+		this(DEFAULT_ANSWER_CAPACITY, DEFAULT_CHAR_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new empty AnswerBank which can hold the specified number of answers and
+	 * characters before growing. Supplying accurate capacities avoids copying the bank as it grows.
+	 *
+	 * @param answerCapacity
+	 * 		the initial answer capacity, at least 0
+	 * @param charCapacity
+	 * 		the initial character capacity, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code answerCapacity} or {@code charCapacity} is less than 0
+	 */
+	public AnswerBank(final int answerCapacity, final int charCapacity) {
+		checkGreaterThanOrEqualTo(answerCapacity, 0, "answerCapacity cannot be less than 0.");
+		checkGreaterThanOrEqualTo(charCapacity, 0, "charCapacity cannot be less than 0.");
+
+		offsets = new int[answerCapacity];
+		chars = new char[charCapacity];
+		correctness = new BitSet(answerCapacity);
+	}
+
+	/**
+	 * Adds an answer to the end of the bank. The characters of the text are copied into the bank,
+	 * so any formatting is discarded.
+	 *
+	 * @param text
+	 * 		the text of the answer, not null
+	 * @param correct
+	 * 		whether or not the answer is correct
+	 * @return the index of the new answer
+	 * @throws IllegalArgumentException
+	 * 		if {@code text} is null
+	 */
+	public int add(final CharSequence text, final boolean correct) {
+		checkNotNull(text, "text cannot be null.");
+
+		final int length = text.length();
+
+		ensureCapacity(size + 1, charCount + length);
+
+		if (text instanceof String) {
+			((String) text).getChars(0, length, chars, charCount);
+		} else {
+			for (int i = 0; i < length; i++) {
+				chars[charCount + i] = text.charAt(i);
+			}
+		}
+
+		offsets[size] = charCount;
+		correctness.set(size, correct);
+		charCount += length;
+
+		return size++;
+	}
+
+	/**
+	 * Adds the text and correctness of several answers to the end of the bank, in iteration order.
+	 *
+	 * @param answers
+	 * 		the answers to add, not null, not containing null
+	 * @return the index of the first new answer
+	 * @throws IllegalArgumentException
+	 * 		if {@code answers} is null or contains null
+	 */
+	public int addAll(final Collection<? extends Answer> answers) {
+		checkNotNull(answers, "answers cannot be null.");
+
+		for (final Answer answer : answers) {
+			checkNotNull(answer, "answers cannot contain null.");
+		}
+
+		final int firstIndex = size;
+
+		ensureCapacity(size + answers.size(), charCount);
+
+		for (final Answer answer : answers) {
+			add(answer.getText(), answer.isCorrect());
+		}
+
+		return firstIndex;
+	}
+
+	/**
+	 * @return the number of answers in the bank
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a flyweight answer which reads its text and correctness from this bank. A new
+	 * flyweight is returned by each call, however flyweights for the same index are equal.
+	 *
+	 * @param index
+	 * 		the index of the answer, at least 0 and less than the size of the bank
+	 * @return the answer, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code index} is out of bounds
+	 */
+	public Answer get(final int index) {
+		checkIndex(index);
+		return new BankAnswer(this, index);
+	}
+
+	/**
+	 * Returns the text of an answer. The returned sequence reads directly from the bank, and
+	 * characters are only copied if {@link CharSequence#toString()} is called.
+	 *
+	 * @param index
+	 * 		the index of the answer, at least 0 and less than the size of the bank
+	 * @return the text, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code index} is out of bounds
+	 */
+	public CharSequence getText(final int index) {
+		checkIndex(index);
+		return new TextSlice(chars, offsets[index], getEnd(index));
+	}
+
+	/**
+	 * @param index
+	 * 		the index of the answer, at least 0 and less than the size of the bank
+	 * @return the number of characters in the text of the answer
+	 * @throws IllegalArgumentException
+	 * 		if {@code index} is out of bounds
+	 */
+	public int getTextLength(final int index) {
+		checkIndex(index);
+		return getEnd(index) - offsets[index];
+	}
+
+	/**
+	 * @param index
+	 * 		the index of the answer, at least 0 and less than the size of the bank
+	 * @return whether or not the answer is correct
+	 * @throws IllegalArgumentException
+	 * 		if {@code index} is out of bounds
+	 */
+	public boolean isCorrect(final int index) {
+		checkIndex(index);
+		return correctness.get(index);
+	}
+
+	/**
+	 * @return the number of answers in the bank which are correct
+	 */
+	public int getCorrectCount() {
+		return correctness.cardinality();
+	}
+
+	/**
+	 * Reduces the memory used by the bank to the minimum needed for its current contents. Call
+	 * this once all answers have been added.
+	 */
+	public void trimToSize() {
+		if (offsets.length > size) {
+			final int[] newOffsets = new int[size];
+			System.arraycopy(offsets, 0, newOffsets, 0, size);
+			offsets = newOffsets;
+		}
+
+		if (chars.length > charCount) {
+			final char[] newChars = new char[charCount];
+			System.arraycopy(chars, 0, newChars, 0, charCount);
+			chars = newChars;
+		}
+	}
+
+	/**
+	 * @param index
+	 * 		the index of an answer in the bank
+	 * @return the index in {@code chars} at which the text of the answer ends (exclusive)
+	 */
+	private int getEnd(final int index) {
+		return index == size - 1 ? charCount : offsets[index + 1];
+	}
+
+	/**
+	 * Checks that an index refers to an answer in the bank.
+	 *
+	 * @param index
+	 * 		the index to check
+	 * @throws IllegalArgumentException
+	 * 		if {@code index} is out of bounds
+	 */
+	private void checkIndex(final int index) {
+		checkGreaterThanOrEqualTo(index, 0, "index cannot be less than 0.");
+		checkLessThan(index, size, "index must be less than the size of the bank.");
+	}
+
+	/**
+	 * Grows the arrays if necessary so that they can hold the supplied number of answers and
+	 * characters.
+	 *
+	 * @param answerCapacity
+	 * 		the required answer capacity
+	 * @param charCapacity
+	 * 		the required character capacity
+	 */
+	private void ensureCapacity(final int answerCapacity, final int charCapacity) {
+		if (answerCapacity > offsets.length) {
+			final int[] newOffsets = new int[Math.max(answerCapacity, offsets.length * 2)];
+			System.arraycopy(offsets, 0, newOffsets, 0, size);
+			offsets = newOffsets;
+		}
+
+		// Existing slices keep the old array, which is safe since existing text never changes
+		if (charCapacity > chars.length) {
+			final char[] newChars = new char[Math.max(charCapacity, chars.length * 2)];
+			System.arraycopy(chars, 0, newChars, 0, charCount);
+			chars = newChars;
+		}
+	}
+
+	/**
+	 * A flyweight answer which reads from an AnswerBank.
+	 */
+	private static final class BankAnswer implements Answer {
+		/**
+		 * The bank which holds the answer.
+		 */
+		private final AnswerBank bank;
+
+		/**
+		 * The index of the answer in the bank.
+		 */
+		private final int index;
+
+		/**
+		 * Constructs a new BankAnswer.
+		 *
+		 * @param bank
+		 * 		the bank which holds the answer, not null
+		 * @param index
+		 * 		the index of the answer in the bank
+		 */
+		private BankAnswer(final AnswerBank bank, final int index) {
+			this.bank = bank;
+			this.index = index;
+		}
+
+		@Override
+		public CharSequence getText() {
+			return bank.getText(index);
+		}
+
+		@Override
+		public boolean isCorrect() {
+			return bank.correctness.get(index);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(bank) * 31 + index;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) {
+				return true;
+			} else if (obj instanceof BankAnswer) {
+				final BankAnswer input = (BankAnswer) obj;
+				return bank == input.bank && index == input.index;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "BankAnswer {" +
+					"\n\ttext=" + getText() +
+					"\n\tcorrectness=" + isCorrect() +
+					'}';
+		}
+	}
+
+	/**
+	 * A CharSequence which reads a range of a char array without copying it.
+	 */
+	private static final class TextSlice implements CharSequence {
+		/**
+		 * The array which holds the characters.
+		 */
+		private final char[] chars;
+
+		/**
+		 * The index of the first character (inclusive).
+		 */
+		private final int start;
+
+		/**
+		 * The index after the last character (exclusive).
+		 */
+		private final int end;
+
+		/**
+		 * Constructs a new TextSlice.
+		 *
+		 * @param chars
+		 * 		the array which holds the characters, not null
+		 * @param start
+		 * 		the index of the first character (inclusive)
+		 * @param end
+		 * 		the index after the last character (exclusive)
+		 */
+		private TextSlice(final char[] chars, final int start, final int end) {
+			this.chars = chars;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(final int index) {
+			if (index < 0 || index >= length()) {
+				throw new IndexOutOfBoundsException("index out of bounds: " + index);
+			}
+
+			return chars[start + index];
+		}
+
+		@Override
+		public CharSequence subSequence(final int subStart, final int subEnd) {
+			if (subStart < 0 || subEnd > length() || subStart > subEnd) {
+				throw new IndexOutOfBoundsException("invalid range: " + subStart + ", " + subEnd);
+			}
+
+			return new TextSlice(chars, start + subStart, start + subEnd);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, start, end - start);
+		}
+	}
+}
\ No newline at end of file
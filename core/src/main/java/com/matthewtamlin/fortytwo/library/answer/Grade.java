@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer;
+
+import java.util.Collection;
+
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * The result of grading a question, calculated from the answers the user selected. Grading only
+ * counts answers, so it has no dependency on the views which display them and gives the same
+ * result on a device and on a server.
+ */
+public final class Grade {
+	/**
+	 * The number of correct answers which were selected.
+	 */
+	private final int correctSelectedCount;
+
+	/**
+	 * The number of incorrect answers which were selected.
+	 */
+	private final int incorrectSelectedCount;
+
+	/**
+	 * The number of correct answers in the question.
+	 */
+	private final int correctCount;
+
+	/**
+	 * Constructs a new Grade.
+	 *
+	 * @param correctSelectedCount
+	 * 		the number of correct answers which were selected
+	 * @param incorrectSelectedCount
+	 * 		the number of incorrect answers which were selected
+	 * @param correctCount
+	 * 		the number of correct answers in the question
+	 */
+	private Grade(final int correctSelectedCount, final int incorrectSelectedCount,
+			final int correctCount) {
+		this.correctSelectedCount = correctSelectedCount;
+		this.incorrectSelectedCount = incorrectSelectedCount;
+		this.correctCount = correctCount;
+	}
+
+	/**
+	 * Grades a question. The selected answers are expected to be a subset of all answers, but are
+	 * not compared against them, so grading takes time proportional to the number of answers and
+	 * does not depend on how answers implement equality.
+	 *
+	 * @param allAnswers
+	 * 		every answer in the question, not null, not containing null
+	 * @param selectedAnswers
+	 * 		the answers the user selected, not null, not containing null
+	 * @return the grade, not null
+	 * @throws IllegalArgumentException
+	 * 		if either argument is null or contains null
+	 */
+	public static Grade grade(final Collection<? extends Answer> allAnswers,
+			final Collection<? extends Answer> selectedAnswers) {
+		checkNotNull(allAnswers, "allAnswers cannot be null.");
+		checkNotNull(selectedAnswers, "selectedAnswers cannot be null.");
+
+		int correctCount = 0;
+
+		for (final Answer answer : allAnswers) {
+			checkNotNull(answer, "allAnswers cannot contain null.");
+
+			if (answer.isCorrect()) {
+				correctCount++;
+			}
+		}
+
+		int correctSelectedCount = 0;
+		int incorrectSelectedCount = 0;
+
+		for (final Answer answer : selectedAnswers) {
+			checkNotNull(answer, "selectedAnswers cannot contain null.");
+
+			if (answer.isCorrect()) {
+				correctSelectedCount++;
+			} else {
+				incorrectSelectedCount++;
+			}
+		}
+
+		return new Grade(correctSelectedCount, incorrectSelectedCount, correctCount);
+	}
+
+	/**
+	 * @return the number of correct answers which were selected
+	 */
+	public int getCorrectSelectedCount() {
+		return correctSelectedCount;
+	}
+
+	/**
+	 * @return the number of incorrect answers which were selected
+	 */
+	public int getIncorrectSelectedCount() {
+		return incorrectSelectedCount;
+	}
+
+	/**
+	 * @return the number of correct answers which were not selected
+	 */
+	public int getMissedCount() {
+		return Math.max(0, correctCount - correctSelectedCount);
+	}
+
+	/**
+	 * @return true if every correct answer and no incorrect answers were selected, false otherwise
+	 */
+	public boolean isPerfect() {
+		return incorrectSelectedCount == 0 && getMissedCount() == 0;
+	}
+
+	/**
+	 * Calculates a score between 0 and 1. Each correct selection earns a share of the score, and
+	 * each incorrect selection loses the same share, however the score is never negative. A
+	 * question with no correct answers scores 1 if nothing was selected and 0 otherwise.
+	 *
+	 * @return the score, between 0 and 1 inclusive
+	 */
+	public float getScore() {
+		if (correctCount == 0) {
+			return incorrectSelectedCount == 0 ? 1f : 0f;
+		}
+
+		final int netCorrect = correctSelectedCount - incorrectSelectedCount;
+
+		return Math.max(0, Math.min(correctCount, netCorrect)) / (float) correctCount;
+	}
+
+	@Override
+	public String toString() {
+		return "Grade {" +
+				"\n\tcorrectSelectedCount=" + correctSelectedCount +
+				"\n\tincorrectSelectedCount=" + incorrectSelectedCount +
+				"\n\tcorrectCount=" + correctCount +
+				'}';
+	}
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+
+import java.util.Comparator;
+
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * Provides the standard {@link LimitPolicy} implementations. Every policy except {@link
+ * #evictLowestPriority(Comparator)} chooses in constant time. The priority policy scans the
+ * selection each time it chooses, so each choice is O(limit).
+ */
+public final class LimitPolicies {
+	/**
+	 * Deselects the least recently selected item. This is the default policy.
+	 */
+	@SuppressWarnings("rawtypes") // Shared by all item types
+	private static final LimitPolicy EVICT_OLDEST = new LimitPolicy<Object>() {
+		@Override
+		public Object chooseEviction(final EvictingStackSet<Object> selectedItems,
+				final Object incoming) {
+			return selectedItems.peekBottom();
+		}
+	};
+
+	/**
+	 * Deselects the most recently selected item.
+	 */
+	@SuppressWarnings("rawtypes") // Shared by all item types
+	private static final LimitPolicy EVICT_NEWEST = new LimitPolicy<Object>() {
+		@Override
+		public Object chooseEviction(final EvictingStackSet<Object> selectedItems,
+				final Object incoming) {
+			return selectedItems.peek();
+		}
+	};
+
+	/**
+	 * Rejects new selections. If an item must be deselected anyway, the most recently selected
+	 * item is chosen so that the earliest selections are kept.
+	 */
+	@SuppressWarnings("rawtypes") // Shared by all item types
+	private static final LimitPolicy REJECT_NEW = new LimitPolicy<Object>() {
+		@Override
+		public Object chooseEviction(final EvictingStackSet<Object> selectedItems,
+				final Object incoming) {
+			return incoming == null ? selectedItems.peek() : null;
+		}
+	};
+
+	/**
+	 * Prevents instantiation, since this class only provides static methods.
+	 */
+	private LimitPolicies() {
+		super();
+	}
+
+	/**
+	 * @param <T>
+	 * 		the type of item being selected
+	 * @return a policy which deselects the least recently selected item, not null
+	 */
+	@SuppressWarnings("unchecked") // The policy never uses the item type
+	public static <T> LimitPolicy<T> evictOldest() {
+		return (LimitPolicy<T>) EVICT_OLDEST;
+	}
+
+	/**
+	 * @param <T>
+	 * 		the type of item being selected
+	 * @return a policy which deselects the most recently selected item, not null
+	 */
+	@SuppressWarnings("unchecked") // The policy never uses the item type
+	public static <T> LimitPolicy<T> evictNewest() {
+		return (LimitPolicy<T>) EVICT_NEWEST;
+	}
+
+	/**
+	 * Returns a policy which rejects new selections once the limit has been reached. If the limit
+	 * is reduced, the most recently selected items are deselected so that the earliest selections
+	 * are kept.
+	 *
+	 * @param <T>
+	 * 		the type of item being selected
+	 * @return the policy, not null
+	 */
+	@SuppressWarnings("unchecked") // The policy never uses the item type
+	public static <T> LimitPolicy<T> rejectNew() {
+		return (LimitPolicy<T>) REJECT_NEW;
+	}
+
+	/**
+	 * Returns a policy which keeps the items with the highest priority. When the limit is reached,
+	 * the selected item with the lowest priority is deselected, unless the new item has an even
+	 * lower priority, in which case the new item is rejected. If several selected items share the
+	 * lowest priority, the least recently selected one is deselected.
+	 * <p>
+	 * The policy does not keep the selection in priority order, since policies are not told about
+	 * selections and deselections. Instead it scans the selected items every time it chooses, so
+	 * each choice is O(limit) rather than constant time. This is negligible for the small limits
+	 * used in multiple choice questions, however the other policies are preferable if the limit is
+	 * large and the limit is reached often.
+	 *
+	 * @param priorityComparator
+	 * 		orders the items from lowest to highest priority, not null
+	 * @param <T>
+	 * 		the type of item being selected
+	 * @return the policy, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code priorityComparator} is null
+	 */
+	public static <T> LimitPolicy<T> evictLowestPriority(
+			final Comparator<? super T> priorityComparator) {
+		checkNotNull(priorityComparator, "priorityComparator cannot be null.");
+
+		return new LimitPolicy<T>() {
+			@Override
+			public T chooseEviction(final EvictingStackSet<T> selectedItems, final T incoming) {
+				T lowest = null;
+
+				// Iteration runs from the least recently selected item
+				for (final T item : selectedItems) {
+					if (lowest == null || priorityComparator.compare(item, lowest) < 0) {
+						lowest = item;
+					}
+				}
+
+				if (incoming != null && priorityComparator.compare(incoming, lowest) < 0) {
+					return null;
+				}
+
+				return lowest;
+			}
+		};
+	}
+}
\ No newline at end of file
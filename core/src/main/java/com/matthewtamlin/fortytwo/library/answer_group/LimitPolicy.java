@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+
+/**
+ * Decides what happens when selecting an item would exceed the selection limit of a {@link
+ * SelectionModel}. The policy either chooses a selected item to deselect, or rejects the new
+ * selection. Standard policies are provided by {@link LimitPolicies}.
+ *
+ * @param <T>
+ * 		the type of item being selected
+ */
+public interface LimitPolicy<T> {
+	/**
+	 * Chooses the item to deselect so that another item can be selected without exceeding the
+	 * limit. This method is also called when the limit is reduced or an external selection is
+	 * declared, in which case {@code incoming} is null and the policy must choose a selected item.
+	 * <p>
+	 * The selected items are supplied as a stack, with the least recently selected item at the
+	 * bottom and the most recently selected item at the top. The stack must not be modified.
+	 *
+	 * @param selectedItems
+	 * 		the currently selected items, not null, not empty
+	 * @param incoming
+	 * 		the item being selected, or null if there is no new item
+	 * @return the selected item to deselect, or null to reject {@code incoming} (only allowed if
+	 * {@code incoming} is not null)
+	 */
+	public T chooseEviction(EvictingStackSet<T> selectedItems, T incoming);
+}
\ No newline at end of file
@@ -0,0 +1,639 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet.EvictionListener;
+import com.matthewtamlin.fortytwo.library.util.Listenable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThan;
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkLessThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkEachElementIsNotNull;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * The selection state of an answer group, separated from the views which display it. The model
+ * records which items are selected (in order of selection) and which items are marked, and applies
+ * the same rules as the SelectionLimitedAnswerGroup: the number of selected items is
+ * limited, the least recently selected item is deselected when the limit is exceeded, and the
+ * selection status of marked items can optionally be locked.
+ * <p>
+ * The response to exceeding the limit can be changed by supplying a different {@link
+ * LimitPolicy}, and a minimum number of selected items can be set to prevent deselections which
+ * would leave too few items selected.
+ * <p>
+ * Collections of items can be selected and deselected in a single batch. Listeners receive the
+ * usual per-item callbacks as each change is applied, and {@link BatchListener}s additionally
+ * receive a single callback containing the net changes once the batch is complete.
+ * <p>
+ * All operations on a single item run in constant time. The model contains no Android
+ * dependencies, so it can be tested and benchmarked on a plain JVM. This class is not
+ * synchronized, and is intended to be used from a single thread (normally the UI thread).
+ *
+ * @param <T>
+ * 		the type of item being selected
+ */
+public class SelectionModel<T> implements Listenable<SelectionModel.Listener<T>> {
+	/**
+	 * The listeners which have registered for callbacks.
+	 */
+	private final Set<Listener<T>> listeners = new HashSet<>();
+
+	/**
+	 * All items which are currently selected. The size of the stack enforces the selection limit.
+	 */
+	private final EvictingStackSet<T> selectedItems;
+
+	/**
+	 * All items which are currently marked.
+	 */
+	private final Set<T> markedItems = new HashSet<>();
+
+	/**
+	 * The items selected during the current batch which are still selected, in order of
+	 * selection.
+	 */
+	private final Set<T> batchSelected = new LinkedHashSet<>();
+
+	/**
+	 * The items deselected during the current batch which are still deselected, in order of
+	 * deselection.
+	 */
+	private final Set<T> batchDeselected = new LinkedHashSet<>();
+
+	/**
+	 * The number of batches currently in progress. Batches are nested if a listener starts a batch
+	 * from within a callback.
+	 */
+	private int batchDepth = 0;
+
+	/**
+	 * Whether or not the selection status of marked items can be changed.
+	 */
+	private boolean allowSelectionChangesWhenMarked = false;
+
+	/**
+	 * Chooses the item to deselect when the limit is exceeded.
+	 */
+	private LimitPolicy<T> limitPolicy = LimitPolicies.evictOldest();
+
+	/**
+	 * Deselections are refused if they would leave fewer than this many items selected.
+	 */
+	private int minimumSelectedCount = 0;
+
+	/**
+	 * Constructs a new SelectionModel with nothing selected or marked.
+	 *
+	 * @param limit
+	 * 		the maximum number of items which can be selected at once, at least 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 1
+	 */
+	public SelectionModel(final int limit) {
+		checkGreaterThan(limit, 0, "limit cannot be less than 1.");
+
+		selectedItems = new EvictingStackSet<>(limit);
+
+		selectedItems.registerListener(new EvictionListener<T>() {
+			@Override
+			public void onEviction(final EvictingStackSet<T> evictingStackSet, final T evicted) {
+				notifyDeselected(evicted);
+			}
+		});
+	}
+
+	/**
+	 * Sets the maximum number of items which can be selected at once. If the new limit is less than
+	 * the current number of selected items, items chosen by the limit policy are deselected so
+	 * that the number of selected items equals the limit. Listeners are notified of each
+	 * deselection.
+	 *
+	 * @param limit
+	 * 		the new limit, at least 1 and at least the minimum selected count
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than the minimum selected count
+	 */
+	public void setLimit(final int limit) {
+		checkGreaterThan(limit, 0, "limit cannot be less than 1.");
+		checkGreaterThanOrEqualTo(limit, minimumSelectedCount,
+				"limit cannot be less than the minimum selected count.");
+
+		while (selectedItems.size() > limit) {
+			evict(null);
+		}
+
+		selectedItems.setMaxSize(limit);
+	}
+
+	/**
+	 * @return the maximum number of items which can be selected at once
+	 */
+	public int getLimit() {
+		return selectedItems.getMaxSize();
+	}
+
+	/**
+	 * Sets the policy which decides what happens when selecting an item would exceed the limit.
+	 * The default policy deselects the least recently selected item.
+	 *
+	 * @param limitPolicy
+	 * 		the new policy, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code limitPolicy} is null
+	 */
+	public void setLimitPolicy(final LimitPolicy<T> limitPolicy) {
+		this.limitPolicy = checkNotNull(limitPolicy, "limitPolicy cannot be null.");
+	}
+
+	/**
+	 * @return the policy which decides what happens when selecting an item would exceed the limit,
+	 * not null
+	 */
+	public LimitPolicy<T> getLimitPolicy() {
+		return limitPolicy;
+	}
+
+	/**
+	 * Sets the minimum number of items which must remain selected. Once this many items are
+	 * selected, calls to {@link #deselect(Object)} and {@link #toggle(Object)} cannot deselect
+	 * them, although they can still be deselected by selecting other items. Setting the minimum
+	 * does not select any items. The default is 0.
+	 *
+	 * @param minimum
+	 * 		the minimum, at least 0 and not more than the limit
+	 * @throws IllegalArgumentException
+	 * 		if {@code minimum} is less than 0 or greater than the limit
+	 */
+	public void setMinimumSelectedCount(final int minimum) {
+		checkGreaterThanOrEqualTo(minimum, 0, "minimum cannot be less than 0.");
+		checkLessThanOrEqualTo(minimum, getLimit(), "minimum cannot be greater than the limit.");
+
+		minimumSelectedCount = minimum;
+	}
+
+	/**
+	 * @return the minimum number of items which must remain selected
+	 */
+	public int getMinimumSelectedCount() {
+		return minimumSelectedCount;
+	}
+
+	/**
+	 * @return true if at least the minimum number of items are selected, false otherwise
+	 */
+	public boolean hasMinimumSelection() {
+		return selectedItems.size() >= minimumSelectedCount;
+	}
+
+	/**
+	 * Enables/disables selection changes on marked items. When disabled, calls to {@link
+	 * #select(Object)}, {@link #deselect(Object)} and {@link #toggle(Object)} have no effect on
+	 * marked items.
+	 *
+	 * @param allow
+	 * 		whether or not to allow selection changes on marked items
+	 */
+	public void allowSelectionChangesWhenMarked(final boolean allow) {
+		allowSelectionChangesWhenMarked = allow;
+	}
+
+	/**
+	 * @return true if selection changes are allowed on marked items, false otherwise
+	 */
+	public boolean selectionChangesAreAllowedWhenMarked() {
+		return allowSelectionChangesWhenMarked;
+	}
+
+	/**
+	 * Sets the marked status of an item.
+	 *
+	 * @param item
+	 * 		the item to mark or unmark, not null
+	 * @param marked
+	 * 		whether or not the item is marked
+	 * @throws IllegalArgumentException
+	 * 		if {@code item} is null
+	 */
+	public void setMarked(final T item, final boolean marked) {
+		checkNotNull(item, "item cannot be null.");
+
+		if (marked) {
+			markedItems.add(item);
+		} else {
+			markedItems.remove(item);
+		}
+	}
+
+	/**
+	 * @param item
+	 * 		the item to check, may be null
+	 * @return true if the item is marked, false otherwise
+	 */
+	public boolean isMarked(final T item) {
+		return markedItems.contains(item);
+	}
+
+	/**
+	 * @param item
+	 * 		the item to check, may be null
+	 * @return true if the item is selected, false otherwise
+	 */
+	public boolean isSelected(final T item) {
+		return selectedItems.contains(item);
+	}
+
+	/**
+	 * Determines whether the selection status of an item can currently be changed.
+	 *
+	 * @param item
+	 * 		the item to check, may be null
+	 * @return false if the item is marked and selection changes on marked items are disallowed,
+	 * true otherwise
+	 */
+	public boolean selectionCanChange(final T item) {
+		return allowSelectionChangesWhenMarked || !markedItems.contains(item);
+	}
+
+	/**
+	 * Selects an item and notifies the listeners. If the selection limit has been reached, the
+	 * limit policy either deselects another item first or rejects the selection. Calling this
+	 * method with an item which is already selected, or with an item which is locked by the marking
+	 * rules, has no effect.
+	 *
+	 * @param item
+	 * 		the item to select, not null
+	 * @return true if the item was selected as a result of the call, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code item} is null
+	 */
+	public boolean select(final T item) {
+		checkNotNull(item, "item cannot be null.");
+
+		if (selectedItems.contains(item) || !selectionCanChange(item)) {
+			return false;
+		}
+
+		if (selectedItems.size() >= selectedItems.getMaxSize() && !evict(item)) {
+			return false;
+		}
+
+		selectedItems.push(item);
+		notifySelected(item);
+
+		return true;
+	}
+
+	/**
+	 * Deselects an item and notifies the listeners. Calling this method with an item which is not
+	 * selected, with an item which is locked by the marking rules, or when only the minimum number
+	 * of items are selected, has no effect.
+	 *
+	 * @param item
+	 * 		the item to deselect, not null
+	 * @return true if the item was deselected as a result of the call, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code item} is null
+	 */
+	public boolean deselect(final T item) {
+		checkNotNull(item, "item cannot be null.");
+
+		if (!selectedItems.contains(item) || !selectionCanChange(item) ||
+				selectedItems.size() <= minimumSelectedCount) {
+			return false;
+		}
+
+		selectedItems.remove(item);
+		notifyDeselected(item);
+
+		return true;
+	}
+
+	/**
+	 * Selects an item if it is not selected, and deselects it otherwise. This is the response to a
+	 * click.
+	 *
+	 * @param item
+	 * 		the item to toggle, not null
+	 * @return true if the selection status of the item changed, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code item} is null
+	 */
+	public boolean toggle(final T item) {
+		checkNotNull(item, "item cannot be null.");
+
+		return selectedItems.contains(item) ? deselect(item) : select(item);
+	}
+
+	/**
+	 * Selects each item in a collection as a single batch. The items are selected in iteration
+	 * order using the same rules as {@link #select(Object)}, so if the collection is larger than the
+	 * limit then only the last items remain selected.
+	 *
+	 * @param items
+	 * 		the items to select, not null, not containing null
+	 * @return true if the selection changed as a result of the call, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code items} is null or contains null
+	 */
+	public boolean selectAll(final Collection<? extends T> items) {
+		checkEachElementIsNotNull(items, "items cannot be null or contain null.");
+
+		boolean changed = false;
+
+		beginBatch();
+
+		try {
+			for (final T item : items) {
+				changed |= select(item);
+			}
+		} finally {
+			endBatch();
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Deselects each item in a collection as a single batch. The items are deselected using the
+	 * same rules as {@link #deselect(Object)}.
+	 *
+	 * @param items
+	 * 		the items to deselect, not null, not containing null
+	 * @return true if the selection changed as a result of the call, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code items} is null or contains null
+	 */
+	public boolean deselectAll(final Collection<? extends T> items) {
+		checkEachElementIsNotNull(items, "items cannot be null or contain null.");
+
+		boolean changed = false;
+
+		beginBatch();
+
+		try {
+			for (final T item : items) {
+				changed |= deselect(item);
+			}
+		} finally {
+			endBatch();
+		}
+
+		return changed;
+	}
+
+	/**
+	 * @return true if a batch is currently being applied, false otherwise
+	 */
+	public boolean batchIsInProgress() {
+		return batchDepth > 0;
+	}
+
+	/**
+	 * Records a selection change which has already been applied to an item externally. The
+	 * marking rules and the minimum are not applied and the listeners are not notified of the
+	 * change itself, however if recording a selection exceeds the limit then the limit policy
+	 * chooses another item to deselect and the listeners are notified of the deselection.
+	 *
+	 * @param item
+	 * 		the item which changed, not null
+	 * @param selected
+	 * 		the new selected status of the item
+	 * @throws IllegalArgumentException
+	 * 		if {@code item} is null
+	 */
+	public void declareExternalSelectionChange(final T item, final boolean selected) {
+		checkNotNull(item, "item cannot be null.");
+
+		if (selected) {
+			if (!selectedItems.contains(item)) {
+				if (selectedItems.size() >= selectedItems.getMaxSize()) {
+					evict(null);
+				}
+
+				selectedItems.push(item);
+			}
+		} else {
+			selectedItems.remove(item);
+		}
+	}
+
+	/**
+	 * Forgets an item entirely, so that it is neither selected nor marked. The listeners are not
+	 * notified.
+	 *
+	 * @param item
+	 * 		the item to forget, may be null
+	 */
+	public void remove(final T item) {
+		selectedItems.remove(item);
+		markedItems.remove(item);
+	}
+
+	/**
+	 * Forgets all items. The listeners are not notified.
+	 */
+	public void clear() {
+		selectedItems.clear();
+		markedItems.clear();
+	}
+
+	/**
+	 * @return the number of items currently selected
+	 */
+	public int getSelectedCount() {
+		return selectedItems.size();
+	}
+
+	/**
+	 * Returns the selected items, ordered from least recently selected to most recently selected.
+	 * The returned list is a copy and may be modified freely.
+	 *
+	 * @return the selected items, not null
+	 */
+	public List<T> getSelected() {
+		return new ArrayList<>(selectedItems);
+	}
+
+	@Override
+	public void registerListener(final Listener<T> listener) {
+		if (listener != null) {
+			listeners.add(listener);
+		}
+	}
+
+	@Override
+	public void unregisterListener(final Listener<T> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Deselects the item chosen by the limit policy and notifies the listeners. If the policy
+	 * rejects an incoming item, nothing is deselected. If the policy chooses an item which is not
+	 * selected, the least recently selected item is deselected instead, so that an item is always
+	 * deselected unless the incoming item is rejected.
+	 *
+	 * @param incoming
+	 * 		the item which needs room to be selected, or null if there is no new item
+	 * @return true if an item was deselected, false if the incoming item was rejected
+	 */
+	private boolean evict(final T incoming) {
+		T evicted = limitPolicy.chooseEviction(selectedItems, incoming);
+
+		if (evicted == null && incoming != null) {
+			return false;
+		}
+
+		// Something must be deselected, so fall back to the default policy
+		if (evicted == null || !selectedItems.contains(evicted)) {
+			evicted = selectedItems.peekBottom();
+		}
+
+		selectedItems.remove(evicted);
+		notifyDeselected(evicted);
+
+		return true;
+	}
+
+	/**
+	 * Starts a batch. Every call must be followed by a call to {@link #endBatch()}.
+	 */
+	private void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Ends a batch. If it was the outermost batch and the selection changed, the batch listeners
+	 * are notified of the net changes.
+	 */
+	private void endBatch() {
+		batchDepth--;
+
+		if (batchDepth == 0 && !(batchSelected.isEmpty() && batchDeselected.isEmpty())) {
+			final List<T> selected = new ArrayList<>(batchSelected);
+			final List<T> deselected = new ArrayList<>(batchDeselected);
+
+			batchSelected.clear();
+			batchDeselected.clear();
+
+			for (final Listener<T> listener : new ArrayList<>(listeners)) {
+				if (listener instanceof BatchListener) {
+					((BatchListener<T>) listener).onBatchChanged(this, selected, deselected);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Notifies the listeners that an item has been selected.
+	 *
+	 * @param item
+	 * 		the item which was selected
+	 */
+	private void notifySelected(final T item) {
+		// A deselection followed by a selection in the same batch is no net change
+		if (batchDepth > 0 && !batchDeselected.remove(item)) {
+			batchSelected.add(item);
+		}
+
+		for (final Listener<T> listener : listeners) {
+			listener.onSelected(this, item);
+		}
+	}
+
+	/**
+	 * Notifies the listeners that an item has been deselected.
+	 *
+	 * @param item
+	 * 		the item which was deselected
+	 */
+	private void notifyDeselected(final T item) {
+		// A selection followed by a deselection in the same batch is no net change
+		if (batchDepth > 0 && !batchSelected.remove(item)) {
+			batchDeselected.add(item);
+		}
+
+		for (final Listener<T> listener : listeners) {
+			listener.onDeselected(this, item);
+		}
+	}
+
+	/**
+	 * Callback listener to be called when the selection of a SelectionModel changes.
+	 *
+	 * @param <V>
+	 * 		the type of item being selected
+	 */
+	public interface Listener<V> {
+		/**
+		 * Invoked when an item is selected in the SelectionModel this listener is registered to.
+		 * The model has already been updated when this method is called.
+		 *
+		 * @param model
+		 * 		the model containing the item, not null
+		 * @param item
+		 * 		the item which was selected, not null
+		 */
+		public void onSelected(SelectionModel<V> model, V item);
+
+		/**
+		 * Invoked when an item is deselected in the SelectionModel this listener is registered to,
+		 * either directly or because the selection limit was exceeded. The model has already been
+		 * updated when this method is called.
+		 *
+		 * @param model
+		 * 		the model containing the item, not null
+		 * @param item
+		 * 		the item which was deselected, not null
+		 */
+		public void onDeselected(SelectionModel<V> model, V item);
+	}
+
+	/**
+	 * Callback listener which is additionally notified once when a batch of selection changes is
+	 * complete.
+	 *
+	 * @param <V>
+	 * 		the type of item being selected
+	 */
+	public interface BatchListener<V> extends Listener<V> {
+		/**
+		 * Invoked when a batch of selection changes has been applied to the SelectionModel this
+		 * listener is registered to. Only net changes are reported, so an item which was selected
+		 * and then deselected during the batch appears in neither list. The per-item callbacks
+		 * have already been delivered when this method is called.
+		 *
+		 * @param model
+		 * 		the model containing the items, not null
+		 * @param selected
+		 * 		the items which became selected, in order of selection, not null
+		 * @param deselected
+		 * 		the items which became deselected, in order of deselection, not null
+		 */
+		public void onBatchChanged(SelectionModel<V> model, List<V> selected, List<V> deselected);
+	}
+}
\ No newline at end of file
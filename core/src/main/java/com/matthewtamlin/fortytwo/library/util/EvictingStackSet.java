@@ -0,0 +1,697 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.util;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThan;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * A stack which is limited in size and does not allows duplicate elements. Since there can be no
+ * duplicates, pushing an item to the stack which is already contained will move it to the top. If
+ * the size limit has been reached when an item is pushed to the stack, the item at the bottom of
+ * the stack is evicted to make room.
+ * <p>
+ * The elements are stored in a doubly linked list which is indexed by a hash map, so pushing,
+ * removing, checking containment and evicting are all constant time operations. Iteration runs
+ * from the bottom of the stack to the top. This class is not synchronized, and is intended to be
+ * used from a single thread (normally the UI thread).
+ * <p>
+ * Earlier versions of this class extended {@link java.util.Stack}. The stack methods and a few
+ * positional methods such as {@link #get(int)} and {@link #indexOf(Object)} are kept, but the class
+ * is no longer a List, and {@link #add(Object)} now pushes the element and may evict.
+ *
+ * @param <T>
+ * 		the type of elements contained in the stack
+ */
+public class EvictingStackSet<T> extends AbstractCollection<T> implements
+		Listenable<EvictingStackSet.EvictionListener<T>> {
+	/**
+	 * The listeners to call when elements are evicted.
+	 */
+	private final Set<EvictionListener<T>> listeners = new HashSet<>();
+
+	/**
+	 * Maps each element in the stack to the node which holds it.
+	 */
+	private final Map<T, Node<T>> index = new HashMap<>();
+
+	/**
+	 * The node at the bottom of the stack, null if the stack is empty.
+	 */
+	private Node<T> bottom;
+
+	/**
+	 * The node at the top of the stack, null if the stack is empty.
+	 */
+	private Node<T> top;
+
+	/**
+	 * The number of structural modifications made to the stack, used to detect concurrent
+	 * modification during iteration.
+	 */
+	private int modificationCount = 0;
+
+	/**
+	 * When the size of the stack exceeds this value, the bottom element is evicted.
+	 */
+	private int maxSize;
+
+	/**
+	 * Constructs a new empty EvictingStack.
+	 *
+	 * @param maxSize
+	 * 		the size limit of the stack, at least 1
+	 * @throws IllegalArgumentException
+	 */
+	public EvictingStackSet(final int maxSize) {
+		super();
+
+		this.maxSize = checkGreaterThan(maxSize, 0, "maxSize cannot be less than 1.");
+	}
+
+	/**
+	 * Constructs a new EvictingStack from an existing collection. When the new stack is populated,
+	 * elements are added using the ordering of the supplied collection. This will affect which
+	 * elements end up in the stack if the supplied collection is larger than the stack size limit.
+	 *
+	 * @param maxSize
+	 * 		the size limit of the stack, at least 1
+	 * @param contents
+	 * 		the elements to add to the stack, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxSize} is less than 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code contents} is null
+	 */
+	public EvictingStackSet(final int maxSize, final Collection<? extends T> contents) {
+		this.maxSize = checkGreaterThan(maxSize, 0, "maxSize cannot be less than 1.");
+		checkNotNull(contents, "contents cannot be null.");
+
+		for (final T t : contents) {
+			push(t);
+		}
+	}
+
+	/**
+	 * @return the size limit of the stack
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the size limit of the stack. If the stack contains more that this many elements, then
+	 * elements are evicted from the bottom until the stack size matches the new max size.
+	 *
+	 * @param maxSize
+	 * 		the size limit to use, at least 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxSize} is less than 1
+	 */
+	public void setMaxSize(final int maxSize) {
+		this.maxSize = checkGreaterThan(maxSize, 0, "maxSize cannot be less than 1.");
+
+		// If the stack exceeds the new size limit, remove elements
+		while (size() > maxSize) {
+			evictBottom();
+		}
+	}
+
+	/**
+	 * Pushes an element onto the top of the stack. If the element is already contained, it is
+	 * moved to the top. If the stack is full, the bottom element is evicted to make room.
+	 *
+	 * @param object
+	 * 		the element to push, may be null
+	 * @return the pushed element
+	 */
+	public T push(final T object) {
+		final Node<T> existing = index.get(object);
+
+		if (existing != null) {
+			unlink(existing);
+			linkTop(existing);
+			modificationCount++;
+
+			return object;
+		}
+
+		// If the stack will become too big, remove elements until it's the right size
+		while (size() >= maxSize) {
+			evictBottom();
+		}
+
+		final Node<T> node = new Node<>(object);
+		index.put(object, node);
+		linkTop(node);
+		modificationCount++;
+
+		return object;
+	}
+
+	/**
+	 * Removes and returns the element at the top of the stack. Eviction listeners are not
+	 * notified.
+	 *
+	 * @return the element which was at the top of the stack
+	 * @throws EmptyStackException
+	 * 		if the stack is empty
+	 */
+	public T pop() {
+		if (top == null) {
+			throw new EmptyStackException();
+		}
+
+		final T item = top.item;
+		removeNode(top);
+
+		return item;
+	}
+
+	/**
+	 * Returns the element at the top of the stack without removing it.
+	 *
+	 * @return the element at the top of the stack
+	 * @throws EmptyStackException
+	 * 		if the stack is empty
+	 */
+	public T peek() {
+		if (top == null) {
+			throw new EmptyStackException();
+		}
+
+		return top.item;
+	}
+
+	/**
+	 * Returns the element at the bottom of the stack without removing it. The bottom element is
+	 * the next element to be evicted.
+	 *
+	 * @return the element at the bottom of the stack
+	 * @throws EmptyStackException
+	 * 		if the stack is empty
+	 */
+	public T peekBottom() {
+		if (bottom == null) {
+			throw new EmptyStackException();
+		}
+
+		return bottom.item;
+	}
+
+	/**
+	 * @return true if the stack contains no elements, false otherwise
+	 */
+	public boolean empty() {
+		return isEmpty();
+	}
+
+	/**
+	 * Returns the 1-based position of an element relative to the top of the stack, using the same
+	 * convention as {@link java.util.Stack#search(Object)}. This is a linear time operation.
+	 *
+	 * @param object
+	 * 		the element to search for, may be null
+	 * @return the distance from the top of the stack, or -1 if the element is not contained
+	 */
+	public int search(final Object object) {
+		final Node<T> target = index.get(object);
+
+		if (target == null) {
+			return -1;
+		}
+
+		int distance = 1;
+
+		for (Node<T> node = top; node != null; node = node.below) {
+			if (node == target) {
+				return distance;
+			}
+
+			distance++;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the element at the supplied position, where position 0 is the bottom of the stack.
+	 * This method is kept for compatibility with earlier versions, in which this class extended
+	 * {@link java.util.Stack}. It is a linear time operation, so prefer {@link #peek()}, {@link
+	 * #peekBottom()} or iteration.
+	 *
+	 * @param position
+	 * 		the position of the element, counted from the bottom of the stack
+	 * @return the element at the position
+	 * @throws ArrayIndexOutOfBoundsException
+	 * 		if {@code position} is less than 0, or is not less than the size of the stack
+	 */
+	public T get(final int position) {
+		if (position < 0 || position >= size()) {
+			throw new ArrayIndexOutOfBoundsException(position);
+		}
+
+		// Walk from whichever end of the list is closer
+		if (position < size() / 2) {
+			Node<T> node = bottom;
+
+			for (int i = 0; i < position; i++) {
+				node = node.above;
+			}
+
+			return node.item;
+		} else {
+			Node<T> node = top;
+
+			for (int i = size() - 1; i > position; i--) {
+				node = node.below;
+			}
+
+			return node.item;
+		}
+	}
+
+	/**
+	 * Equivalent to {@link #get(int)}. This method is kept for compatibility with earlier versions,
+	 * in which this class extended {@link java.util.Stack}.
+	 *
+	 * @param position
+	 * 		the position of the element, counted from the bottom of the stack
+	 * @return the element at the position
+	 * @throws ArrayIndexOutOfBoundsException
+	 * 		if {@code position} is less than 0, or is not less than the size of the stack
+	 */
+	public T elementAt(final int position) {
+		return get(position);
+	}
+
+	/**
+	 * Returns the element at the bottom of the stack. This method is kept for compatibility with
+	 * earlier versions, in which this class extended {@link java.util.Stack}.
+	 *
+	 * @return the element at the bottom of the stack
+	 * @throws NoSuchElementException
+	 * 		if the stack is empty
+	 */
+	public T firstElement() {
+		if (bottom == null) {
+			throw new NoSuchElementException();
+		}
+
+		return bottom.item;
+	}
+
+	/**
+	 * Returns the element at the top of the stack. This method is kept for compatibility with
+	 * earlier versions, in which this class extended {@link java.util.Stack}.
+	 *
+	 * @return the element at the top of the stack
+	 * @throws NoSuchElementException
+	 * 		if the stack is empty
+	 */
+	public T lastElement() {
+		if (top == null) {
+			throw new NoSuchElementException();
+		}
+
+		return top.item;
+	}
+
+	/**
+	 * Returns the position of an element, where position 0 is the bottom of the stack. This method
+	 * is kept for compatibility with earlier versions, in which this class extended {@link
+	 * java.util.Stack}. It is a linear time operation, although checking whether the element is
+	 * contained at all takes constant time.
+	 *
+	 * @param object
+	 * 		the element to search for, may be null
+	 * @return the position of the element, or -1 if the element is not contained
+	 */
+	public int indexOf(final Object object) {
+		final Node<T> target = index.get(object);
+
+		if (target == null) {
+			return -1;
+		}
+
+		int position = 0;
+
+		for (Node<T> node = bottom; node != target; node = node.above) {
+			position++;
+		}
+
+		return position;
+	}
+
+	/**
+	 * Equivalent to {@link #indexOf(Object)}, since the stack contains no duplicates. This method
+	 * is kept for compatibility with earlier versions, in which this class extended {@link
+	 * java.util.Stack}.
+	 *
+	 * @param object
+	 * 		the element to search for, may be null
+	 * @return the position of the element, or -1 if the element is not contained
+	 */
+	public int lastIndexOf(final Object object) {
+		return indexOf(object);
+	}
+
+	/**
+	 * Pushes the supplied element onto the stack. This is equivalent to calling {@link
+	 * #push(Object)}, so the element is moved to the top if it is already contained and the bottom
+	 * element may be evicted.
+	 *
+	 * @param object
+	 * 		the element to add, may be null
+	 * @return true if the stack changed as a result of the call
+	 */
+	@Override
+	public boolean add(final T object) {
+		final boolean alreadyOnTop = top != null && index.get(object) == top;
+
+		push(object);
+
+		return !alreadyOnTop;
+	}
+
+	@Override
+	public boolean remove(final Object object) {
+		final Node<T> node = index.get(object);
+
+		if (node == null) {
+			return false;
+		}
+
+		removeNode(node);
+
+		return true;
+	}
+
+	@Override
+	public boolean contains(final Object object) {
+		return index.containsKey(object);
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public void clear() {
+		index.clear();
+		bottom = null;
+		top = null;
+		modificationCount++;
+	}
+
+	/**
+	 * Compares this stack to another object. The object is equal to this stack if it is also an
+	 * EvictingStackSet, and it contains equal elements in the same order. The size limits and the
+	 * listeners are not compared. This matches the equality of earlier versions, in which this
+	 * class extended {@link java.util.Stack}, except that a List is never equal to the stack.
+	 *
+	 * @param object
+	 * 		the object to compare to, may be null
+	 * @return true if the object is equal to this stack, false otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if (object == this) {
+			return true;
+		}
+
+		if (!(object instanceof EvictingStackSet)) {
+			return false;
+		}
+
+		final EvictingStackSet<?> other = (EvictingStackSet<?>) object;
+
+		if (other.size() != size()) {
+			return false;
+		}
+
+		Node<?> otherNode = other.bottom;
+
+		for (Node<T> node = bottom; node != null; node = node.above) {
+			final Object item = node.item;
+			final Object otherItem = otherNode.item;
+
+			if (item == null ? otherItem != null : !item.equals(otherItem)) {
+				return false;
+			}
+
+			otherNode = otherNode.above;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns a hash code which depends on the elements of the stack and their order. The hash
+	 * code is computed the same way as {@link java.util.List#hashCode()}, iterating from the bottom
+	 * of the stack to the top.
+	 *
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+
+		for (Node<T> node = bottom; node != null; node = node.above) {
+			hashCode = 31 * hashCode + (node.item == null ? 0 : node.item.hashCode());
+		}
+
+		return hashCode;
+	}
+
+	/**
+	 * Returns an iterator which traverses the stack from the bottom to the top.
+	 *
+	 * @return the iterator, not null
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new BottomToTopIterator();
+	}
+
+	@Override
+	public void registerListener(final EvictionListener<T> listener) {
+		if (listener != null) {
+			listeners.add(listener);
+		}
+	}
+
+	@Override
+	public void unregisterListener(final EvictionListener<T> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Removes the bottom element of the stack and notifies the eviction listeners.
+	 */
+	private void evictBottom() {
+		final T bottomItem = bottom.item;
+		removeNode(bottom);
+
+		for (final EvictionListener<T> listener : listeners) {
+			listener.onEviction(this, bottomItem);
+		}
+	}
+
+	/**
+	 * Removes the supplied node from the list and the index.
+	 *
+	 * @param node
+	 * 		the node to remove, not null
+	 */
+	private void removeNode(final Node<T> node) {
+		index.remove(node.item);
+		unlink(node);
+		modificationCount++;
+	}
+
+	/**
+	 * Detaches the supplied node from its neighbours. The index is not modified.
+	 *
+	 * @param node
+	 * 		the node to detach, not null
+	 */
+	private void unlink(final Node<T> node) {
+		if (node.below == null) {
+			bottom = node.above;
+		} else {
+			node.below.above = node.above;
+		}
+
+		if (node.above == null) {
+			top = node.below;
+		} else {
+			node.above.below = node.below;
+		}
+
+		node.above = null;
+		node.below = null;
+	}
+
+	/**
+	 * Attaches the supplied node to the top of the list. The index is not modified.
+	 *
+	 * @param node
+	 * 		the node to attach, not null
+	 */
+	private void linkTop(final Node<T> node) {
+		node.below = top;
+		node.above = null;
+
+		if (top == null) {
+			bottom = node;
+		} else {
+			top.above = node;
+		}
+
+		top = node;
+	}
+
+	/**
+	 * Callback listener to be called when elements are evicted from an EvictingStackSet.
+	 *
+	 * @param <V>
+	 * 		the type of elements in the stack set
+	 */
+	public interface EvictionListener<V> {
+		/**
+		 * Invoked when an item is removed from an EvictingStackSet this listener is register to.
+		 *
+		 * @param evictingStackSet
+		 * 		the EvictingStackSet the element was evicted from, not null
+		 * @param evicted
+		 * 		the element which was evicted, may be null
+		 */
+		public void onEviction(EvictingStackSet<V> evictingStackSet, V evicted);
+	}
+
+	/**
+	 * A single entry in the linked list which backs the stack.
+	 *
+	 * @param <E>
+	 * 		the type of element held in the node
+	 */
+	private static class Node<E> {
+		/**
+		 * The element held in this node.
+		 */
+		private final E item;
+
+		/**
+		 * The node one position closer to the bottom of the stack, null if this is the bottom.
+		 */
+		private Node<E> below;
+
+		/**
+		 * The node one position closer to the top of the stack, null if this is the top.
+		 */
+		private Node<E> above;
+
+		/**
+		 * Constructs a new Node.
+		 *
+		 * @param item
+		 * 		the element to hold, may be null
+		 */
+		private Node(final E item) {
+			this.item = item;
+		}
+	}
+
+	/**
+	 * Iterates over the stack from the bottom to the top. Removal is supported, and does not
+	 * notify the eviction listeners.
+	 */
+	private class BottomToTopIterator implements Iterator<T> {
+		/**
+		 * The node which will be returned by the next call to {@link #next()}.
+		 */
+		private Node<T> next = bottom;
+
+		/**
+		 * The node most recently returned by {@link #next()}, null if there is none or if it has
+		 * been removed.
+		 */
+		private Node<T> lastReturned;
+
+		/**
+		 * The modification count which the stack is expected to have.
+		 */
+		private int expectedModificationCount = modificationCount;
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = next;
+			next = next.above;
+
+			return lastReturned.item;
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			removeNode(lastReturned);
+			lastReturned = null;
+			expectedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Throws an exception if the stack has been modified other than through this iterator.
+		 *
+		 * @throws ConcurrentModificationException
+		 * 		if the stack has been modified
+		 */
+		private void checkForComodification() {
+			if (modificationCount != expectedModificationCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
\ No newline at end of file
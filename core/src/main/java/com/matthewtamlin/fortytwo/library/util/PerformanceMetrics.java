@@ -0,0 +1,279 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.util;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkLessThan;
+
+/**
+ * A {@link PerformanceMonitor.Sink} which aggregates measurements in memory. Register an instance
+ * using {@link PerformanceMonitor#setSink(PerformanceMonitor.Sink)}, then read the results at any
+ * time, for example when a screen is closed. Rates are calculated over the time since the
+ * metrics were created or last reset. This class must only be used from the UI thread.
+ */
+public class PerformanceMetrics implements PerformanceMonitor.Sink {
+	/**
+	 * The number of times each operation has been timed, indexed by operation.
+	 */
+	private final long[] operationCounts = new long[PerformanceMonitor.OPERATION_COUNT];
+
+	/**
+	 * The total duration of each operation, measured in nanoseconds, indexed by operation.
+	 */
+	private final long[] operationTotalsNs = new long[PerformanceMonitor.OPERATION_COUNT];
+
+	/**
+	 * The longest duration of each operation, measured in nanoseconds, indexed by operation.
+	 */
+	private final long[] operationMaximumsNs = new long[PerformanceMonitor.OPERATION_COUNT];
+
+	/**
+	 * The number of animation frames processed.
+	 */
+	private long frameCount;
+
+	/**
+	 * The total time spent processing animation frames, measured in nanoseconds.
+	 */
+	private long frameTotalNs;
+
+	/**
+	 * The longest time spent processing an animation frame, measured in nanoseconds.
+	 */
+	private long frameMaximumNs;
+
+	/**
+	 * The number of tickers running after the most recent animation frame.
+	 */
+	private int latestRunningTickerCount;
+
+	/**
+	 * The largest number of tickers running after any animation frame.
+	 */
+	private int peakRunningTickerCount;
+
+	/**
+	 * The number of selection callbacks measured.
+	 */
+	private long selectionCallbackCount;
+
+	/**
+	 * The total selection callback latency, measured in nanoseconds.
+	 */
+	private long selectionLatencyTotalNs;
+
+	/**
+	 * The longest selection callback latency, measured in nanoseconds.
+	 */
+	private long selectionLatencyMaximumNs;
+
+	/**
+	 * The time at which the metrics were created or last reset, measured in nanoseconds.
+	 */
+	private long startTimeNs;
+
+	/**
+	 * Constructs a new PerformanceMetrics with no measurements.
+	 */
+	public PerformanceMetrics() {
+		reset();
+	}
+
+	@Override
+	public void onOperationTimed(final int operation, final long durationNs) {
+		if (operation >= 0 && operation < PerformanceMonitor.OPERATION_COUNT) {
+			operationCounts[operation]++;
+			operationTotalsNs[operation] += durationNs;
+			operationMaximumsNs[operation] = Math.max(operationMaximumsNs[operation], durationNs);
+		}
+	}
+
+	@Override
+	public void onAnimationFrame(final int runningTickerCount, final long durationNs) {
+		frameCount++;
+		frameTotalNs += durationNs;
+		frameMaximumNs = Math.max(frameMaximumNs, durationNs);
+
+		latestRunningTickerCount = runningTickerCount;
+		peakRunningTickerCount = Math.max(peakRunningTickerCount, runningTickerCount);
+	}
+
+	@Override
+	public void onSelectionCallbackLatency(final long latencyNs) {
+		selectionCallbackCount++;
+		selectionLatencyTotalNs += latencyNs;
+		selectionLatencyMaximumNs = Math.max(selectionLatencyMaximumNs, latencyNs);
+	}
+
+	/**
+	 * Discards all measurements and restarts the period used to calculate rates.
+	 */
+	public void reset() {
+		for (int i = 0; i < PerformanceMonitor.OPERATION_COUNT; i++) {
+			operationCounts[i] = 0;
+			operationTotalsNs[i] = 0;
+			operationMaximumsNs[i] = 0;
+		}
+
+		frameCount = 0;
+		frameTotalNs = 0;
+		frameMaximumNs = 0;
+		latestRunningTickerCount = 0;
+		peakRunningTickerCount = 0;
+		selectionCallbackCount = 0;
+		selectionLatencyTotalNs = 0;
+		selectionLatencyMaximumNs = 0;
+		startTimeNs = System.nanoTime();
+	}
+
+	/**
+	 * @param operation
+	 * 		the operation to query, one of the {@code OPERATION_} constants of {@link
+	 * 		PerformanceMonitor}
+	 * @return the number of times the operation has been timed
+	 * @throws IllegalArgumentException
+	 * 		if {@code operation} is not a valid operation
+	 */
+	public long getOperationCount(final int operation) {
+		return operationCounts[checkOperation(operation)];
+	}
+
+	/**
+	 * @param operation
+	 * 		the operation to query, one of the {@code OPERATION_} constants of {@link
+	 * 		PerformanceMonitor}
+	 * @return the mean duration of the operation, measured in nanoseconds, or 0 if it has not been
+	 * timed
+	 * @throws IllegalArgumentException
+	 * 		if {@code operation} is not a valid operation
+	 */
+	public long getAverageDurationNs(final int operation) {
+		checkOperation(operation);
+
+		return operationCounts[operation] == 0 ? 0 :
+				operationTotalsNs[operation] / operationCounts[operation];
+	}
+
+	/**
+	 * @param operation
+	 * 		the operation to query, one of the {@code OPERATION_} constants of {@link
+	 * 		PerformanceMonitor}
+	 * @return the longest duration of the operation, measured in nanoseconds, or 0 if it has not
+	 * been timed
+	 * @throws IllegalArgumentException
+	 * 		if {@code operation} is not a valid operation
+	 */
+	public long getMaximumDurationNs(final int operation) {
+		return operationMaximumsNs[checkOperation(operation)];
+	}
+
+	/**
+	 * @param operation
+	 * 		the operation to query, one of the {@code OPERATION_} constants of {@link
+	 * 		PerformanceMonitor}
+	 * @return the mean number of times the operation has been timed per second
+	 * @throws IllegalArgumentException
+	 * 		if {@code operation} is not a valid operation
+	 */
+	public double getOperationsPerSecond(final int operation) {
+		checkOperation(operation);
+
+		final long elapsedNs = Math.max(1, System.nanoTime() - startTimeNs);
+		return operationCounts[operation] * 1e9 / elapsedNs;
+	}
+
+	/**
+	 * @return the mean number of decorations started or applied per second
+	 */
+	public double getDecorationsPerSecond() {
+		return getOperationsPerSecond(PerformanceMonitor.OPERATION_DECORATE);
+	}
+
+	/**
+	 * @return the number of animation frames processed
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * @return the mean time spent processing an animation frame, measured in nanoseconds, or 0 if
+	 * no frames have been processed
+	 */
+	public long getAverageFrameDurationNs() {
+		return frameCount == 0 ? 0 : frameTotalNs / frameCount;
+	}
+
+	/**
+	 * @return the longest time spent processing an animation frame, measured in nanoseconds
+	 */
+	public long getMaximumFrameDurationNs() {
+		return frameMaximumNs;
+	}
+
+	/**
+	 * @return the number of animations in flight after the most recent animation frame
+	 */
+	public int getLatestRunningTickerCount() {
+		return latestRunningTickerCount;
+	}
+
+	/**
+	 * @return the largest number of animations in flight after any animation frame
+	 */
+	public int getPeakRunningTickerCount() {
+		return peakRunningTickerCount;
+	}
+
+	/**
+	 * @return the number of selection callbacks measured
+	 */
+	public long getSelectionCallbackCount() {
+		return selectionCallbackCount;
+	}
+
+	/**
+	 * @return the mean time between a click and the resulting selection callbacks, measured in
+	 * nanoseconds, or 0 if none have been measured
+	 */
+	public long getAverageSelectionLatencyNs() {
+		return selectionCallbackCount == 0 ? 0 : selectionLatencyTotalNs / selectionCallbackCount;
+	}
+
+	/**
+	 * @return the longest time between a click and the resulting selection callbacks, measured
+	 * in nanoseconds
+	 */
+	public long getMaximumSelectionLatencyNs() {
+		return selectionLatencyMaximumNs;
+	}
+
+	/**
+	 * Checks that the supplied operation is valid.
+	 *
+	 * @param operation
+	 * 		the operation to check
+	 * @return the operation
+	 * @throws IllegalArgumentException
+	 * 		if {@code operation} is not a valid operation
+	 */
+	private static int checkOperation(final int operation) {
+		checkGreaterThanOrEqualTo(operation, 0, "operation is not valid.");
+		return checkLessThan(operation, PerformanceMonitor.OPERATION_COUNT,
+				"operation is not valid.");
+	}
+}
\ No newline at end of file
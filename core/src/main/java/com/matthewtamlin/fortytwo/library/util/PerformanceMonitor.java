@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.util;
+
+/**
+ * Reports the cost of the operations most likely to cause dropped frames, so that the source of
+ * any jank can be identified in production. The library calls into this class at the start and
+ * end of each monitored operation, and the measurements are delivered to the registered {@link
+ * Sink}. Only one sink can be registered at a time. When no sink is registered, each monitored
+ * operation costs a single field read, and nothing is timed or allocated.
+ * <p>
+ * Sinks are called synchronously on the UI thread, so they should record measurements quickly
+ * and defer any reporting. {@link PerformanceMetrics} is a sink which aggregates the
+ * measurements in memory.
+ */
+public final class PerformanceMonitor {
+	/**
+	 * Identifies the operation which updates the text displayed by a card.
+	 */
+	public static final int OPERATION_UPDATE_TEXT = 0;
+
+	/**
+	 * Identifies the operation which starts or applies a single decoration.
+	 */
+	public static final int OPERATION_DECORATE = 1;
+
+	/**
+	 * Identifies the operation which handles a click on an answer in a group, including the
+	 * resulting selection changes and listener callbacks.
+	 */
+	public static final int OPERATION_HANDLE_CLICK = 2;
+
+	/**
+	 * The number of distinct operations.
+	 */
+	public static final int OPERATION_COUNT = 3;
+
+	/**
+	 * The registered sink, null if there is none.
+	 */
+	private static volatile Sink sink;
+
+	/**
+	 * Prevents instantiation, since this class only provides static methods.
+	 */
+	private PerformanceMonitor() {
+		super();
+	}
+
+	/**
+	 * Registers the sink which receives all future measurements, replacing any existing sink.
+	 *
+	 * @param sink
+	 * 		the sink to register, null to stop monitoring
+	 */
+	public static void setSink(final Sink sink) {
+		PerformanceMonitor.sink = sink;
+	}
+
+	/**
+	 * @return the registered sink, null if there is none
+	 */
+	public static Sink getSink() {
+		return sink;
+	}
+
+	/**
+	 * @return true if a sink is registered, false otherwise
+	 */
+	public static boolean isEnabled() {
+		return sink != null;
+	}
+
+	/**
+	 * Called by the library at the start of a monitored operation.
+	 *
+	 * @return the start time to pass to {@link #endOperation(int, long)}, or 0 if monitoring is
+	 * disabled
+	 */
+	public static long beginOperation() {
+		return sink == null ? 0 : System.nanoTime();
+	}
+
+	/**
+	 * Called by the library at the end of a monitored operation. If monitoring was disabled when
+	 * the operation began, or has been disabled since, the method exits normally.
+	 *
+	 * @param operation
+	 * 		the operation which ended, one of the {@code OPERATION_} constants
+	 * @param startNs
+	 * 		the value returned by {@link #beginOperation()} when the operation began
+	 */
+	public static void endOperation(final int operation, final long startNs) {
+		final Sink currentSink = sink;
+
+		if (currentSink != null && startNs != 0) {
+			currentSink.onOperationTimed(operation, System.nanoTime() - startNs);
+		}
+	}
+
+	/**
+	 * Called by the library once an animation clock has processed a frame.
+	 *
+	 * @param runningTickerCount
+	 * 		the number of tickers still running on the clock
+	 * @param startNs
+	 * 		the value returned by {@link #beginOperation()} when the frame began
+	 */
+	public static void endAnimationFrame(final int runningTickerCount, final long startNs) {
+		final Sink currentSink = sink;
+
+		if (currentSink != null && startNs != 0) {
+			currentSink.onAnimationFrame(runningTickerCount, System.nanoTime() - startNs);
+		}
+	}
+
+	/**
+	 * Called by the library when a selection change caused by a click is about to be delivered
+	 * to the listeners of a group.
+	 *
+	 * @param clickStartNs
+	 * 		the value returned by {@link #beginOperation()} when the click was received
+	 */
+	public static void reportSelectionCallback(final long clickStartNs) {
+		final Sink currentSink = sink;
+
+		if (currentSink != null && clickStartNs != 0) {
+			currentSink.onSelectionCallbackLatency(System.nanoTime() - clickStartNs);
+		}
+	}
+
+	/**
+	 * Receives the measurements made by the PerformanceMonitor. All methods are called on the UI
+	 * thread.
+	 */
+	public interface Sink {
+		/**
+		 * Invoked when a monitored operation ends.
+		 *
+		 * @param operation
+		 * 		the operation, one of the {@code OPERATION_} constants
+		 * @param durationNs
+		 * 		the time taken by the operation, measured in nanoseconds
+		 */
+		public void onOperationTimed(int operation, long durationNs);
+
+		/**
+		 * Invoked when an animation clock has processed a frame. Each running ticker corresponds
+		 * to one animation in flight, such as a color fade or a text transition.
+		 *
+		 * @param runningTickerCount
+		 * 		the number of tickers still running on the clock after the frame
+		 * @param durationNs
+		 * 		the time taken to advance every ticker, measured in nanoseconds
+		 */
+		public void onAnimationFrame(int runningTickerCount, long durationNs);
+
+		/**
+		 * Invoked when a selection change caused by a click is about to be delivered to the
+		 * listeners of a group.
+		 *
+		 * @param latencyNs
+		 * 		the time between receiving the click and delivering the change, measured in
+		 * 		nanoseconds
+		 */
+		public void onSelectionCallbackLatency(long latencyNs);
+	}
+}
\ No newline at end of file
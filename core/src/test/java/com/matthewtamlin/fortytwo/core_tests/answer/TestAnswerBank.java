@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.core_tests.answer;
+
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer.AnswerBank;
+import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Unit tests for the {@link AnswerBank} class.
+ */
+@RunWith(JUnit4.class)
+public class TestAnswerBank {
+	/**
+	 * The bank under test. The initial capacities are small so that the tests grow the bank.
+	 */
+	private AnswerBank bank;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		bank = new AnswerBank(1, 1);
+	}
+
+	/**
+	 * Test to ensure that answers added to the bank can be read back. The test will only pass if
+	 * the text and correctness of every answer are returned correctly after the bank has grown and
+	 * been trimmed.
+	 */
+	@Test
+	public void testAddAndGet() {
+		assertThat(bank.add("first", true), is(0));
+		assertThat(bank.add(new StringBuilder("second"), false), is(1));
+		assertThat(bank.addAll(Arrays.asList(new ImmutableAnswer("", true),
+				new ImmutableAnswer("fourth", false))), is(2));
+
+		bank.trimToSize();
+
+		assertThat(bank.size(), is(4));
+		assertThat(bank.getCorrectCount(), is(2));
+
+		assertThat(bank.get(0).getText().toString(), is("first"));
+		assertThat(bank.get(0).isCorrect(), is(true));
+		assertThat(bank.get(1).getText().toString(), is("second"));
+		assertThat(bank.get(1).isCorrect(), is(false));
+		assertThat(bank.getText(2).length(), is(0));
+		assertThat(bank.isCorrect(2), is(true));
+		assertThat(bank.getTextLength(3), is(6));
+		assertThat(bank.getText(3).toString(), is("fourth"));
+	}
+
+	/**
+	 * Test to ensure that the text returned by the bank behaves as a CharSequence. The test will
+	 * only pass if characters and sub-sequences are read correctly, and text obtained before the
+	 * bank grows is unchanged afterwards.
+	 */
+	@Test
+	public void testGetText_charSequenceContract() {
+		bank.add("hello world", false);
+
+		final CharSequence text = bank.getText(0);
+
+		for (int i = 0; i < 100; i++) {
+			bank.add("filler " + i, false);
+		}
+
+		assertThat(text.charAt(4), is('o'));
+		assertThat(text.subSequence(6, 11).toString(), is("world"));
+		assertThat(text.subSequence(6, 11).length(), is(5));
+		assertThat(text.toString(), is("hello world"));
+	}
+
+	/**
+	 * Test to ensure that the flyweight answers returned by the bank are equal only when they
+	 * refer to the same answer in the same bank. The test will only pass if equality and hash
+	 * codes are consistent.
+	 */
+	@Test
+	public void testGet_flyweightEquality() {
+		final AnswerBank otherBank = new AnswerBank();
+
+		bank.add("same", true);
+		bank.add("same", true);
+		otherBank.add("same", true);
+
+		final Answer answer = bank.get(0);
+
+		assertThat(answer, is(bank.get(0)));
+		assertThat(answer.hashCode(), is(bank.get(0).hashCode()));
+		assertThat(answer, is(not(bank.get(1))));
+		assertThat(answer, is(not(otherBank.get(0))));
+	}
+
+	/**
+	 * Test to ensure that the {@link AnswerBank#get(int)} method functions correctly when provided
+	 * with an index equal to the size of the bank. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGet_indexOutOfBounds() {
+		bank.add("test", true);
+		bank.get(1);
+	}
+
+	/**
+	 * Test to ensure that the {@link AnswerBank#add(CharSequence, boolean)} method functions
+	 * correctly when provided with null text. The test will only pass if the correct exception is
+	 * thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdd_nullText() {
+		bank.add(null, true);
+	}
+
+	/**
+	 * Test to ensure that the {@link AnswerBank#AnswerBank(int, int)} constructor functions
+	 * correctly when provided with a negative capacity. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_negativeCapacity() {
+		new AnswerBank(-1, 0);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.core_tests.answer;
+
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer.Grade;
+import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for the {@link Grade} class.
+ */
+@RunWith(JUnit4.class)
+public class TestGrade {
+	/**
+	 * A correct answer.
+	 */
+	private static final Answer CORRECT_1 = new ImmutableAnswer("correct 1", true);
+
+	/**
+	 * Another correct answer.
+	 */
+	private static final Answer CORRECT_2 = new ImmutableAnswer("correct 2", true);
+
+	/**
+	 * An incorrect answer.
+	 */
+	private static final Answer INCORRECT = new ImmutableAnswer("incorrect", false);
+
+	/**
+	 * Every answer in the question.
+	 */
+	private static final List<Answer> ALL_ANSWERS = Arrays.asList(CORRECT_1, CORRECT_2, INCORRECT);
+
+	/**
+	 * Test to ensure that a question is graded correctly when every correct answer and no
+	 * incorrect answers are selected. The test will only pass if the grade is perfect.
+	 */
+	@Test
+	public void testGrade_perfect() {
+		final Grade grade = Grade.grade(ALL_ANSWERS, Arrays.asList(CORRECT_2, CORRECT_1));
+
+		assertThat(grade.getCorrectSelectedCount(), is(2));
+		assertThat(grade.getIncorrectSelectedCount(), is(0));
+		assertThat(grade.getMissedCount(), is(0));
+		assertThat(grade.isPerfect(), is(true));
+		assertThat(grade.getScore(), is(1f));
+	}
+
+	/**
+	 * Test to ensure that a question is graded correctly when the selection is partly correct.
+	 * The test will only pass if the counts are correct and each incorrect selection cancels a
+	 * correct one.
+	 */
+	@Test
+	public void testGrade_partlyCorrect() {
+		final Grade oneCorrect = Grade.grade(ALL_ANSWERS, Arrays.asList(CORRECT_1));
+
+		assertThat(oneCorrect.getMissedCount(), is(1));
+		assertThat(oneCorrect.isPerfect(), is(false));
+		assertThat(oneCorrect.getScore(), is(0.5f));
+
+		final Grade cancelled = Grade.grade(ALL_ANSWERS, Arrays.asList(CORRECT_1, INCORRECT));
+
+		assertThat(cancelled.getIncorrectSelectedCount(), is(1));
+		assertThat(cancelled.getScore(), is(0f));
+	}
+
+	/**
+	 * Test to ensure that a question with no correct answers is graded correctly. The test will
+	 * only pass if selecting nothing is perfect and selecting anything scores 0.
+	 */
+	@Test
+	public void testGrade_noCorrectAnswers() {
+		final List<Answer> answers = Collections.singletonList(INCORRECT);
+
+		assertThat(Grade.grade(answers, Collections.<Answer>emptyList()).getScore(), is(1f));
+		assertThat(Grade.grade(answers, answers).getScore(), is(0f));
+	}
+
+	/**
+	 * Test to ensure that the {@link Grade#grade(java.util.Collection, java.util.Collection)}
+	 * method functions correctly when provided with a selection containing null. The test will
+	 * only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGrade_selectionContainsNull() {
+		Grade.grade(ALL_ANSWERS, Arrays.asList(CORRECT_1, null));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.core_tests.answer_group;
+
+import com.matthewtamlin.fortytwo.library.answer_group.LimitPolicies;
+import com.matthewtamlin.fortytwo.library.answer_group.LimitPolicy;
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for the {@link LimitPolicies} class.
+ */
+@RunWith(JUnit4.class)
+public class TestLimitPolicies {
+	/**
+	 * Orders integers from lowest to highest priority by value.
+	 */
+	private static final Comparator<Integer> BY_VALUE = new Comparator<Integer>() {
+		@Override
+		public int compare(final Integer lhs, final Integer rhs) {
+			return lhs.compareTo(rhs);
+		}
+	};
+
+	/**
+	 * A full stack with a size limit of 3, containing 3, 1 and 4 in order of selection.
+	 */
+	private EvictingStackSet<Integer> selectedItems;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		selectedItems = new EvictingStackSet<>(3, Arrays.asList(3, 1, 4));
+	}
+
+	/**
+	 * Test to ensure that the evict-oldest policy functions correctly. The test will only pass if
+	 * the bottom of the stack is chosen.
+	 */
+	@Test
+	public void testEvictOldest() {
+		assertThat(LimitPolicies.<Integer>evictOldest().chooseEviction(selectedItems, 5), is(3));
+	}
+
+	/**
+	 * Test to ensure that the evict-newest policy functions correctly. The test will only pass if
+	 * the top of the stack is chosen.
+	 */
+	@Test
+	public void testEvictNewest() {
+		assertThat(LimitPolicies.<Integer>evictNewest().chooseEviction(selectedItems, 5), is(4));
+	}
+
+	/**
+	 * Test to ensure that the reject-new policy functions correctly. The test will only pass if
+	 * incoming items are rejected, and the top of the stack is chosen when there is no incoming
+	 * item.
+	 */
+	@Test
+	public void testRejectNew() {
+		final LimitPolicy<Integer> policy = LimitPolicies.rejectNew();
+
+		assertThat(policy.chooseEviction(selectedItems, 5), is(nullValue()));
+		assertThat(policy.chooseEviction(selectedItems, null), is(4));
+	}
+
+	/**
+	 * Test to ensure that the evict-lowest-priority policy functions correctly. The test will only
+	 * pass if the lowest priority item is chosen, and incoming items with an even lower priority
+	 * are rejected.
+	 */
+	@Test
+	public void testEvictLowestPriority() {
+		final LimitPolicy<Integer> policy = LimitPolicies.evictLowestPriority(BY_VALUE);
+
+		assertThat(policy.chooseEviction(selectedItems, 5), is(1));
+		assertThat(policy.chooseEviction(selectedItems, 1), is(1));
+		assertThat(policy.chooseEviction(selectedItems, 0), is(nullValue()));
+		assertThat(policy.chooseEviction(selectedItems, null), is(1));
+	}
+
+	/**
+	 * Test to ensure that the {@link LimitPolicies#evictLowestPriority(Comparator)} method
+	 * functions correctly when provided with null. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvictLowestPriority_nullComparator() {
+		LimitPolicies.evictLowestPriority(null);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,459 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.core_tests.answer_group;
+
+import com.matthewtamlin.fortytwo.library.answer_group.LimitPolicies;
+import com.matthewtamlin.fortytwo.library.answer_group.LimitPolicy;
+import com.matthewtamlin.fortytwo.library.answer_group.SelectionModel;
+import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.matthewtamlin.fortytwo.library.answer_group.SelectionModel.BatchListener;
+import static com.matthewtamlin.fortytwo.library.answer_group.SelectionModel.Listener;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link SelectionModel} class.
+ */
+@RunWith(JUnit4.class)
+public class TestSelectionModel {
+	/**
+	 * An item which is never selected in the tests.
+	 */
+	private static final Integer FOREIGN_ITEM = -1;
+
+	/**
+	 * The model under test.
+	 */
+	private SelectionModel<Integer> model;
+
+	/**
+	 * A mock listener.
+	 */
+	private Listener<Integer> listener;
+
+	/**
+	 * Performs initialisation before the tests run. A model with a limit of 2 is created and the
+	 * mock listener is registered to it.
+	 */
+	@SuppressWarnings("unchecked") // Not relevant for mocks
+	@Before
+	public void setup() {
+		model = new SelectionModel<>(2);
+		listener = mock(Listener.class);
+
+		model.registerListener(listener);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#SelectionModel(int)} constructor functions
+	 * correctly when provided with a limit of zero. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_zeroLimit() {
+		new SelectionModel<Integer>(0);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly when
+	 * the limit has not been reached. The test will only pass if the items are selected and the
+	 * listener is notified once for each.
+	 */
+	@Test
+	public void testSelect_limitNotReached() {
+		assertThat(model.select(1), is(true));
+		assertThat(model.select(2), is(true));
+		assertThat(model.select(2), is(false));
+
+		assertThat(model.isSelected(1), is(true));
+		assertThat(model.isSelected(2), is(true));
+		assertThat(model.getSelected(), is(Arrays.asList(1, 2)));
+
+		verify(listener, times(1)).onSelected(model, 1);
+		verify(listener, times(1)).onSelected(model, 2);
+		verify(listener, never()).onDeselected(eq(model), anyInt());
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly when
+	 * the limit has been reached. The test will only pass if the least recently selected item is
+	 * deselected and the listener is notified.
+	 */
+	@Test
+	public void testSelect_limitReached() {
+		model.select(1);
+		model.select(2);
+		model.select(3);
+
+		assertThat(model.isSelected(1), is(false));
+		assertThat(model.getSelected(), is(Arrays.asList(2, 3)));
+
+		verify(listener, times(1)).onDeselected(model, 1);
+		verify(listener, times(1)).onSelected(model, 3);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#toggle(Object)} method functions correctly.
+	 * The test will only pass if the item is selected by the first call and deselected by the
+	 * second.
+	 */
+	@Test
+	public void testToggle() {
+		assertThat(model.toggle(1), is(true));
+		assertThat(model.isSelected(1), is(true));
+
+		assertThat(model.toggle(1), is(true));
+		assertThat(model.isSelected(1), is(false));
+
+		verify(listener, times(1)).onSelected(model, 1);
+		verify(listener, times(1)).onDeselected(model, 1);
+	}
+
+	/**
+	 * Test to ensure that marked items are locked when selection changes are disallowed when
+	 * marked. The test will only pass if the selection does not change and no callbacks are
+	 * delivered.
+	 */
+	@Test
+	public void testToggle_markedAndChangesDisallowed() {
+		model.select(1);
+		model.setMarked(1, true);
+		model.setMarked(2, true);
+
+		assertThat(model.toggle(1), is(false));
+		assertThat(model.toggle(2), is(false));
+
+		assertThat(model.isSelected(1), is(true));
+		assertThat(model.isSelected(2), is(false));
+
+		verify(listener, never()).onDeselected(model, 1);
+		verify(listener, never()).onSelected(model, 2);
+	}
+
+	/**
+	 * Test to ensure that marked items are not locked when selection changes are allowed when
+	 * marked. The test will only pass if the selection changes.
+	 */
+	@Test
+	public void testToggle_markedAndChangesAllowed() {
+		model.allowSelectionChangesWhenMarked(true);
+		model.setMarked(1, true);
+
+		assertThat(model.toggle(1), is(true));
+		assertThat(model.isSelected(1), is(true));
+
+		verify(listener, times(1)).onSelected(model, 1);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#setLimit(int)} method functions correctly when
+	 * the new limit is less than the number of selected items. The test will only pass if the
+	 * least recently selected items are deselected and the listener is notified.
+	 */
+	@Test
+	public void testSetLimit_belowSelectedCount() {
+		model.select(1);
+		model.select(2);
+
+		model.setLimit(1);
+
+		assertThat(model.getLimit(), is(1));
+		assertThat(model.getSelected(), is(Arrays.asList(2)));
+
+		verify(listener, times(1)).onDeselected(model, 1);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#declareExternalSelectionChange(Object,
+	 * boolean)} method functions correctly. The test will only pass if the changes are recorded
+	 * without callbacks, except for the deselection caused by exceeding the limit.
+	 */
+	@Test
+	public void testDeclareExternalSelectionChange() {
+		model.declareExternalSelectionChange(1, true);
+		model.declareExternalSelectionChange(2, true);
+		model.declareExternalSelectionChange(3, true);
+		model.declareExternalSelectionChange(2, false);
+
+		assertThat(model.getSelected(), is(Arrays.asList(3)));
+
+		verify(listener, never()).onSelected(eq(model), anyInt());
+		verify(listener, times(1)).onDeselected(model, 1);
+		verify(listener, never()).onDeselected(model, 2);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#remove(Object)} and {@link
+	 * SelectionModel#clear()} methods function correctly. The test will only pass if the items are
+	 * forgotten without callbacks.
+	 */
+	@Test
+	public void testRemoveAndClear() {
+		model.select(1);
+		model.select(2);
+		model.setMarked(1, true);
+
+		model.remove(1);
+
+		assertThat(model.isSelected(1), is(false));
+		assertThat(model.isMarked(1), is(false));
+		assertThat(model.getSelectedCount(), is(1));
+
+		model.clear();
+
+		assertThat(model.getSelectedCount(), is(0));
+		verify(listener, never()).onDeselected(eq(model), anyInt());
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#selectAll(java.util.Collection)} method
+	 * functions correctly when the batch exceeds the limit. The test will only pass if the last
+	 * items are selected and batch listeners receive a single callback containing only the net
+	 * changes.
+	 */
+	@SuppressWarnings("unchecked") // Not relevant for mocks
+	@Test
+	public void testSelectAll_batchExceedsLimit() {
+		final BatchListener<Integer> batchListener = mock(BatchListener.class);
+
+		model.select(1);
+		model.registerListener(batchListener);
+
+		assertThat(model.selectAll(Arrays.asList(2, 3, 4)), is(true));
+		assertThat(model.batchIsInProgress(), is(false));
+		assertThat(model.getSelected(), is(Arrays.asList(3, 4)));
+
+		// Item 2 was selected and evicted within the batch, so it is not a net change
+		verify(batchListener, times(1)).onBatchChanged(model, Arrays.asList(3, 4),
+				Arrays.asList(1));
+
+		// Per-item callbacks are still delivered as each change is applied
+		verify(listener, times(1)).onSelected(model, 2);
+		verify(listener, times(1)).onDeselected(model, 2);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#deselectAll(java.util.Collection)} method
+	 * functions correctly. The test will only pass if the items are deselected and batch listeners
+	 * receive a single callback.
+	 */
+	@SuppressWarnings("unchecked") // Not relevant for mocks
+	@Test
+	public void testDeselectAll() {
+		final BatchListener<Integer> batchListener = mock(BatchListener.class);
+
+		model.select(1);
+		model.select(2);
+		model.registerListener(batchListener);
+
+		assertThat(model.deselectAll(Arrays.asList(1, 2, 3)), is(true));
+		assertThat(model.getSelectedCount(), is(0));
+
+		verify(batchListener, times(1)).onBatchChanged(model, Collections.<Integer>emptyList(),
+				Arrays.asList(1, 2));
+	}
+
+	/**
+	 * Test to ensure that batch listeners are not notified when a batch does not change the
+	 * selection. The test will only pass if no batch callback is delivered.
+	 */
+	@SuppressWarnings("unchecked") // Not relevant for mocks
+	@Test
+	public void testDeselectAll_noChange() {
+		final BatchListener<Integer> batchListener = mock(BatchListener.class);
+		model.registerListener(batchListener);
+
+		assertThat(model.deselectAll(Arrays.asList(1, 2)), is(false));
+
+		verify(batchListener, never()).onBatchChanged(eq(model), anyListOf(Integer.class),
+				anyListOf(Integer.class));
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly when
+	 * the limit has been reached and the reject-new policy is used. The test will only pass if the
+	 * new item is not selected and no callbacks are delivered for it.
+	 */
+	@Test
+	public void testSelect_limitReachedAndRejectNew() {
+		model.setLimitPolicy(LimitPolicies.<Integer>rejectNew());
+		model.select(1);
+		model.select(2);
+
+		assertThat(model.select(3), is(false));
+		assertThat(model.getSelected(), is(Arrays.asList(1, 2)));
+
+		verify(listener, never()).onSelected(model, 3);
+		verify(listener, never()).onDeselected(eq(model), anyInt());
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly when
+	 * the limit has been reached and the evict-newest policy is used. The test will only pass if
+	 * the most recently selected item is deselected and the listener is notified.
+	 */
+	@Test
+	public void testSelect_limitReachedAndEvictNewest() {
+		model.setLimitPolicy(LimitPolicies.<Integer>evictNewest());
+		model.select(1);
+		model.select(2);
+
+		assertThat(model.select(3), is(true));
+		assertThat(model.getSelected(), is(Arrays.asList(1, 3)));
+
+		verify(listener, times(1)).onDeselected(model, 2);
+		verify(listener, times(1)).onSelected(model, 3);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#setLimit(int)} method functions correctly when
+	 * the limit policy chooses an item which is not selected. The test will only pass if the
+	 * least recently selected items are deselected instead, and the method returns.
+	 */
+	@Test
+	public void testSetLimit_policyChoosesUnselectedItem() {
+		model.setLimit(3);
+		model.setLimitPolicy(new ForeignItemPolicy());
+		model.select(1);
+		model.select(2);
+		model.select(3);
+
+		model.setLimit(1);
+
+		assertThat(model.getSelected(), is(Arrays.asList(3)));
+
+		verify(listener, times(1)).onDeselected(model, 1);
+		verify(listener, times(1)).onDeselected(model, 2);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly when
+	 * the limit has been reached and the limit policy chooses an item which is not selected. The
+	 * test will only pass if the least recently selected item is deselected instead.
+	 */
+	@Test
+	public void testSelect_policyChoosesUnselectedItem() {
+		model.setLimitPolicy(new ForeignItemPolicy());
+		model.select(1);
+		model.select(2);
+
+		assertThat(model.select(3), is(true));
+		assertThat(model.getSelected(), is(Arrays.asList(2, 3)));
+
+		verify(listener, times(1)).onDeselected(model, 1);
+		verify(listener, never()).onDeselected(model, FOREIGN_ITEM);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#setLimit(int)} method functions correctly when
+	 * the new limit is less than the number of selected items and the reject-new policy is used.
+	 * The test will only pass if the most recently selected items are deselected.
+	 */
+	@Test
+	public void testSetLimit_belowSelectedCountAndRejectNew() {
+		model.setLimitPolicy(LimitPolicies.<Integer>rejectNew());
+		model.select(1);
+		model.select(2);
+
+		model.setLimit(1);
+
+		assertThat(model.getSelected(), is(Arrays.asList(1)));
+
+		verify(listener, times(1)).onDeselected(model, 2);
+	}
+
+	/**
+	 * Test to ensure that the minimum selected count prevents deselections. The test will only
+	 * pass if the last selected item cannot be deselected directly, but can still be replaced by
+	 * exceeding the limit.
+	 */
+	@Test
+	public void testDeselect_minimumReached() {
+		model.setMinimumSelectedCount(1);
+		assertThat(model.hasMinimumSelection(), is(false));
+
+		model.select(1);
+		model.select(2);
+		assertThat(model.hasMinimumSelection(), is(true));
+
+		assertThat(model.deselect(1), is(true));
+		assertThat(model.deselect(2), is(false));
+		assertThat(model.toggle(2), is(false));
+		assertThat(model.getSelected(), is(Arrays.asList(2)));
+
+		model.setLimit(1);
+		assertThat(model.select(3), is(true));
+		assertThat(model.getSelected(), is(Arrays.asList(3)));
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#setMinimumSelectedCount(int)} method functions
+	 * correctly when provided with a minimum greater than the limit. The test will only pass if
+	 * the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMinimumSelectedCount_greaterThanLimit() {
+		model.setMinimumSelectedCount(3);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#setLimit(int)} method functions correctly when
+	 * provided with a limit less than the minimum selected count. The test will only pass if the
+	 * correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetLimit_lessThanMinimum() {
+		model.setMinimumSelectedCount(2);
+		model.setLimit(1);
+	}
+
+	/**
+	 * Test to ensure that the {@link SelectionModel#select(Object)} method functions correctly
+	 * when provided with null. The test will only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSelect_nullItem() {
+		model.select(null);
+	}
+
+	/**
+	 * A limit policy which always chooses an item that is not selected.
+	 */
+	private static class ForeignItemPolicy implements LimitPolicy<Integer> {
+		@Override
+		public Integer chooseEviction(final EvictingStackSet<Integer> selectedItems,
+				final Integer incoming) {
+			return FOREIGN_ITEM;
+		}
+	}
+}
\ No newline at end of file
@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package com.matthewtamlin.fortytwo.library_tests.util;
+package com.matthewtamlin.fortytwo.core_tests.util;
 
 import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
 
@@ -24,6 +24,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import static com.matthewtamlin.fortytwo.library.util.EvictingStackSet.EvictionListener;
@@ -360,6 +361,197 @@ public class TestEvictingStackSet {
 		}
 	}
 
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#push(Object)} method functions correctly when
+	 * pushing an element which is already contained. The test will only pass if the element is
+	 * moved to the top, the size is unchanged, and the element is no longer the next to be
+	 * evicted.
+	 */
+	@Test
+	public void testPush_elementAlreadyContained() {
+		final int limit = 3;
+
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(limit);
+		registerListeners(evictingStackSet);
+
+		evictingStackSet.push(0);
+		evictingStackSet.push(1);
+		evictingStackSet.push(2);
+		evictingStackSet.push(0);
+
+		assertThat("Size should not change when an element is pushed again.",
+				evictingStackSet.size(), is(limit));
+		assertThat("Re-pushed element should be at the top.", evictingStackSet.peek(), is(0));
+		assertThat("Wrong element at the bottom.", evictingStackSet.peekBottom(), is(1));
+
+		evictingStackSet.push(3);
+
+		verify(listener1, times(1)).onEviction(evictingStackSet, 1);
+		verify(listener2, times(1)).onEviction(evictingStackSet, 1);
+		verify(listener1, never()).onEviction(evictingStackSet, 0);
+		verify(listener2, never()).onEviction(evictingStackSet, 0);
+	}
+
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#remove(Object)} method functions correctly
+	 * when removing elements from the top, middle and bottom of the stack. The test will only pass
+	 * if the removed elements are no longer contained, the remaining order is preserved and no
+	 * eviction callbacks are delivered.
+	 */
+	@Test
+	public void testRemove_elementsAtEachPosition() {
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(10);
+		registerListeners(evictingStackSet);
+
+		for (int i = 0; i < 5; i++) {
+			evictingStackSet.push(i);
+		}
+
+		assertThat("Removing a contained element should return true.",
+				evictingStackSet.remove(0), is(true));
+		assertThat("Removing a contained element should return true.",
+				evictingStackSet.remove(2), is(true));
+		assertThat("Removing a contained element should return true.",
+				evictingStackSet.remove(4), is(true));
+		assertThat("Removing a missing element should return false.",
+				evictingStackSet.remove(4), is(false));
+
+		assertThat("Wrong size after removal.", evictingStackSet.size(), is(2));
+		assertThat("Wrong element at the bottom.", evictingStackSet.peekBottom(), is(1));
+		assertThat("Wrong element at the top.", evictingStackSet.peek(), is(3));
+
+		verify(listener1, never()).onEviction(eq(evictingStackSet), anyInt());
+		verify(listener2, never()).onEviction(eq(evictingStackSet), anyInt());
+	}
+
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#pop()} method functions correctly. The test
+	 * will only pass if elements are returned from the top down and no eviction callbacks are
+	 * delivered.
+	 */
+	@Test
+	public void testPop() {
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(10);
+		registerListeners(evictingStackSet);
+
+		for (int i = 0; i < 3; i++) {
+			evictingStackSet.push(i);
+		}
+
+		assertThat("Wrong element popped.", evictingStackSet.pop(), is(2));
+		assertThat("Wrong element popped.", evictingStackSet.pop(), is(1));
+		assertThat("Wrong element popped.", evictingStackSet.pop(), is(0));
+		assertThat("Should be empty after popping all elements.", evictingStackSet.empty(),
+				is(true));
+
+		verify(listener1, never()).onEviction(eq(evictingStackSet), anyInt());
+		verify(listener2, never()).onEviction(eq(evictingStackSet), anyInt());
+	}
+
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#iterator()} method functions correctly. The
+	 * test will only pass if the elements are traversed from the bottom to the top.
+	 */
+	@Test
+	public void testIterator_bottomToTopOrder() {
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(10);
+
+		for (int i = 0; i < 5; i++) {
+			evictingStackSet.push(i);
+		}
+
+		evictingStackSet.push(1);
+
+		final Integer[] expected = {0, 2, 3, 4, 1};
+		int position = 0;
+
+		for (final Integer element : evictingStackSet) {
+			assertThat("Wrong element at position " + position + ".", element,
+					is(expected[position]));
+			position++;
+		}
+
+		assertThat("Wrong number of elements traversed.", position, is(expected.length));
+	}
+
+	/**
+	 * Test to ensure that the positional methods kept from {@link java.util.Stack} function
+	 * correctly. The test will only pass if positions are counted from the bottom of the stack,
+	 * including after an element is moved to the top.
+	 */
+	@Test
+	public void testPositionalMethods() {
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(10);
+
+		for (int i = 0; i < 5; i++) {
+			evictingStackSet.push(i);
+		}
+
+		evictingStackSet.push(1);
+
+		final Integer[] expected = {0, 2, 3, 4, 1};
+
+		for (int i = 0; i < expected.length; i++) {
+			assertThat("Wrong element at position " + i + ".", evictingStackSet.get(i),
+					is(expected[i]));
+			assertThat("Wrong element at position " + i + ".", evictingStackSet.elementAt(i),
+					is(expected[i]));
+			assertThat("Wrong position for " + expected[i] + ".",
+					evictingStackSet.indexOf(expected[i]), is(i));
+			assertThat("Wrong position for " + expected[i] + ".",
+					evictingStackSet.lastIndexOf(expected[i]), is(i));
+		}
+
+		assertThat("Missing element should not be found.", evictingStackSet.indexOf(5), is(-1));
+		assertThat("Wrong first element.", evictingStackSet.firstElement(), is(0));
+		assertThat("Wrong last element.", evictingStackSet.lastElement(), is(1));
+	}
+
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#get(int)} method functions correctly when
+	 * provided with a position past the top of the stack. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testGet_positionOutOfBounds() {
+		final EvictingStackSet<Integer> evictingStackSet = new EvictingStackSet<>(10);
+		evictingStackSet.push(0);
+
+		evictingStackSet.get(1);
+	}
+
+	/**
+	 * Test to ensure that the {@link EvictingStackSet#equals(Object)} and {@link
+	 * EvictingStackSet#hashCode()} methods compare the elements of the stack in order. The test
+	 * will only pass if stacks with equal elements in the same order are equal and have equal hash
+	 * codes, and stacks with a different order or a List with the same elements are not equal.
+	 */
+	@Test
+	public void testEqualsAndHashCode() {
+		final EvictingStackSet<Integer> stack1 = new EvictingStackSet<>(10, Arrays.asList(0, 1,
+				null));
+		final EvictingStackSet<Integer> stack2 = new EvictingStackSet<>(5, Arrays.asList(0, 1,
+				null));
+		final EvictingStackSet<Integer> reordered = new EvictingStackSet<>(10, Arrays.asList(1, 0,
+				null));
+
+		assertThat("Stacks with the same elements should be equal.", stack1.equals(stack2),
+				is(true));
+		assertThat("Equality should be symmetric.", stack2.equals(stack1), is(true));
+		assertThat("Equal stacks should have equal hash codes.", stack1.hashCode(),
+				is(stack2.hashCode()));
+		assertThat("Stacks with a different order should not be equal.",
+				stack1.equals(reordered), is(false));
+		assertThat("A List should not be equal to the stack.",
+				stack1.equals(Arrays.asList(0, 1, null)), is(false));
+		assertThat("Null should not be equal to the stack.", stack1.equals(null), is(false));
+
+		stack2.push(0);
+
+		assertThat("Stacks should not be equal after reordering.", stack1.equals(stack2),
+				is(false));
+	}
+
 	/**
 	 * Registers the mock listeners as well as a null listener to the supplied EvictingStackSet.
 	 *
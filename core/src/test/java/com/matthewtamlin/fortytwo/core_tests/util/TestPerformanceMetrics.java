@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.core_tests.util;
+
+import com.matthewtamlin.fortytwo.library.util.PerformanceMetrics;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.matthewtamlin.fortytwo.library.util.PerformanceMonitor.OPERATION_DECORATE;
+import static com.matthewtamlin.fortytwo.library.util.PerformanceMonitor.OPERATION_HANDLE_CLICK;
+import static com.matthewtamlin.fortytwo.library.util.PerformanceMonitor.OPERATION_UPDATE_TEXT;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for the {@link PerformanceMetrics} and {@link PerformanceMonitor} classes.
+ */
+@RunWith(JUnit4.class)
+public class TestPerformanceMetrics {
+	/**
+	 * The metrics under test.
+	 */
+	private PerformanceMetrics metrics;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		metrics = new PerformanceMetrics();
+	}
+
+	/**
+	 * Unregisters any sink registered by a test, so that the tests do not affect each other.
+	 */
+	@After
+	public void tearDown() {
+		PerformanceMonitor.setSink(null);
+	}
+
+	/**
+	 * Test to ensure that operation timings are aggregated correctly. The test will only pass if
+	 * the count, mean and maximum of each operation are recorded independently.
+	 */
+	@Test
+	public void testOnOperationTimed() {
+		metrics.onOperationTimed(OPERATION_DECORATE, 100);
+		metrics.onOperationTimed(OPERATION_DECORATE, 300);
+		metrics.onOperationTimed(OPERATION_UPDATE_TEXT, 50);
+
+		assertThat(metrics.getOperationCount(OPERATION_DECORATE), is(2L));
+		assertThat(metrics.getAverageDurationNs(OPERATION_DECORATE), is(200L));
+		assertThat(metrics.getMaximumDurationNs(OPERATION_DECORATE), is(300L));
+		assertThat(metrics.getDecorationsPerSecond(), is(greaterThan(0d)));
+
+		assertThat(metrics.getOperationCount(OPERATION_UPDATE_TEXT), is(1L));
+		assertThat(metrics.getOperationCount(OPERATION_HANDLE_CLICK), is(0L));
+		assertThat(metrics.getAverageDurationNs(OPERATION_HANDLE_CLICK), is(0L));
+	}
+
+	/**
+	 * Test to ensure that animation frames and selection latencies are aggregated correctly. The
+	 * test will only pass if the latest and peak ticker counts, frame durations and latencies are
+	 * recorded.
+	 */
+	@Test
+	public void testOnAnimationFrameAndSelectionLatency() {
+		metrics.onAnimationFrame(4, 1000);
+		metrics.onAnimationFrame(2, 3000);
+		metrics.onSelectionCallbackLatency(500);
+		metrics.onSelectionCallbackLatency(1500);
+
+		assertThat(metrics.getFrameCount(), is(2L));
+		assertThat(metrics.getAverageFrameDurationNs(), is(2000L));
+		assertThat(metrics.getMaximumFrameDurationNs(), is(3000L));
+		assertThat(metrics.getLatestRunningTickerCount(), is(2));
+		assertThat(metrics.getPeakRunningTickerCount(), is(4));
+
+		assertThat(metrics.getSelectionCallbackCount(), is(2L));
+		assertThat(metrics.getAverageSelectionLatencyNs(), is(1000L));
+		assertThat(metrics.getMaximumSelectionLatencyNs(), is(1500L));
+	}
+
+	/**
+	 * Test to ensure that the {@link PerformanceMetrics#reset()} method functions correctly. The
+	 * test will only pass if all measurements are discarded.
+	 */
+	@Test
+	public void testReset() {
+		metrics.onOperationTimed(OPERATION_HANDLE_CLICK, 100);
+		metrics.onAnimationFrame(1, 100);
+		metrics.onSelectionCallbackLatency(100);
+
+		metrics.reset();
+
+		assertThat(metrics.getOperationCount(OPERATION_HANDLE_CLICK), is(0L));
+		assertThat(metrics.getMaximumDurationNs(OPERATION_HANDLE_CLICK), is(0L));
+		assertThat(metrics.getFrameCount(), is(0L));
+		assertThat(metrics.getPeakRunningTickerCount(), is(0));
+		assertThat(metrics.getSelectionCallbackCount(), is(0L));
+	}
+
+	/**
+	 * Test to ensure that the {@link PerformanceMetrics#getOperationCount(int)} method functions
+	 * correctly when provided with an invalid operation. The test will only pass if the correct
+	 * exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetOperationCount_invalidOperation() {
+		metrics.getOperationCount(PerformanceMonitor.OPERATION_COUNT);
+	}
+
+	/**
+	 * Test to ensure that the PerformanceMonitor delivers measurements to the registered sink. The
+	 * test will only pass if a measurement is delivered while the sink is registered, and nothing
+	 * is delivered once it has been unregistered.
+	 */
+	@Test
+	public void testMonitor_sinkRegistered() {
+		PerformanceMonitor.setSink(metrics);
+
+		PerformanceMonitor.endOperation(OPERATION_DECORATE, PerformanceMonitor.beginOperation());
+		PerformanceMonitor.endAnimationFrame(3, PerformanceMonitor.beginOperation());
+		PerformanceMonitor.reportSelectionCallback(PerformanceMonitor.beginOperation());
+
+		final long startNs = PerformanceMonitor.beginOperation();
+		PerformanceMonitor.setSink(null);
+		PerformanceMonitor.endOperation(OPERATION_DECORATE, startNs);
+
+		assertThat(metrics.getOperationCount(OPERATION_DECORATE), is(1L));
+		assertThat(metrics.getLatestRunningTickerCount(), is(3));
+		assertThat(metrics.getSelectionCallbackCount(), is(1L));
+	}
+
+	/**
+	 * Test to ensure that the PerformanceMonitor does not time operations when no sink is
+	 * registered. The test will only pass if operations begun without a sink are not delivered to
+	 * a sink registered later.
+	 */
+	@Test
+	public void testMonitor_noSinkRegistered() {
+		final long startNs = PerformanceMonitor.beginOperation();
+
+		assertThat(PerformanceMonitor.isEnabled(), is(false));
+		assertThat(startNs, is(0L));
+
+		PerformanceMonitor.setSink(metrics);
+		PerformanceMonitor.endOperation(OPERATION_DECORATE, startNs);
+
+		assertThat(metrics.getOperationCount(OPERATION_DECORATE), is(0L));
+	}
+}
\ No newline at end of file
@@ -9,7 +9,6 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import com.matthewtamlin.fortytwo.library.answer_group.SelectionLimitedAnswerGroup;
-import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
 
 /**
  * Displays a question, an selection or answers, and a submit/reset button.
@@ -45,13 +44,12 @@ public class AbstractQuestionActivity extends AppCompatActivity {
 		answerGroup = (SelectionLimitedAnswerGroup) findViewById(R.id.main_activity_answer_group);
 		actionButton = (Button) findViewById(R.id.main_activity_action_button);
 
+		answerGroup.setMarkAllStaggerMs(40);
+
 		actionButton.setOnClickListener(new View.OnClickListener() {
 			@Override
 			public void onClick(final View v) {
-				for (final AnswerView answerView : answerGroup.getAnswers()) {
-					answerView.setMarkedStatus(!currentlyMarked, true);
-				}
-
+				answerGroup.setAllMarked(!currentlyMarked, true);
 				currentlyMarked = !currentlyMarked;
 
 				if (currentlyMarked) {
@@ -70,4 +68,4 @@ public class AbstractQuestionActivity extends AppCompatActivity {
 	public SelectionLimitedAnswerGroup getAnswerGroup() {
 		return answerGroup;
 	}
-}
+}
\ No newline at end of file
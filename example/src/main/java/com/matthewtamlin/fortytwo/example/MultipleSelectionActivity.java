@@ -16,19 +16,24 @@
 
 package com.matthewtamlin.fortytwo.example;
 
+import android.content.Context;
 import android.os.Bundle;
-import android.view.ViewGroup;
 import android.view.ViewGroup.LayoutParams;
 
 import com.matthewtamlin.fortytwo.library.answer.Answer;
 import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
-import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator;
 import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
-import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardFactory;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardPool;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
 import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.AlphaProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.ColorProperty;
 import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
@@ -60,37 +65,63 @@ public class MultipleSelectionActivity extends AbstractQuestionActivity {
 		answerMap.put("7.", new ImmutableAnswer("Titan", false));
 	}
 
+	/**
+	 * Keeps the answer cards so that they are reused when the answers are displayed again.
+	 */
+	private AnswerCardPool<DecoratedAnswerCard> cardPool;
+
 	@Override
 	protected void onCreate(final Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
+
+		cardPool = new AnswerCardPool<>(this, new AnswerCardFactory<DecoratedAnswerCard>() {
+			@Override
+			public DecoratedAnswerCard createCard(final Context context) {
+				final DecoratedAnswerCard card = new DecoratedAnswerCard(context);
+
+				card.setLayoutParams(new LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+				card.addDecorator(createDecorator(), false);
+
+				return card;
+			}
+		}, answerMap.size());
+
 		displayQuestionAndAnswers();
 		getAnswerGroup().setMultipleSelectionLimit(MULTIPLE_SELECTION_LIMIT);
 	}
 
 	/**
-	 * Adds all answer and identifiers to the view.
+	 * Adds all answer and identifiers to the view. The cards of any previously displayed answers
+	 * are removed from the group and returned to the pool first, so that they are reused.
 	 */
-	@SuppressWarnings("unchecked")
 	private void displayQuestionAndAnswers() {
 		getQuestionContainer().setText(QUESTION);
 
+		final List<AnswerView> previousCards = getAnswerGroup().getAnswers();
+		getAnswerGroup().clearAnswers();
+		cardPool.releaseAll(previousCards);
+
 		for (final CharSequence identifier : answerMap.keySet()) {
-			final DecoratedAnswerCard decoratedAnswerCard = new DecoratedAnswerCard(this);
+			final DecoratedAnswerCard decoratedAnswerCard = cardPool.acquire();
 
-			decoratedAnswerCard.setLayoutParams(new LayoutParams(MATCH_PARENT, WRAP_CONTENT));
 			decoratedAnswerCard.setIdentifier(identifier, false);
 			decoratedAnswerCard.setAnswer(answerMap.get(identifier), false);
-			decoratedAnswerCard.addDecorator(createColorFadeDecorator(), false);
-			decoratedAnswerCard.addDecorator(createAlphaDecorator(), false);
 
 			getAnswerGroup().addAnswer(decoratedAnswerCard);
 		}
 	}
 
 	/**
-	 * @return a new ColorFadeDecorator
+	 * @return a new CompositeDecorator which changes the colors and the alpha of a card together
+	 */
+	private CompositeDecorator createDecorator() {
+		return new CompositeDecorator(createColorProperty(), createAlphaProperty());
+	}
+
+	/**
+	 * @return a new ColorProperty
 	 */
-	private ColorFadeDecorator createColorFadeDecorator() {
+	private ColorProperty createColorProperty() {
 		final ColorSupplier colorSupplier = new ColorSupplier() {
 			@Override
 			public int getColor(final boolean marked, final boolean selected,
@@ -107,13 +138,13 @@ public class MultipleSelectionActivity extends AbstractQuestionActivity {
 			}
 		};
 
-		return new ColorFadeDecorator(colorSupplier);
+		return new ColorProperty(colorSupplier);
 	}
 
 	/**
-	 * @return a new AlphaDecorator
+	 * @return a new AlphaProperty
 	 */
-	private AlphaDecorator createAlphaDecorator() {
+	private AlphaProperty createAlphaProperty() {
 		final AlphaSupplier alphaSupplier = new AlphaSupplier() {
 			@Override
 			public float getAlpha(final boolean marked, final boolean selected,
@@ -126,6 +157,6 @@ public class MultipleSelectionActivity extends AbstractQuestionActivity {
 			}
 		};
 
-		return new AlphaDecorator(alphaSupplier);
+		return new AlphaProperty(alphaSupplier);
 	}
 }
\ No newline at end of file
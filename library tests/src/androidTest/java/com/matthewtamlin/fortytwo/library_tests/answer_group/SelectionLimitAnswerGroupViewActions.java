@@ -254,4 +254,60 @@ public class SelectionLimitAnswerGroupViewActions {
 			}
 		};
 	}
+
+	/**
+	 * Creates a ViewAction which can be applied to a SelectionLimitAnswerGroup to select multiple
+	 * answer views as a single batch.
+	 *
+	 * @param answers
+	 * 		the answers to select
+	 * @return the view action
+	 */
+	public static ViewAction selectAnswers(final List<? extends AnswerView> answers) {
+		return new ViewAction() {
+			@Override
+			public Matcher<View> getConstraints() {
+				return isAssignableFrom(SelectionLimitedAnswerGroup.class);
+			}
+
+			@Override
+			public String getDescription() {
+				return "select answers";
+			}
+
+			@Override
+			public void perform(final UiController uiController, final View view) {
+				((SelectionLimitedAnswerGroup) view).selectAnswers(answers);
+			}
+		};
+	}
+
+	/**
+	 * Creates a ViewAction which can be applied to a SelectionLimitAnswerGroup to set the marked
+	 * status of all answers in the group.
+	 *
+	 * @param marked
+	 * 		the marked status to set
+	 * @param animate
+	 * 		whether or not the changes should be animated
+	 * @return the view action
+	 */
+	public static ViewAction setAllMarked(final boolean marked, final boolean animate) {
+		return new ViewAction() {
+			@Override
+			public Matcher<View> getConstraints() {
+				return isAssignableFrom(SelectionLimitedAnswerGroup.class);
+			}
+
+			@Override
+			public String getDescription() {
+				return "set all marked to " + marked;
+			}
+
+			@Override
+			public void perform(final UiController uiController, final View view) {
+				((SelectionLimitedAnswerGroup) view).setAllMarked(marked, animate);
+			}
+		};
+	}
 }
\ No newline at end of file
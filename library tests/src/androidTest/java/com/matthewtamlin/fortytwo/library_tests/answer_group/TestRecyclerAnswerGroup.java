@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_group;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.Listener;
+import com.matthewtamlin.fortytwo.library.answer_group.RecyclerAnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_group.VirtualAnswerView;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+import com.matthewtamlin.fortytwo.library_tests.RecyclerAnswerGroupTestHarness;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Instrumentation tests for the {@link RecyclerAnswerGroup} class.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TestRecyclerAnswerGroup {
+	/**
+	 * Rule to always launch the RecyclerAnswerGroupTestHarness before running the tests. This rule
+	 * allows an actual instance of the view to be tested.
+	 */
+	@Rule
+	public final ActivityTestRule<RecyclerAnswerGroupTestHarness> rule = new
+			ActivityTestRule<>(RecyclerAnswerGroupTestHarness.class);
+
+	/**
+	 * A direct reference to the view under test.
+	 */
+	private RecyclerAnswerGroup testView;
+
+	/**
+	 * A mock listener.
+	 */
+	private Listener listener;
+
+	/**
+	 * Performs initialisation before the tests run. The view reference is obtained and the
+	 * listener is registered for callbacks.
+	 */
+	@Before
+	public void setup() {
+		testView = rule.getActivity().getTestView();
+		listener = mock(Listener.class);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.registerListener(listener);
+				testView.allowSelectionChangesWhenMarked(true);
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that adding a large number of answers only creates cards for the answers on
+	 * screen. The test will only pass if all answers are contained but far fewer cards exist.
+	 */
+	@Test
+	public void testAddAnswers_manyAnswers() {
+		final List<AnswerView> answers = createAnswers(2000);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.addAnswers(answers);
+			}
+		});
+
+		assertThat("All answers should be contained.", testView.getAnswers().size(), is(2000));
+		assertThat("Cards should only exist for visible answers.", testView.getChildCount(),
+				is(lessThan(2000)));
+	}
+
+	/**
+	 * Test to ensure the group functions correctly when answers are clicked and the selection
+	 * limit is exceeded. The test will only pass if the least recently selected answer is
+	 * deselected and the correct callbacks are delivered.
+	 */
+	@Test
+	public void testClickAnswer_selectionLimitExceeded() {
+		final List<AnswerView> answers = createAnswers(3);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.addAnswers(answers);
+				testView.setMultipleSelectionLimit(1);
+			}
+		});
+
+		clickCardAtPosition(0);
+		clickCardAtPosition(1);
+
+		assertThat("Answer 0 should not be selected.", answers.get(0).isSelected(), is(false));
+		assertThat("Answer 1 should be selected.", answers.get(1).isSelected(), is(true));
+		assertThat("Answer 2 should not be selected.", answers.get(2).isSelected(), is(false));
+
+		verify(listener, times(1)).onAnswerSelected(testView, answers.get(0));
+		verify(listener, times(1)).onAnswerDeselected(testView, answers.get(0));
+		verify(listener, times(1)).onAnswerSelected(testView, answers.get(1));
+		verify(listener, never()).onAnswerSelected(testView, answers.get(2));
+	}
+
+	/**
+	 * Test to ensure the group functions correctly when a marked answer is clicked and selection
+	 * changes are disallowed when marked. The test will only pass if the selection does not
+	 * change and no callbacks are delivered.
+	 */
+	@Test
+	public void testClickAnswer_selectionChangesDisallowedAndMarked() {
+		final List<AnswerView> answers = createAnswers(1);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.addAnswers(answers);
+				testView.allowSelectionChangesWhenMarked(false);
+				answers.get(0).setMarkedStatus(true, false);
+			}
+		});
+
+		clickCardAtPosition(0);
+
+		assertThat("Answer 0 should not be selected.", answers.get(0).isSelected(), is(false));
+		verify(listener, never()).onAnswerSelected(testView, answers.get(0));
+	}
+
+	/**
+	 * Test to ensure that the {@link RecyclerAnswerGroup#removeAnswer(AnswerView)} and {@link
+	 * RecyclerAnswerGroup#clearAnswers()} methods function correctly. The test will only pass if
+	 * the answers are removed and the positions of the remaining answers are updated.
+	 */
+	@Test
+	public void testRemoveAndClearAnswers() {
+		final List<AnswerView> answers = createAnswers(3);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.addAnswers(answers);
+				testView.removeAnswer(answers.get(1));
+			}
+		});
+
+		assertThat("Answer 1 should have been removed.", testView.getAnswers().contains(answers
+				.get(1)), is(false));
+		assertThat("Wrong number of answers.", testView.getAnswers().size(), is(2));
+		assertThat(testView.indexOfAnswer(answers.get(0)), is(0));
+		assertThat(testView.indexOfAnswer(answers.get(1)), is(-1));
+		assertThat(testView.indexOfAnswer(answers.get(2)), is(1));
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.clearAnswers();
+			}
+		});
+
+		assertThat("All answers should have been removed.", testView.getAnswers().isEmpty(),
+				is(true));
+		assertThat(testView.indexOfAnswer(answers.get(0)), is(-1));
+	}
+
+	/**
+	 * Creates a list of virtual answer views.
+	 *
+	 * @param count
+	 * 		the number of views to create
+	 * @return the views, not null
+	 */
+	private List<AnswerView> createAnswers(final int count) {
+		final List<AnswerView> answers = new ArrayList<>();
+
+		for (int i = 0; i < count; i++) {
+			answers.add(new VirtualAnswerView(new ImmutableAnswer("Answer " + i, i % 2 == 0),
+					(i + 1) + "."));
+		}
+
+		return answers;
+	}
+
+	/**
+	 * Clicks the card bound to the answer at the supplied position.
+	 *
+	 * @param position
+	 * 		the position of the answer to click
+	 */
+	private void clickCardAtPosition(final int position) {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testView.findViewHolderForAdapterPosition(position).itemView.performClick();
+			}
+		});
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for the UI to settle.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+	}
+}
\ No newline at end of file
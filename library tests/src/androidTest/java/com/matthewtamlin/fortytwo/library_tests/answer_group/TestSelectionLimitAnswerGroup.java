@@ -25,6 +25,7 @@ import android.support.test.runner.AndroidJUnit4;
 import com.matthewtamlin.android_testing_tools.library.EspressoHelper;
 import com.matthewtamlin.fortytwo.library.answer.Answer;
 import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.BatchListener;
 import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.Listener;
 import com.matthewtamlin.fortytwo.library.answer_group.SelectionLimitedAnswerGroup;
 import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
@@ -37,6 +38,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -47,12 +49,18 @@ import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLim
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.clickViewAtIndex;
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.registerListener;
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.removeAnswer;
+import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.selectAnswers;
+import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.setAllMarked;
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewActions.setMultipleSelectionLimit;
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewAssertions.containsNoAnswers;
 import static com.matthewtamlin.fortytwo.library_tests.answer_group.SelectionLimitAnswerGroupViewAssertions.containsView;
+import static android.support.test.espresso.action.ViewActions.click;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -241,6 +249,38 @@ public class TestSelectionLimitAnswerGroup {
 				is(true));
 	}
 
+	/**
+	 * Test to ensure the answer index of the group is maintained when answers are removed. The test
+	 * will only pass if the reported positions and the live view of the answers match the remaining
+	 * answers.
+	 */
+	@Test
+	public void testIndexOfAnswer_afterRemoval() {
+		final List<DecoratedAnswerCard> answers = new ArrayList<>();
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+
+		testViewEspresso.perform(addAnswers(answers));
+
+		final List<AnswerView> answersView = testViewDirect.getAnswersView();
+		assertThat(testViewDirect.getAnswersView(), is(sameInstance(answersView)));
+
+		testViewEspresso.perform(removeAnswer(answers.get(0)));
+
+		assertThat(testViewDirect.containsAnswer(answers.get(0)), is(false));
+		assertThat(testViewDirect.indexOfAnswer(answers.get(0)), is(-1));
+		assertThat(testViewDirect.indexOfAnswer(answers.get(1)), is(0));
+		assertThat(testViewDirect.indexOfAnswer(answers.get(2)), is(1));
+		assertThat(answersView, is(Arrays.<AnswerView>asList(answers.get(1), answers.get(2))));
+
+		testViewEspresso.perform(clearAnswers());
+
+		assertThat(testViewDirect.containsAnswer(answers.get(1)), is(false));
+		assertThat(answersView.isEmpty(), is(true));
+		assertThat(testViewDirect.getChildCount(), is(0));
+	}
+
 	/**
 	 * Test to ensure the {@link SelectionLimitedAnswerGroup#clearAnswers()} method functions
 	 * correctly. The test will only pass if all answers rae removed from the group.
@@ -623,6 +663,162 @@ public class TestSelectionLimitAnswerGroup {
 		verifyDeselectedCallbackInvocations(answers.get(2), 0);
 	}
 
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#selectAnswers(Collection)} method
+	 * functions correctly when the batch exceeds the selection limit. The test will only pass if
+	 * the last views in the batch are selected, batch listeners receive a single callback
+	 * containing only the net changes, and other listeners receive one callback per net change.
+	 */
+	@Test
+	public void testSelectAnswers_batchExceedsLimit() {
+		final List<DecoratedAnswerCard> answers = new ArrayList<>();
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+
+		final BatchListener batchListener = mock(BatchListener.class);
+
+		testViewEspresso.perform(addAnswers(answers));
+		testViewEspresso.perform(allowSelectionChangesWhenMarked(true));
+		testViewEspresso.perform(setMultipleSelectionLimit(2));
+		testViewEspresso.perform(clickViewAtIndex(0));
+		testViewEspresso.perform(registerListener(batchListener));
+
+		testViewEspresso.perform(selectAnswers(answers.subList(1, 4)));
+
+		assertThat("Answer 0 should not be selected.", answers.get(0).isSelected(), is(false));
+		assertThat("Answer 1 should not be selected.", answers.get(1).isSelected(), is(false));
+		assertThat("Answer 2 should be selected.", answers.get(2).isSelected(), is(true));
+		assertThat("Answer 3 should be selected.", answers.get(3).isSelected(), is(true));
+
+		verify(batchListener, times(1)).onAnswerSelectionsChanged(testViewDirect,
+				Arrays.<AnswerView>asList(answers.get(2), answers.get(3)),
+				Arrays.<AnswerView>asList(answers.get(0)));
+		verify(batchListener, never()).onAnswerSelected(any(AnswerGroup.class),
+				any(AnswerView.class));
+		verify(batchListener, never()).onAnswerDeselected(any(AnswerGroup.class),
+				any(AnswerView.class));
+
+		verifySelectedCallbackInvocations(answers.get(0), 1);
+		verifySelectedCallbackInvocations(answers.get(1), 0);
+		verifySelectedCallbackInvocations(answers.get(2), 1);
+		verifySelectedCallbackInvocations(answers.get(3), 1);
+		verifyDeselectedCallbackInvocations(answers.get(0), 1);
+		verifyDeselectedCallbackInvocations(answers.get(1), 0);
+	}
+
+	/**
+	 * Test to ensure that taps on answers are detected when touch dispatch is enabled. The test
+	 * will only pass if the tapped answer is selected without having a click listener, and clicks
+	 * are handled by listeners again once touch dispatch is disabled.
+	 */
+	@Test
+	public void testTouchDispatch() {
+		final List<DecoratedAnswerCard> answers = new ArrayList<>();
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+
+		testViewEspresso.perform(addAnswers(answers));
+
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testViewDirect.enableTouchDispatch(true);
+			}
+		});
+
+		assertThat(answers.get(0).hasOnClickListeners(), is(false));
+
+		EspressoHelper.viewToViewInteraction(answers.get(0)).perform(click());
+
+		assertThat("Answer 0 should be selected.", answers.get(0).isSelected(), is(true));
+		verifySelectedCallbackInvocations(answers.get(0), 1);
+
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testViewDirect.enableTouchDispatch(false);
+			}
+		});
+
+		testViewEspresso.perform(clickViewAtIndex(1));
+
+		assertThat("Answer 1 should be selected.", answers.get(1).isSelected(), is(true));
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setAllMarked(boolean, boolean)} method
+	 * functions correctly when the animations are not staggered. The test will only pass if every
+	 * view is marked, and then unmarked, immediately.
+	 */
+	@Test
+	public void testSetAllMarked_notStaggered() {
+		final List<DecoratedAnswerCard> answers = new ArrayList<>();
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.get(1).setMarkedStatus(true, false);
+
+		testViewEspresso.perform(addAnswers(answers));
+		testViewEspresso.perform(setAllMarked(true, true));
+
+		for (final DecoratedAnswerCard answer : answers) {
+			assertThat("All answers should be marked.", answer.isMarked(), is(true));
+		}
+
+		testViewEspresso.perform(setAllMarked(false, false));
+
+		for (final DecoratedAnswerCard answer : answers) {
+			assertThat("No answers should be marked.", answer.isMarked(), is(false));
+		}
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setAllMarked(boolean, boolean)} method
+	 * functions correctly when the animations are staggered. The test will only pass if the first
+	 * view is marked immediately, the last view is marked later, and clicking a view which is
+	 * still waiting applies the marking rules as if it had already been marked.
+	 */
+	@Test
+	public void testSetAllMarked_staggered() {
+		final List<DecoratedAnswerCard> answers = new ArrayList<>();
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+		answers.add(getNewAnswerCard());
+
+		testViewEspresso.perform(addAnswers(answers));
+
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				testViewDirect.setMarkAllStaggerMs(10000);
+				testViewDirect.setAllMarked(true, true);
+
+				assertThat("Answer 0 should be marked.", answers.get(0).isMarked(), is(true));
+				assertThat("Answer 2 should not be marked yet.", answers.get(2).isMarked(),
+						is(false));
+
+				// Selection changes are disallowed when marked by default
+				answers.get(2).performClick();
+
+				assertThat("Answer 2 should be marked.", answers.get(2).isMarked(), is(true));
+				assertThat("Answer 2 should not be selected.", answers.get(2).isSelected(),
+						is(false));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setMarkAllStaggerMs(int)} method
+	 * functions correctly when provided with a negative interval. The test will only pass if the
+	 * correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMarkAllStaggerMs_negative() {
+		testViewDirect.setMarkAllStaggerMs(-1);
+	}
+
 	/**
 	 * @return a new answer card which is neither selected nor marked
 	 */
@@ -86,8 +86,8 @@ public class SimpleAnswerCardViewAssertions {
 
 	/**
 	 * Creates a ViewAssertion which checks that the background of a SimpleAnswerCard matches some
-	 * condition. The CardView within the SimpleAnswerCard is the component which is actually
-	 * queried when examining the background.
+	 * condition. The color is read from the SimpleAnswerCard rather than its CardView, since the
+	 * CardView does not draw the color on API 21 and up.
 	 *
 	 * @param color
 	 * 		the condition to match
@@ -103,8 +103,8 @@ public class SimpleAnswerCardViewAssertions {
 				} else {
 					final SimpleAnswerCard singleAnswerCard = (SimpleAnswerCard) view;
 
-					assertThat("card has wrong cardBackgroundColor.", singleAnswerCard.getCard()
-							.getCardBackgroundColor().getDefaultColor(), color);
+					assertThat("card has wrong cardBackgroundColor.",
+							singleAnswerCard.getCardBackgroundColor(), color);
 				}
 			}
 		};
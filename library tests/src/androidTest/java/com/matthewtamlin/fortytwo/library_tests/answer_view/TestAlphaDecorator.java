@@ -101,7 +101,7 @@ public class TestAlphaDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratedAnswerCard, boolean)} method
+	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratableCard, boolean)} method
 	 * functions correctly when the target answer card is unmarked, deselected and incorrect. This
 	 * test examines the case where animations are enabled. The test will only pass if the card
 	 * alpha is changed to the expected value.
@@ -121,7 +121,7 @@ public class TestAlphaDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratedAnswerCard, boolean)} method
+	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratableCard, boolean)} method
 	 * functions correctly when the target answer card is unmarked, deselected and incorrect. This
 	 * test examines the case where animations are disabled. The test will only pass if the card
 	 * alpha is changed to the expected value.
@@ -141,7 +141,7 @@ public class TestAlphaDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratedAnswerCard, boolean)} method
+	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratableCard, boolean)} method
 	 * functions correctly when the target answer card is marked, selected and correct. This test
 	 * examines the case where animations are enabled. The test will only pass if the card alpha is
 	 * changed to the expected value.
@@ -161,7 +161,7 @@ public class TestAlphaDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratedAnswerCard, boolean)} method
+	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratableCard, boolean)} method
 	 * functions correctly when the target answer card is marked, selected and correct. This test
 	 * examines the case where animations are disabled. The test will only pass if the card alpha is
 	 * changed to the expected value.
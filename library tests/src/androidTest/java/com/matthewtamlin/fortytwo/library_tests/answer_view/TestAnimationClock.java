@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.matthewtamlin.fortytwo.library.answer_view.AnimationClock;
+import com.matthewtamlin.fortytwo.library.answer_view.AnimationClock.Ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Instrumentation tests for the {@link AnimationClock} class.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TestAnimationClock {
+	/**
+	 * The maximum time to wait for tickers to complete, measured in milliseconds.
+	 */
+	private static final int TIMEOUT_MS = 5000;
+
+	/**
+	 * The clock under test.
+	 */
+	private AnimationClock clock;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		clock = new AnimationClock();
+	}
+
+	/**
+	 * Test to ensure that multiple tickers are driven to completion by a single clock. The test
+	 * will only pass if each ticker receives non-decreasing fractions ending with 1, is completed
+	 * once, and the clock stops when all tickers have completed.
+	 */
+	@Test
+	public void testStart_multipleTickers() throws InterruptedException {
+		final CountDownLatch completionLatch = new CountDownLatch(2);
+		final RecordingTicker ticker1 = new RecordingTicker(completionLatch);
+		final RecordingTicker ticker2 = new RecordingTicker(completionLatch);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				clock.start(ticker1, 100);
+				clock.start(ticker2, 300);
+
+				assertThat(clock.getRunningCount(), is(2));
+			}
+		});
+
+		assertThat(completionLatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), is(true));
+
+		ticker1.assertCompletedCorrectly();
+		ticker2.assertCompletedCorrectly();
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				assertThat(clock.getRunningCount(), is(0));
+				assertThat(clock.isRunning(ticker1), is(false));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that cancelled tickers are not completed. The test will only pass if the
+	 * cancelled ticker receives no callbacks.
+	 */
+	@Test
+	public void testCancel() throws InterruptedException {
+		final CountDownLatch completionLatch = new CountDownLatch(1);
+		final RecordingTicker cancelledTicker = new RecordingTicker(new CountDownLatch(1));
+		final RecordingTicker otherTicker = new RecordingTicker(completionLatch);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				clock.start(cancelledTicker, 100);
+				clock.start(otherTicker, 100);
+				clock.cancel(cancelledTicker);
+
+				assertThat(clock.getRunningCount(), is(1));
+			}
+		});
+
+		assertThat(completionLatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), is(true));
+
+		assertThat(cancelledTicker.fractions.isEmpty(), is(true));
+		assertThat(cancelledTicker.completionCount, is(0));
+	}
+
+	/**
+	 * Test to ensure that the {@link AnimationClock#start(Ticker, int)} method functions correctly
+	 * when provided with a negative duration. The test will only pass if the correct exception is
+	 * thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testStart_negativeDuration() {
+		clock.start(new RecordingTicker(new CountDownLatch(1)), -1);
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for it to finish.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+	}
+
+	/**
+	 * A ticker which records the callbacks it receives.
+	 */
+	private static class RecordingTicker implements Ticker {
+		/**
+		 * The fractions received, in order.
+		 */
+		private final List<Float> fractions = new ArrayList<>();
+
+		/**
+		 * Counted down when the ticker completes.
+		 */
+		private final CountDownLatch completionLatch;
+
+		/**
+		 * The number of times the ticker has been completed.
+		 */
+		private int completionCount = 0;
+
+		/**
+		 * Constructs a new RecordingTicker.
+		 *
+		 * @param completionLatch
+		 * 		the latch to count down when the ticker completes, not null
+		 */
+		private RecordingTicker(final CountDownLatch completionLatch) {
+			this.completionLatch = completionLatch;
+		}
+
+		@Override
+		public void onTick(final float fraction) {
+			fractions.add(fraction);
+		}
+
+		@Override
+		public void onComplete() {
+			completionCount++;
+			completionLatch.countDown();
+		}
+
+		/**
+		 * Asserts that the ticker received non-decreasing fractions ending with 1, and was
+		 * completed exactly once.
+		 */
+		private void assertCompletedCorrectly() {
+			assertThat(completionCount, is(1));
+			assertThat(fractions.isEmpty(), is(false));
+			assertThat(fractions.get(fractions.size() - 1), is(1f));
+
+			for (int i = 1; i < fractions.size(); i++) {
+				assertThat(fractions.get(i), greaterThanOrEqualTo(fractions.get(i - 1)));
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.widget.FrameLayout;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardFactory;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardPool;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Instrumentation tests for the {@link AnswerCardPool} class.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TestAnswerCardPool {
+	/**
+	 * The maximum number of cards in the pool under test.
+	 */
+	private static final int MAX_SIZE = 3;
+
+	/**
+	 * Counts the number of cards created by the factory.
+	 */
+	private int createdCount;
+
+	/**
+	 * The pool under test.
+	 */
+	private AnswerCardPool<DecoratedAnswerCard> pool;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		createdCount = 0;
+
+		final AnswerCardFactory<DecoratedAnswerCard> factory = new
+				AnswerCardFactory<DecoratedAnswerCard>() {
+					@Override
+					public DecoratedAnswerCard createCard(final Context context) {
+						createdCount++;
+						return new DecoratedAnswerCard(context);
+					}
+				};
+
+		pool = new AnswerCardPool<>(InstrumentationRegistry.getTargetContext(), factory, MAX_SIZE);
+	}
+
+	/**
+	 * Test to ensure that released cards are reused. The test will only pass if the released card
+	 * is reset and returned by the next acquisition without creating a new card.
+	 */
+	@Test
+	public void testReleaseAndAcquire() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final FrameLayout parent = new FrameLayout(InstrumentationRegistry
+						.getTargetContext());
+
+				final DecoratedAnswerCard card = pool.acquire();
+				card.setAnswer(new PojoAnswer("test", true), false);
+				card.setIdentifier("A.", false);
+				card.setStatus(true, true, false);
+				parent.addView(card);
+				parent.removeView(card);
+
+				assertThat(pool.release(card), is(true));
+				assertThat(pool.getPooledCount(), is(1));
+
+				final DecoratedAnswerCard reusedCard = pool.acquire();
+
+				assertThat(reusedCard, is(sameInstance(card)));
+				assertThat(reusedCard.getParent(), is(nullValue()));
+				assertThat(reusedCard.isMarked(), is(false));
+				assertThat(reusedCard.isSelected(), is(false));
+				assertThat(reusedCard.getAnswer(), is(nullValue()));
+				assertThat(reusedCard.getIdentifier(), is(nullValue()));
+				assertThat(createdCount, is(1));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that cards which are still attached to a parent cannot be released. The test
+	 * will only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testRelease_attachedCard() {
+		final FrameLayout parent = new FrameLayout(InstrumentationRegistry.getTargetContext());
+
+		final DecoratedAnswerCard card = pool.acquire();
+		parent.addView(card);
+
+		pool.release(card);
+	}
+
+	/**
+	 * Test to ensure that cards which were not created by the pool are not kept. The test will
+	 * only pass if the card is rejected.
+	 */
+	@Test
+	public void testRelease_foreignCard() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final DecoratedAnswerCard foreignCard = new DecoratedAnswerCard(
+						InstrumentationRegistry.getTargetContext());
+
+				assertThat(pool.release(foreignCard), is(false));
+				assertThat(pool.getPooledCount(), is(0));
+				assertThat(pool.acquire(), is(not(sameInstance(foreignCard))));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the pool does not grow beyond the maximum size. The test will only pass
+	 * if the excess card is rejected.
+	 */
+	@Test
+	public void testRelease_poolFull() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final DecoratedAnswerCard[] cards = new DecoratedAnswerCard[MAX_SIZE + 1];
+
+				for (int i = 0; i < cards.length; i++) {
+					cards[i] = pool.acquire();
+				}
+
+				for (int i = 0; i < MAX_SIZE; i++) {
+					assertThat(pool.release(cards[i]), is(true));
+				}
+
+				assertThat(pool.release(cards[MAX_SIZE]), is(false));
+				assertThat(pool.getPooledCount(), is(MAX_SIZE));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that cards are prefetched when the UI thread is idle. The test will only pass
+	 * if the requested number of cards is created and pooled.
+	 */
+	@Test
+	public void testPrefetch() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				pool.prefetch(2);
+			}
+		});
+
+		// Each idle pass creates one card, so allow more passes than cards
+		for (int i = 0; i < 4; i++) {
+			InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		}
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				assertThat(pool.getPooledCount(), is(2));
+				assertThat(createdCount, is(2));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the {@link AnswerCardPool#prefetch(int)} method functions correctly when
+	 * provided with a negative count. The test will only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testPrefetch_negativeCount() {
+		pool.prefetch(-1);
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for it to finish.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+	}
+}
\ No newline at end of file
@@ -94,7 +94,7 @@ public class TestColorFadeDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratedAnswerCard, boolean)}
+	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratableCard, boolean)}
 	 * method functions correctly when the target answer card is unmarked, deselected and incorrect.
 	 * This test examines the case where animations are enabled. The test will only pass if the card
 	 * background color is changed to the expected value.
@@ -112,7 +112,7 @@ public class TestColorFadeDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratedAnswerCard, boolean)}
+	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratableCard, boolean)}
 	 * method functions correctly when the target answer card is unmarked, deselected and incorrect.
 	 * This test examines the case where animations are disabled. The test will only pass if the
 	 * card background color is changed to the expected value.
@@ -130,7 +130,7 @@ public class TestColorFadeDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratedAnswerCard, boolean)}
+	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratableCard, boolean)}
 	 * method functions correctly when the target answer card is marked, selected and correct. This
 	 * test examines the case where animations are enabled. The test will only pass if the card
 	 * background color is changed to the expected value.
@@ -148,7 +148,7 @@ public class TestColorFadeDecorator {
 	}
 
 	/**
-	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratedAnswerCard, boolean)}
+	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratableCard, boolean)}
 	 * method functions correctly when the target answer card is marked, selected and correct. This
 	 * test examines the case where animations are disabled. The test will only pass if the card
 	 * background color is changed to the expected value.
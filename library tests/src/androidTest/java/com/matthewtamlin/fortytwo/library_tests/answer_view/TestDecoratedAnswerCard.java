@@ -32,7 +32,10 @@ import static com.matthewtamlin.fortytwo.library_tests.answer_view.DecoratedAnsw
 import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerCardViewActions.setAnimationDurationMs;
 import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerCardViewActions.setAnswer;
 import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerCardViewActions.setStatus;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -72,7 +75,7 @@ public class TestDecoratedAnswerCard extends TestSimpleAnswerCard {
 	/**
 	 * Test to ensure that the {@link DecoratedAnswerCard#addDecorator(Decorator, boolean)} method
 	 * functions correctly when animations are enabled. The test will only pass if the {@link
-	 * Decorator#decorate(DecoratedAnswerCard, boolean)} method is called for each decorator. A null
+	 * Decorator#decorate(DecoratableCard, boolean)} method is called for each decorator. A null
 	 * decorator is used to ensure null is safely handled.
 	 */
 	@Test
@@ -91,7 +94,7 @@ public class TestDecoratedAnswerCard extends TestSimpleAnswerCard {
 	/**
 	 * Test to ensure that the {@link DecoratedAnswerCard#addDecorator(Decorator, boolean)} method
 	 * functions correctly when animations are disabled. The test will only pass if the {@link
-	 * Decorator#decorate(DecoratedAnswerCard, boolean)} method is called for each decorator. A null
+	 * Decorator#decorate(DecoratableCard, boolean)} method is called for each decorator. A null
 	 * decorator is used to ensure null is safely handled.
 	 */
 	@Test
@@ -130,9 +133,9 @@ public class TestDecoratedAnswerCard extends TestSimpleAnswerCard {
 	/**
 	 * Test to ensure that the {@link DecoratedAnswerCard#setStatus(boolean, boolean, boolean)}
 	 * method functions correctly. The test will only pass if the {@link
-	 * Decorator#decorate(DecoratedAnswerCard, boolean)} method is called on all decorators each
-	 * time the status is set. Animations are enabled and disabled in different calls to increase
-	 * coverage.
+	 * Decorator#decorate(DecoratableCard, boolean)} method is called on all decorators each
+	 * time the status is changed. Animations are enabled and disabled in different calls to
+	 * increase coverage.
 	 */
 	@Test
 	public void testSetStatus_multipleCalls_checkDecoratorsAreCalled() {
@@ -148,16 +151,43 @@ public class TestDecoratedAnswerCard extends TestSimpleAnswerCard {
 		verify(decorator1, times(1)).decorate(testView, true);
 		verify(decorator2, times(1)).decorate(testView, true);
 
-		getSimpleAnswerCardViewInteraction().perform(setStatus(true, true, false));
+		getSimpleAnswerCardViewInteraction().perform(setStatus(true, false, false));
 
 		// Expect two calls because one call was performed when decorators were added
 		verify(decorator1, times(2)).decorate(testView, false);
 		verify(decorator2, times(2)).decorate(testView, false);
 	}
 
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setStatus(boolean, boolean, boolean)}
+	 * method does not redecorate the card when the status has not changed. The test will only pass
+	 * if the decorators are not called again and the skipped passes are counted.
+	 */
+	@Test
+	public void testSetStatus_unchangedStatus_checkDecoratorsAreNotCalled() {
+		final Decorator decorator = mock(Decorator.class);
+
+		getSimpleAnswerCardViewInteraction().perform(addDecorator(decorator, false));
+		getSimpleAnswerCardViewInteraction().perform(setStatus(true, true, true));
+
+		final int passCount = testView.getDecorationPassCount();
+		final int skippedPassCount = testView.getSkippedDecorationPassCount();
+		final int accessibilityUpdateCount = testView.getAccessibilityUpdateCount();
+
+		getSimpleAnswerCardViewInteraction().perform(setStatus(true, true, true));
+		getSimpleAnswerCardViewInteraction().perform(setStatus(true, true, false));
+
+		verify(decorator, times(1)).decorate(testView, true);
+		verify(decorator, never()).decorate(testView, false);
+
+		assertThat(testView.getDecorationPassCount(), is(passCount));
+		assertThat(testView.getSkippedDecorationPassCount(), is(skippedPassCount + 2));
+		assertThat(testView.getAccessibilityUpdateCount(), is(accessibilityUpdateCount));
+	}
+
 	/**
 	 * Test to ensure that the {@link DecoratedAnswerCard#setAnswer(Answer, boolean)} method
-	 * functions correctly. The test will only pass if the {@link Decorator#decorate(DecoratedAnswerCard,
+	 * functions correctly. The test will only pass if the {@link Decorator#decorate(DecoratableCard,
 	 * boolean)} method is called on all decorators each time the answer is set. Animations are
 	 * enabled and disabled in different calls to increase coverage.
 	 */
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.graphics.Color;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.AlphaProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.ColorProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+import com.matthewtamlin.fortytwo.library_tests.DecoratedAnswerCardTestHarness;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Instrumentation tests to ensure that the {@link ColorFadeDecorator}, {@link AlphaDecorator} and
+ * {@link CompositeDecorator} classes do not allocate when decorating, once they have been used for
+ * the first time.
+ */
+public class TestDecoratorAllocations {
+	/**
+	 * The number of decoration cycles to measure in each test.
+	 */
+	private static final int CYCLES = 5;
+
+	/**
+	 * The number of decorate calls to make in each cycle. Calls after the first arrive while the
+	 * animation is running, and retarget it.
+	 */
+	private static final int CALLS_PER_CYCLE = 3;
+
+	/**
+	 * The maximum time to wait for animations to complete, measured in milliseconds.
+	 */
+	private static final int TIMEOUT_MS = 5000;
+
+	/**
+	 * Supplies a different color for each selected status.
+	 */
+	private static final ColorSupplier COLOR_SUPPLIER = new ColorSupplier() {
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			return selected ? Color.BLUE : Color.WHITE;
+		}
+	};
+
+	/**
+	 * Supplies a different alpha for each selected status.
+	 */
+	private static final AlphaSupplier ALPHA_SUPPLIER = new AlphaSupplier() {
+		@Override
+		public float getAlpha(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			return selected ? 1f : 0.5f;
+		}
+	};
+
+	/**
+	 * Rule to always launch the DecoratedAnswerCardTestHarness before running the tests. This rule
+	 * allows an actual instance of a DecoratedAnswerCard to be used in testing.
+	 */
+	@Rule
+	public final ActivityTestRule<DecoratedAnswerCardTestHarness> rule = new
+			ActivityTestRule<>(DecoratedAnswerCardTestHarness.class);
+
+	/**
+	 * The card to decorate. The decorators under test are applied to the card directly, rather
+	 * than being added to it.
+	 */
+	private DecoratedAnswerCard card;
+
+	/**
+	 * Performs initialisation before the test cases run.
+	 */
+	@Before
+	public void setup() {
+		card = rule.getActivity().getTestView();
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.setAnswer(new PojoAnswer("test", false), false);
+				card.setStatus(false, false, false);
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the {@link ColorFadeDecorator#decorate(DecoratableCard, boolean)}
+	 * method does not allocate after warm-up. The test will only pass if no objects are allocated
+	 * on the UI thread while decorating.
+	 */
+	@Test
+	public void testColorFadeDecorator_noAllocationsAfterWarmUp() throws InterruptedException {
+		final ColorFadeDecorator decorator = new ColorFadeDecorator(COLOR_SUPPLIER);
+		decorator.setAnimationDurationMs(50);
+
+		assertThat(measureDecorateAllocations(decorator), is(0));
+	}
+
+	/**
+	 * Test to ensure that the {@link AlphaDecorator#decorate(DecoratableCard, boolean)} method
+	 * does not allocate after warm-up. The test will only pass if no objects are allocated on the UI
+	 * thread while decorating.
+	 */
+	@Test
+	public void testAlphaDecorator_noAllocationsAfterWarmUp() throws InterruptedException {
+		final AlphaDecorator decorator = new AlphaDecorator(ALPHA_SUPPLIER);
+		decorator.setAnimationDurationMs(50);
+
+		assertThat(measureDecorateAllocations(decorator), is(0));
+	}
+
+	/**
+	 * Test to ensure that the {@link CompositeDecorator#decorate(DecoratableCard, boolean)}
+	 * method does not allocate after warm-up when changing several properties. The test will only
+	 * pass if no objects are allocated on the UI thread while decorating.
+	 */
+	@Test
+	public void testCompositeDecorator_noAllocationsAfterWarmUp() throws InterruptedException {
+		final CompositeDecorator decorator = new CompositeDecorator(
+				new ColorProperty(COLOR_SUPPLIER),
+				new AlphaProperty(ALPHA_SUPPLIER));
+		decorator.setAnimationDurationMs(50);
+
+		assertThat(measureDecorateAllocations(decorator), is(0));
+	}
+
+	/**
+	 * Warms up the supplied decorator with one complete animated decoration, then counts the
+	 * objects allocated by the decorate calls of several further cycles. Only the decorate calls
+	 * are measured, since the framework setters used by each animation frame are outside the
+	 * control of the decorator.
+	 *
+	 * @param decorator
+	 * 		the decorator to measure, not null
+	 * @return the total number of objects allocated by the measured decorate calls
+	 */
+	@SuppressWarnings("deprecation") // Allocation counting is only deprecated for profiling
+	private int measureDecorateAllocations(final Decorator decorator) throws InterruptedException {
+		final int[] allocations = new int[1];
+
+		for (int cycle = 0; cycle <= CYCLES; cycle++) {
+			final boolean measure = cycle > 0; // The first cycle is the warm-up
+			final boolean selected = cycle % 2 == 0;
+
+			runOnMainSync(new Runnable() {
+				@Override
+				public void run() {
+					// Changing the status allocates accessibility strings, so do it beforehand
+					card.setStatus(false, selected, false);
+
+					if (measure) {
+						Debug.resetThreadAllocCount();
+						Debug.startAllocCounting();
+					}
+
+					for (int i = 0; i < CALLS_PER_CYCLE; i++) {
+						decorator.decorate(card, true);
+					}
+
+					if (measure) {
+						Debug.stopAllocCounting();
+						allocations[0] += Debug.getThreadAllocCount();
+					}
+				}
+			});
+
+			waitForAnimationsToComplete();
+		}
+
+		return allocations[0];
+	}
+
+	/**
+	 * Blocks until the animation clock of the card has no running tickers.
+	 *
+	 * @throws AssertionError
+	 * 		if the animations do not complete within the timeout
+	 */
+	private void waitForAnimationsToComplete() throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		final boolean[] running = {true};
+
+		while (running[0]) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Animations did not complete within the timeout.");
+			}
+
+			Thread.sleep(10);
+
+			runOnMainSync(new Runnable() {
+				@Override
+				public void run() {
+					running[0] = card.getAnimationClock().getRunningCount() > 0;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for it to finish.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+	}
+}
\ No newline at end of file
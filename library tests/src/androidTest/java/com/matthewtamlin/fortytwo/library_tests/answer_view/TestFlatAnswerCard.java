@@ -0,0 +1,245 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.graphics.Color;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.FlatAnswerCard;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Instrumentation tests for the {@link FlatAnswerCard} class.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TestFlatAnswerCard {
+	/**
+	 * The width to measure the card at, measured in pixels.
+	 */
+	private static final int MEASURE_WIDTH_PX = 600;
+
+	/**
+	 * The card under test.
+	 */
+	private FlatAnswerCard card;
+
+	/**
+	 * Performs initialisation before the tests run by creating the card on the main thread.
+	 */
+	@Before
+	public void setup() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card = new FlatAnswerCard(InstrumentationRegistry.getTargetContext());
+				card.setAnswer(new PojoAnswer("test", true), false);
+				card.setIdentifier("A.", false);
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that decorators are only called when the status or answer changes. The test
+	 * will only pass if the decorator is called when added, and then once for each change.
+	 */
+	@Test
+	public void testSetStatus_checkDecoratorsAreCalledOnChange() {
+		final Decorator decorator = mock(Decorator.class);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.addDecorator(decorator, false);
+				card.setStatus(true, true, true);
+				card.setStatus(true, true, true);
+				card.setAnswer(new PojoAnswer("another test", true), false);
+			}
+		});
+
+		verify(decorator, times(1)).setAnimationDurationMs(card.getAnimationDurationMs());
+		verify(decorator, times(2)).decorate(card, false);
+		verify(decorator, times(1)).decorate(card, true);
+	}
+
+	/**
+	 * Test to ensure that the decoration passes are counted. The test will only pass if a change
+	 * increments the pass count and a repeated status increments the skipped pass count.
+	 */
+	@Test
+	public void testDecorationPassCounts() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final int passCount = card.getDecorationPassCount();
+				final int skippedPassCount = card.getSkippedDecorationPassCount();
+
+				card.setStatus(true, true, false);
+				card.setStatus(true, true, false);
+
+				assertThat(card.getDecorationPassCount(), is(passCount + 1));
+				assertThat(card.getSkippedDecorationPassCount(), is(skippedPassCount + 1));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that a removed decorator is not called. The test will only pass if the
+	 * decorator is not called after removal.
+	 */
+	@Test
+	public void testRemoveDecorator() {
+		final Decorator decorator = mock(Decorator.class);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.addDecorator(decorator, false);
+				card.removeDecorator(decorator);
+				card.setStatus(true, false, true);
+			}
+		});
+
+		verify(decorator, never()).decorate(card, true);
+		assertThat(card.getDecorators().isEmpty(), is(true));
+	}
+
+	/**
+	 * Test to ensure that the provided decorators can be used with the card. The test will only
+	 * pass if the background color and alpha match the suppliers.
+	 */
+	@Test
+	public void testProvidedDecorators() {
+		final ColorFadeDecorator colorFadeDecorator = new ColorFadeDecorator(new ColorSupplier() {
+			@Override
+			public int getColor(final boolean marked, final boolean selected,
+					final boolean answerIsCorrect) {
+				return selected ? Color.BLUE : Color.WHITE;
+			}
+		});
+
+		final AlphaDecorator alphaDecorator = new AlphaDecorator(new AlphaSupplier() {
+			@Override
+			public float getAlpha(final boolean marked, final boolean selected,
+					final boolean answerIsCorrect) {
+				return selected ? 1f : 0.5f;
+			}
+		});
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.addDecorator(colorFadeDecorator, false);
+				card.addDecorator(alphaDecorator, false);
+
+				assertThat(card.getCardBackgroundColor(), is(Color.WHITE));
+				assertThat(card.getAlpha(), is(0.5f));
+
+				card.setStatus(false, true, false);
+
+				assertThat(card.getCardBackgroundColor(), is(Color.BLUE));
+				assertThat(card.getAlpha(), is(1f));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the card measures itself to fit the answer. The test will only pass if a
+	 * longer answer produces a taller card at the same width.
+	 */
+	@Test
+	public void testMeasure_heightGrowsWithAnswer() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final int shortHeight = measureHeight();
+
+				final StringBuilder longText = new StringBuilder();
+
+				for (int i = 0; i < 50; i++) {
+					longText.append("a long answer ");
+				}
+
+				card.setAnswer(new PojoAnswer(longText.toString(), true), false);
+
+				assertThat(shortHeight, greaterThan(0));
+				assertThat(measureHeight(), greaterThan(shortHeight));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the automatic content description reflects the status and answer of the
+	 * card. The test will only pass if the expected description is set.
+	 */
+	@Test
+	public void testAutomaticContentDescription() {
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.setStatus(true, true, false);
+
+				assertThat(card.getContentDescription().toString(),
+						is("Answer card, currently selected and marked as correct."));
+
+				card.setAnswer(null, false);
+
+				assertThat(card.getContentDescription().toString(), is("Empty answer card."));
+			}
+		});
+	}
+
+	/**
+	 * Measures the card at a fixed width with an unconstrained height.
+	 *
+	 * @return the measured height of the card, measured in pixels
+	 */
+	private int measureHeight() {
+		card.measure(View.MeasureSpec.makeMeasureSpec(MEASURE_WIDTH_PX, View.MeasureSpec.EXACTLY),
+				View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+
+		return card.getMeasuredHeight();
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for it to finish.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+	}
+}
\ No newline at end of file
@@ -16,8 +16,11 @@
 
 package com.matthewtamlin.fortytwo.library_tests.answer_view;
 
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
 import android.support.test.espresso.ViewInteraction;
 import android.support.test.runner.AndroidJUnit4;
+import android.view.accessibility.AccessibilityManager;
 
 import com.matthewtamlin.fortytwo.library.answer_view.SimpleAnswerCard;
 import com.matthewtamlin.fortytwo.library.answer.Answer;
@@ -35,6 +38,7 @@ import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerC
 import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerCardViewAssertions.animationDuration;
 import static com.matthewtamlin.fortytwo.library_tests.answer_view.SimpleAnswerCardViewAssertions.status;
 import static com.matthewtamlin.fortytwo.library_tests.util.TextViewViewAssertions.hasText;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 
@@ -320,4 +324,79 @@ public abstract class TestSimpleAnswerCard {
 		simpleAnswerCardEspresso.perform(setIdentifier("test 2", false));
 		identifierContainerEspresso.check(hasText(is("test 2")));
 	}
+
+	/**
+	 * Tests that the automatic content description reflects the status and answer of the card.
+	 * The test will only pass if the expected description is set after each change.
+	 */
+	@Test
+	public void testAutomaticContentDescription() {
+		simpleAnswerCardEspresso.perform(setAnswer(null, false));
+		assertThat(getContentDescriptionOnMainThread(), is("Empty answer card."));
+
+		simpleAnswerCardEspresso.perform(setAnswer(new PojoAnswer("test", true), false));
+		simpleAnswerCardEspresso.perform(setStatus(true, true, false));
+		assertThat(getContentDescriptionOnMainThread(),
+				is("Answer card, currently selected and marked as correct."));
+
+		simpleAnswerCardEspresso.perform(setStatus(false, false, false));
+		assertThat(getContentDescriptionOnMainThread(),
+				is("Answer card, currently unselected and unmarked."));
+	}
+
+	/**
+	 * Tests that the {@link SimpleAnswerCard#deferAutomaticContentDescriptions(boolean)} method
+	 * functions correctly. The test will only pass if the content description is correct when it
+	 * is requested, and the deferred changes are applied in a single update.
+	 */
+	@Test
+	public void testDeferAutomaticContentDescriptions() {
+		final SimpleAnswerCard card = getSimpleAnswerCardView();
+
+		simpleAnswerCardEspresso.perform(setAnswer(new PojoAnswer("test", false), false));
+		simpleAnswerCardEspresso.perform(setStatus(false, false, false));
+
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				card.deferAutomaticContentDescriptions(true);
+				assertThat(card.automaticContentDescriptionsAreDeferred(), is(true));
+			}
+		});
+
+		final int updateCount = card.getAccessibilityUpdateCount();
+
+		simpleAnswerCardEspresso.perform(setStatus(true, false, false));
+		simpleAnswerCardEspresso.perform(setStatus(true, true, false));
+
+		assertThat(getContentDescriptionOnMainThread(),
+				is("Answer card, currently selected and marked as incorrect."));
+
+		final AccessibilityManager accessibilityManager = (AccessibilityManager) card.getContext()
+				.getSystemService(Context.ACCESSIBILITY_SERVICE);
+
+		// Updates are only deferred while accessibility is disabled
+		if (!accessibilityManager.isEnabled()) {
+			assertThat(card.getAccessibilityUpdateCount() - updateCount, is(1));
+		}
+	}
+
+	/**
+	 * Gets the content description of the view under test on the main thread.
+	 *
+	 * @return the content description, as a String
+	 */
+	private String getContentDescriptionOnMainThread() {
+		final String[] contentDescription = new String[1];
+
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final CharSequence description = getSimpleAnswerCardView().getContentDescription();
+				contentDescription[0] = description == null ? null : description.toString();
+			}
+		});
+
+		return contentDescription[0];
+	}
 }
\ No newline at end of file
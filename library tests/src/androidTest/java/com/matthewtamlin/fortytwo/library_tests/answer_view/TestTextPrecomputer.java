@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import com.matthewtamlin.fortytwo.library.answer_view.TextPrecomputer;
+import com.matthewtamlin.fortytwo.library.answer_view.TextPrecomputer.Callback;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Instrumentation tests for the {@link TextPrecomputer} class.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TestTextPrecomputer {
+	/**
+	 * The maximum time to wait for callbacks, measured in milliseconds.
+	 */
+	private static final int TIMEOUT_MS = 5000;
+
+	/**
+	 * The width to lay out text at, measured in pixels.
+	 */
+	private static final int WIDTH_PX = 300;
+
+	/**
+	 * The paint to lay out text with.
+	 */
+	private TextPaint paint;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		paint = new TextPaint();
+		paint.setTextSize(30);
+	}
+
+	/**
+	 * Test to ensure that layouts are built in the background and delivered to the callback. The
+	 * test will only pass if the callback is notified on the UI thread, the layout has the
+	 * requested width, and later requests are answered from the cache.
+	 */
+	@Test
+	public void testPrecompute() throws InterruptedException {
+		final TextPrecomputer precomputer = new TextPrecomputer();
+		final CountDownLatch callbackLatch = new CountDownLatch(1);
+		final boolean[] calledOnMainThread = new boolean[1];
+
+		final Callback callback = new Callback() {
+			@Override
+			public void onLayoutPrecomputed(final TextPrecomputer precomputer,
+					final CharSequence text) {
+				calledOnMainThread[0] = Thread.currentThread() ==
+						InstrumentationRegistry.getTargetContext().getMainLooper().getThread();
+				callbackLatch.countDown();
+			}
+		};
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				assertThat(precomputer.precompute("some text", paint, WIDTH_PX, callback),
+						is(false));
+			}
+		});
+
+		assertThat(callbackLatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), is(true));
+		assertThat(calledOnMainThread[0], is(true));
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				final StaticLayout layout = precomputer.getLayout("some text", paint, WIDTH_PX);
+
+				assertThat(layout, is(notNullValue()));
+				assertThat(layout.getWidth(), is(WIDTH_PX));
+				assertThat(precomputer.isPending("some text", paint, WIDTH_PX), is(false));
+				assertThat(precomputer.precompute("some text", paint, WIDTH_PX, callback),
+						is(true));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that layouts are only returned for matching requests. The test will only pass
+	 * if changing the text, width or text size prevents the layout from being found.
+	 */
+	@Test
+	public void testGetLayout_differentProperties() {
+		final TextPrecomputer precomputer = new TextPrecomputer(new DirectExecutor(), 8);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				precomputer.precompute("some text", paint, WIDTH_PX, null);
+
+				final TextPaint largerPaint = new TextPaint(paint);
+				largerPaint.setTextSize(40);
+
+				assertThat(precomputer.getLayout("some text", paint, WIDTH_PX), is(notNullValue()));
+				assertThat(precomputer.getLayout("other text", paint, WIDTH_PX), is(nullValue()));
+				assertThat(precomputer.getLayout("some text", paint, WIDTH_PX + 1),
+						is(nullValue()));
+				assertThat(precomputer.getLayout("some text", largerPaint, WIDTH_PX),
+						is(nullValue()));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the least recently used layouts are discarded once the capacity is
+	 * reached. The test will only pass if only the eldest layout is discarded.
+	 */
+	@Test
+	public void testCapacity() {
+		final TextPrecomputer precomputer = new TextPrecomputer(new DirectExecutor(), 2);
+
+		runOnMainSync(new Runnable() {
+			@Override
+			public void run() {
+				precomputer.precompute("1", paint, WIDTH_PX, null);
+				precomputer.precompute("2", paint, WIDTH_PX, null);
+				precomputer.precompute("3", paint, WIDTH_PX, null);
+
+				assertThat(precomputer.getLayout("1", paint, WIDTH_PX), is(nullValue()));
+				assertThat(precomputer.getLayout("2", paint, WIDTH_PX), is(notNullValue()));
+				assertThat(precomputer.getLayout("3", paint, WIDTH_PX), is(notNullValue()));
+			}
+		});
+	}
+
+	/**
+	 * Test to ensure that the {@link TextPrecomputer#TextPrecomputer(Executor, int)} constructor
+	 * functions correctly when provided with a capacity of zero. The test will only pass if the
+	 * correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_zeroCapacity() {
+		new TextPrecomputer(new DirectExecutor(), 0);
+	}
+
+	/**
+	 * Runs the supplied runnable on the main thread and waits for it to finish.
+	 *
+	 * @param runnable
+	 * 		the runnable to run, not null
+	 */
+	private void runOnMainSync(final Runnable runnable) {
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+	}
+
+	/**
+	 * An executor which runs tasks immediately on the calling thread.
+	 */
+	private static class DirectExecutor implements Executor {
+		@Override
+		public void execute(final Runnable command) {
+			command.run();
+		}
+	}
+}
\ No newline at end of file
@@ -201,9 +201,7 @@ public abstract class AnswerGroupTestHarness extends ControlsOverViewTestHarness
 		b.setOnClickListener(new View.OnClickListener() {
 			@Override
 			public void onClick(final View v) {
-				for (final AnswerView answerView : getTestView().getAnswers()) {
-					answerView.setMarkedStatus(true, true);
-				}
+				getTestView().setAllMarked(true, true);
 			}
 		});
 
@@ -223,9 +221,7 @@ public abstract class AnswerGroupTestHarness extends ControlsOverViewTestHarness
 		b.setOnClickListener(new View.OnClickListener() {
 			@Override
 			public void onClick(final View v) {
-				for (final AnswerView answerView : getTestView().getAnswers()) {
-					answerView.setMarkedStatus(false, true);
-				}
+				getTestView().setAllMarked(false, true);
 			}
 		});
 
@@ -41,6 +41,7 @@ public class LauncherActivity extends AppCompatActivity {
 
 		rootView.addView(createLaunchTestSimpleAnswerCard());
 		rootView.addView(createLaunchMultipleChoiceAnswerGroupTestHarnessButton());
+		rootView.addView(createLaunchRecyclerAnswerGroupTestHarnessButton());
 	}
 
 	/**
@@ -86,4 +87,26 @@ public class LauncherActivity extends AppCompatActivity {
 
 		return b;
 	}
+
+	/**
+	 * Creates a button which launches the {@link RecyclerAnswerGroupTestHarness} activity when
+	 * pressed.
+	 *
+	 * @return the button, not null
+	 */
+	private Button createLaunchRecyclerAnswerGroupTestHarnessButton() {
+		final Button b = new Button(this);
+		b.setText("Launch RecyclerAnswerGroup test harness");
+		b.setAllCaps(false);
+
+		b.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(final View v) {
+				startActivity(new Intent(LauncherActivity.this,
+						RecyclerAnswerGroupTestHarness.class));
+			}
+		});
+
+		return b;
+	}
 }
\ No newline at end of file
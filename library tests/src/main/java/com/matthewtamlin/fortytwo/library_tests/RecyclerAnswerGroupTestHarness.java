@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Color;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+
+import com.matthewtamlin.fortytwo.library.answer.ImmutableAnswer;
+import com.matthewtamlin.fortytwo.library.answer_group.RecyclerAnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_group.VirtualAnswerView;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardFactory;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A test harness for displaying and interacting with a {@link RecyclerAnswerGroup}.
+ */
+@SuppressLint("SetTextI18n") // Not important during testing
+public class RecyclerAnswerGroupTestHarness extends AnswerGroupTestHarness {
+	/**
+	 * The number of answers added by the "add many answers" button.
+	 */
+	private static final int MANY_ANSWERS_COUNT = 2000;
+
+	/**
+	 * Supplies colors to ColorDecorators.
+	 */
+	private final ColorSupplier colorSupplier = new ColorSupplier() {
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked) {
+				if (selected) {
+					return answerIsCorrect ? Color.GREEN : Color.RED;
+				} else {
+					return answerIsCorrect ? Color.RED : Color.GREEN;
+				}
+			} else {
+				return selected ? Color.BLUE : Color.WHITE;
+			}
+		}
+	};
+
+	/**
+	 * Supplied alpha values to AlphaDecorators.
+	 */
+	private final AlphaSupplier alphaSupplier = new AlphaSupplier() {
+		@Override
+		public float getAlpha(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked && !selected && !answerIsCorrect) {
+				return 0.5f;
+			} else {
+				return 1f;
+			}
+		}
+	};
+
+	/**
+	 * Creates decorated cards for the test view.
+	 */
+	private final AnswerCardFactory<DecoratedAnswerCard> cardFactory = new
+			AnswerCardFactory<DecoratedAnswerCard>() {
+				@Override
+				public DecoratedAnswerCard createCard(final Context context) {
+					final DecoratedAnswerCard card = new DecoratedAnswerCard(context);
+
+					card.addDecorator(new ColorFadeDecorator(colorSupplier), false);
+					card.addDecorator(new AlphaDecorator(alphaSupplier), false);
+
+					return card;
+				}
+			};
+
+	/**
+	 * The view under test.
+	 */
+	private RecyclerAnswerGroup testView;
+
+	/**
+	 * The number of answers created so far, used to generate identifiers.
+	 */
+	private int answerCount = 0;
+
+	@Override
+	public void onCreate(final Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+
+		getControlsContainer().addView(createAddManyAnswersButton());
+		getControlsContainer().addView(createIncreaseMultipleSelectionLimitButton());
+		getControlsContainer().addView(createDecreaseMultipleSelectionLimitButton());
+	}
+
+	@Override
+	public RecyclerAnswerGroup getTestView() {
+		if (testView == null) {
+			testView = new RecyclerAnswerGroup(this);
+			testView.setCardFactory(cardFactory);
+		}
+
+		return testView;
+	}
+
+	@Override
+	public VirtualAnswerView getAnswerView() {
+		answerCount++;
+
+		if ((new Random()).nextBoolean()) {
+			return new VirtualAnswerView(new ImmutableAnswer("Correct", true), answerCount + ".");
+		} else {
+			return new VirtualAnswerView(new ImmutableAnswer("Incorrect", false), answerCount + ".");
+		}
+	}
+
+	/**
+	 * Creates a button which adds a large number of answers to the test view when clicked.
+	 *
+	 * @return the button
+	 */
+	private Button createAddManyAnswersButton() {
+		final Button b = new Button(this);
+		b.setText("Add " + MANY_ANSWERS_COUNT + " answers");
+		b.setAllCaps(false);
+
+		b.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(final View v) {
+				final List<AnswerView> answers = new ArrayList<>();
+
+				for (int i = 0; i < MANY_ANSWERS_COUNT; i++) {
+					answers.add(getAnswerView());
+				}
+
+				getTestView().addAnswers(answers);
+			}
+		});
+
+		return b;
+	}
+
+	/**
+	 * Creates a button which increases the multiple selection limit of the test view when clicked.
+	 *
+	 * @return the button
+	 */
+	private Button createIncreaseMultipleSelectionLimitButton() {
+		final Button b = new Button(this);
+		b.setText("Increase multiple selection limit");
+		b.setAllCaps(false);
+
+		b.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(final View v) {
+				final int currentLimit = getTestView().getMultipleSelectionLimit();
+				getTestView().setMultipleSelectionLimit(currentLimit + 1);
+			}
+		});
+
+		return b;
+	}
+
+	/**
+	 * Creates a button which decreases the multiple selection limit of the test view when clicked.
+	 *
+	 * @return the button
+	 */
+	private Button createDecreaseMultipleSelectionLimitButton() {
+		final Button b = new Button(this);
+		b.setText("Decrease multiple selection limit");
+		b.setAllCaps(false);
+
+		b.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(final View v) {
+				final int currentLimit = getTestView().getMultipleSelectionLimit();
+				getTestView().setMultipleSelectionLimit(currentLimit - 1);
+			}
+		});
+
+		return b;
+	}
+}
\ No newline at end of file
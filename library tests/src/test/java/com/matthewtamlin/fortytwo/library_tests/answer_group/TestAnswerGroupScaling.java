@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_group;
+
+import android.content.Context;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_group.SelectionLimitedAnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JVM tests which run the {@link SelectionLimitedAnswerGroup} with groups of 10, 100 and 1000
+ * answers using Robolectric. Creating cards, adding them to the group, selecting them and marking
+ * them are checked for correctness at each size. The tests make no timing assertions, since wall
+ * clock timings are unreliable on shared machines. The cost per answer of the selection
+ * bookkeeping is measured by the GroupScalingBenchmark in the benchmarks module instead.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestAnswerGroupScaling {
+	/**
+	 * The group sizes to test.
+	 */
+	private static final int[] SIZES = {10, 100, 1000};
+
+	/**
+	 * Test to ensure that large groups can be created, filled, selected and marked. The test will
+	 * only pass if, at every size, the group contains every answer and every answer ends up
+	 * selected and marked.
+	 */
+	@Test
+	public void testOperationsOnLargeGroups() {
+		for (final int size : SIZES) {
+			final Context context = RuntimeEnvironment.application;
+			final SelectionLimitedAnswerGroup group = new SelectionLimitedAnswerGroup(context);
+			group.setMultipleSelectionLimit(size);
+			group.allowSelectionChangesWhenMarked(true);
+
+			final List<DecoratedAnswerCard> answers = new ArrayList<>(size);
+
+			for (int i = 0; i < size; i++) {
+				final DecoratedAnswerCard answer = new DecoratedAnswerCard(context);
+				answer.setAnswer(new PojoAnswer("Answer " + i, i % 2 == 0), false);
+				answer.setIdentifier(Integer.toString(i + 1), false);
+				answers.add(answer);
+			}
+
+			group.addAnswers(answers);
+
+			assertThat(group.getAnswers().size(), is(size));
+
+			for (int i = 0; i < size; i++) {
+				answers.get(i).performClick();
+			}
+
+			group.setAllMarked(true, false);
+
+			for (int i = 0; i < size; i++) {
+				assertThat(answers.get(i).isSelected(), is(true));
+				assertThat(answers.get(i).isMarked(), is(true));
+				assertThat(group.indexOfAnswer(answers.get(i)), is(i));
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_group;
+
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.BatchListener;
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.Listener;
+import com.matthewtamlin.fortytwo.library.answer_group.LimitPolicies;
+import com.matthewtamlin.fortytwo.library.answer_group.SelectionLimitedAnswerGroup;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JVM tests for the {@link SelectionLimitedAnswerGroup} class. These tests cover the same
+ * behaviours as the instrumentation tests, but run on Robolectric so that they do not need a
+ * device.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestSelectionLimitAnswerGroupOnJvm {
+	/**
+	 * The group under test.
+	 */
+	private SelectionLimitedAnswerGroup group;
+
+	/**
+	 * A mock listener registered to the group.
+	 */
+	private Listener listener;
+
+	/**
+	 * Answers which are neither selected nor marked, and have not been added to the group.
+	 */
+	private List<DecoratedAnswerCard> answers;
+
+	/**
+	 * Performs initialisation before the tests run. A group is created with the listener
+	 * registered, and three answers are created but not added.
+	 */
+	@Before
+	public void setup() {
+		group = new SelectionLimitedAnswerGroup(RuntimeEnvironment.application);
+		listener = mock(Listener.class);
+
+		group.registerListener(listener);
+		group.registerListener(null); // Check null safety
+
+		answers = new ArrayList<>();
+
+		for (int i = 0; i < 3; i++) {
+			answers.add(new DecoratedAnswerCard(RuntimeEnvironment.application));
+		}
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#addAnswers(Collection)} method
+	 * functions correctly when provided with a collection containing null. The test will only pass
+	 * if the expected exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddAnswers_collectionContainsNull() {
+		group.addAnswers(Arrays.asList(answers.get(0), null));
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#addAnswers(Collection)}, {@link
+	 * SelectionLimitedAnswerGroup#removeAnswer(AnswerView)} and {@link
+	 * SelectionLimitedAnswerGroup#clearAnswers()} methods function correctly. The test will only
+	 * pass if the answers and child views of the group reflect each change.
+	 */
+	@Test
+	public void testAddRemoveAndClearAnswers() {
+		final List<AnswerView> expectedAnswers = new ArrayList<AnswerView>(answers);
+
+		group.addAnswers(answers);
+
+		assertThat(group.getAnswers(), is(expectedAnswers));
+		assertThat(group.getChildCount(), is(3));
+
+		group.removeAnswer(answers.get(0));
+		group.removeAnswer(new DecoratedAnswerCard(RuntimeEnvironment.application));
+
+		assertThat(group.getAnswers(), is(Arrays.<AnswerView>asList(answers.get(1),
+				answers.get(2))));
+		assertThat(group.indexOfAnswer(answers.get(2)), is(1));
+		assertThat(group.getChildCount(), is(2));
+
+		group.clearAnswers();
+
+		assertThat(group.getAnswers().isEmpty(), is(true));
+		assertThat(group.getChildCount(), is(0));
+	}
+
+	/**
+	 * Test to ensure the group applies the marking rules when answers are clicked. The test will
+	 * only pass if marked answers can only be selected while selection changes are allowed when
+	 * marked, and unmarked answers can always be selected.
+	 */
+	@Test
+	public void testClickAnswer_markingRules() {
+		answers.get(0).setStatus(true, false, false);
+		group.addAnswers(answers);
+
+		group.allowSelectionChangesWhenMarked(false);
+		answers.get(0).performClick();
+		answers.get(1).performClick();
+
+		assertThat(answers.get(0).isSelected(), is(false));
+		assertThat(answers.get(1).isSelected(), is(true));
+
+		group.allowSelectionChangesWhenMarked(true);
+		answers.get(0).performClick();
+
+		assertThat(answers.get(0).isSelected(), is(true));
+
+		verify(listener, times(1)).onAnswerSelected(group, answers.get(0));
+		verify(listener, times(1)).onAnswerSelected(group, answers.get(1));
+		verify(listener, never()).onAnswerDeselected(any(AnswerGroup.class),
+				any(AnswerView.class));
+	}
+
+	/**
+	 * Test to ensure the group functions correctly when answers are clicked and the selection
+	 * limit is exceeded. The test will only pass if the least recently selected answer is
+	 * deselected each time.
+	 */
+	@Test
+	public void testClickAnswer_selectionLimitExceeded() {
+		group.addAnswers(answers);
+		group.setMultipleSelectionLimit(1);
+
+		answers.get(0).performClick();
+		answers.get(1).performClick();
+		answers.get(2).performClick();
+
+		assertThat(answers.get(0).isSelected(), is(false));
+		assertThat(answers.get(1).isSelected(), is(false));
+		assertThat(answers.get(2).isSelected(), is(true));
+
+		verify(listener, times(1)).onAnswerDeselected(group, answers.get(0));
+		verify(listener, times(1)).onAnswerDeselected(group, answers.get(1));
+		verify(listener, never()).onAnswerDeselected(group, answers.get(2));
+	}
+
+	/**
+	 * Test to ensure the group functions correctly when the reject-new limit policy is used. The
+	 * test will only pass if clicking an answer once the limit is reached has no effect.
+	 */
+	@Test
+	public void testClickAnswer_rejectNewPolicy() {
+		group.addAnswers(answers);
+		group.setMultipleSelectionLimit(1);
+		group.setLimitPolicy(LimitPolicies.<AnswerView>rejectNew());
+
+		answers.get(0).performClick();
+		answers.get(1).performClick();
+
+		assertThat(answers.get(0).isSelected(), is(true));
+		assertThat(answers.get(1).isSelected(), is(false));
+
+		verify(listener, never()).onAnswerSelected(group, answers.get(1));
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setMultipleSelectionLimit(int)} method
+	 * functions correctly when provided with a limit which is less than the number of answers
+	 * currently selected. The test will only pass if the least recently clicked answers are
+	 * deselected.
+	 */
+	@Test
+	public void testSetSelectionLimit_limitLessThanCurrentSelectionCount() {
+		group.addAnswers(answers);
+		group.setMultipleSelectionLimit(3);
+
+		for (final DecoratedAnswerCard answer : answers) {
+			answer.performClick();
+		}
+
+		group.setMultipleSelectionLimit(1);
+
+		assertThat(answers.get(0).isSelected(), is(false));
+		assertThat(answers.get(1).isSelected(), is(false));
+		assertThat(answers.get(2).isSelected(), is(true));
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setMultipleSelectionLimit(int)} method
+	 * functions correctly when provided with a limit of zero. The test will only pass if the
+	 * correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetSelectionLimit_limitIsZero() {
+		group.setMultipleSelectionLimit(0);
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#selectAnswers(Collection)} method
+	 * functions correctly when the batch exceeds the selection limit. The test will only pass if
+	 * the last answers in the batch are selected and batch listeners receive a single callback
+	 * containing only the net changes.
+	 */
+	@Test
+	public void testSelectAnswers_batchExceedsLimit() {
+		final BatchListener batchListener = mock(BatchListener.class);
+
+		group.addAnswers(answers);
+		group.setMultipleSelectionLimit(2);
+		answers.get(0).performClick();
+		group.registerListener(batchListener);
+
+		group.selectAnswers(answers.subList(1, 3));
+
+		assertThat(answers.get(0).isSelected(), is(false));
+		assertThat(answers.get(1).isSelected(), is(true));
+		assertThat(answers.get(2).isSelected(), is(true));
+
+		verify(batchListener, times(1)).onAnswerSelectionsChanged(group,
+				Arrays.<AnswerView>asList(answers.get(1), answers.get(2)),
+				Arrays.<AnswerView>asList(answers.get(0)));
+		verify(batchListener, never()).onAnswerSelected(any(AnswerGroup.class),
+				any(AnswerView.class));
+	}
+
+	/**
+	 * Test to ensure the {@link SelectionLimitedAnswerGroup#setAllMarked(boolean, boolean)} method
+	 * functions correctly. The test will only pass if every answer is marked, and then unmarked.
+	 */
+	@Test
+	public void testSetAllMarked() {
+		answers.get(1).setMarkedStatus(true, false);
+		group.addAnswers(answers);
+
+		group.setAllMarked(true, true);
+
+		for (final DecoratedAnswerCard answer : answers) {
+			assertThat(answer.isMarked(), is(true));
+		}
+
+		group.setAllMarked(false, false);
+
+		for (final DecoratedAnswerCard answer : answers) {
+			assertThat(answer.isMarked(), is(false));
+		}
+	}
+}
\ No newline at end of file
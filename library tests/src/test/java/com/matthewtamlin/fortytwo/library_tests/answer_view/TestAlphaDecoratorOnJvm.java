@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static android.view.View.LAYER_TYPE_NONE;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JVM tests for the hardware layer animations of the {@link AlphaDecorator} class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestAlphaDecoratorOnJvm {
+	/**
+	 * The time to run the main looper for when waiting for animations to complete, measured in
+	 * milliseconds.
+	 */
+	private static final int ANIMATION_WAIT_MS = 5000;
+
+	/**
+	 * Supplies a low alpha for selected cards and full alpha otherwise.
+	 */
+	private static final AlphaSupplier ALPHA_SUPPLIER = new AlphaSupplier() {
+		@Override
+		public float getAlpha(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			return selected ? 0.3f : 1f;
+		}
+	};
+
+	/**
+	 * The card to decorate.
+	 */
+	private DecoratedAnswerCard card;
+
+	/**
+	 * The decorator under test.
+	 */
+	private AlphaDecorator decorator;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		card = new DecoratedAnswerCard(RuntimeEnvironment.application);
+		card.setAnswer(new PojoAnswer("test", false), false);
+
+		decorator = new AlphaDecorator(ALPHA_SUPPLIER);
+	}
+
+	/**
+	 * Test to ensure that hardware layer animations are disabled by default and can be toggled.
+	 * The test will only pass if the getter reflects each new value.
+	 */
+	@Test
+	public void testEnableHardwareLayerAnimations() {
+		assertThat(decorator.hardwareLayerAnimationsAreEnabled(), is(false));
+
+		decorator.enableHardwareLayerAnimations(true);
+		assertThat(decorator.hardwareLayerAnimationsAreEnabled(), is(true));
+
+		decorator.enableHardwareLayerAnimations(false);
+		assertThat(decorator.hardwareLayerAnimationsAreEnabled(), is(false));
+	}
+
+	/**
+	 * Test to ensure that hardware layer animations fade the card to the target alpha without
+	 * using the animation clock. The test will only pass if the clock is idle, the card reaches
+	 * each target alpha, and the layer type is restored once each fade ends.
+	 */
+	@Test
+	public void testDecorate_hardwareLayerAnimations() {
+		decorator.enableHardwareLayerAnimations(true);
+		card.addDecorator(decorator, false);
+
+		for (final boolean selected : new boolean[]{true, false, true}) {
+			card.setStatus(false, selected, true);
+
+			assertThat(card.getAnimationClock().getRunningCount(), is(0));
+
+			runAnimations();
+
+			assertThat(card.getAlpha(), is(ALPHA_SUPPLIER.getAlpha(false, selected, false)));
+			assertThat(card.getLayerType(), is(LAYER_TYPE_NONE));
+		}
+	}
+
+	/**
+	 * Test to ensure that an instant decoration interrupts a running hardware layer fade. The
+	 * test will only pass if the card immediately takes the new alpha, and keeps it after the
+	 * interrupted fade would have ended.
+	 */
+	@Test
+	public void testDecorate_instantUpdateInterruptsFade() {
+		decorator.enableHardwareLayerAnimations(true);
+		card.addDecorator(decorator, false);
+
+		card.setStatus(false, true, true);
+		card.setStatus(false, false, false);
+
+		assertThat(card.getAlpha(), is(1f));
+
+		runAnimations();
+
+		assertThat(card.getAlpha(), is(1f));
+	}
+
+	/**
+	 * Test to ensure that a hardware layer fade is cancelled when hardware layer animations are
+	 * disabled part way through it. The test will only pass if the card keeps the alpha set by
+	 * the next decoration after the cancelled fade would have ended, and the layer type is
+	 * restored.
+	 */
+	@Test
+	public void testDecorate_disablingLayersCancelsFade() {
+		decorator.enableHardwareLayerAnimations(true);
+		card.addDecorator(decorator, false);
+
+		card.setStatus(false, true, true);
+
+		decorator.enableHardwareLayerAnimations(false);
+		card.setStatus(false, false, false);
+
+		assertThat(card.getAlpha(), is(1f));
+
+		runAnimations();
+
+		assertThat(card.getAlpha(), is(1f));
+		assertThat(card.getLayerType(), is(LAYER_TYPE_NONE));
+	}
+
+	/**
+	 * Runs the main looper long enough for any running animations to complete.
+	 */
+	private void runAnimations() {
+		Robolectric.getForegroundThreadScheduler().advanceBy(ANIMATION_WAIT_MS,
+				TimeUnit.MILLISECONDS);
+	}
+}
\ No newline at end of file
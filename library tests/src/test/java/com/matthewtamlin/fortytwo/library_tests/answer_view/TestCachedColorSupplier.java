@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import com.matthewtamlin.fortytwo.library.answer_view.CachedColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the {@link CachedColorSupplier} class.
+ */
+@RunWith(JUnit4.class)
+public class TestCachedColorSupplier {
+	/**
+	 * Test to ensure that the {@link CachedColorSupplier#CachedColorSupplier(ColorSupplier)}
+	 * constructor functions correctly when provided with a null source. The test will only pass if
+	 * the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_nullSource() {
+		new CachedColorSupplier(null);
+	}
+
+	/**
+	 * Test to ensure that the {@link CachedColorSupplier#getColor(boolean, boolean, boolean)}
+	 * method returns the color of the source for every combination of properties. The test will
+	 * only pass if each color matches and the source is only queried once for each combination.
+	 */
+	@Test
+	public void testGetColor_allCombinations() {
+		final CountingColorSupplier source = new CountingColorSupplier();
+		final CachedColorSupplier cachedSupplier = new CachedColorSupplier(source);
+
+		for (int repeat = 0; repeat < 3; repeat++) {
+			for (int i = 0; i < 8; i++) {
+				final boolean marked = (i & 4) != 0;
+				final boolean selected = (i & 2) != 0;
+				final boolean answerIsCorrect = (i & 1) != 0;
+
+				assertThat(cachedSupplier.getColor(marked, selected, answerIsCorrect),
+						is(CountingColorSupplier.colorFor(marked, selected, answerIsCorrect)));
+			}
+		}
+
+		assertThat(source.callCount, is(8));
+	}
+
+	/**
+	 * Test to ensure that the {@link CachedColorSupplier#refresh()} method functions correctly. The
+	 * test will only pass if the source is queried again for every combination.
+	 */
+	@Test
+	public void testRefresh() {
+		final ColorSupplier source = mock(ColorSupplier.class);
+		final CachedColorSupplier cachedSupplier = new CachedColorSupplier(source);
+
+		cachedSupplier.refresh();
+
+		verify(source, times(16)).getColor(anyBoolean(), anyBoolean(), anyBoolean());
+	}
+
+	/**
+	 * A color supplier which returns a distinct color for each combination of properties, and
+	 * counts the number of times it is queried.
+	 */
+	private static class CountingColorSupplier implements ColorSupplier {
+		/**
+		 * The number of times the supplier has been queried.
+		 */
+		private int callCount = 0;
+
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			callCount++;
+			return colorFor(marked, selected, answerIsCorrect);
+		}
+
+		/**
+		 * Calculates the distinct color for a combination of properties.
+		 *
+		 * @param marked
+		 * 		whether or not the card is marked
+		 * @param selected
+		 * 		whether or not the card is selected
+		 * @param answerIsCorrect
+		 * 		whether or not the answer is correct
+		 * @return the color
+		 */
+		private static int colorFor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			return 0xFF000000 | (marked ? 0xFF0000 : 0) | (selected ? 0xFF00 : 0) |
+					(answerIsCorrect ? 0xFF : 0);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.graphics.Color;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.AlphaProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.ColorProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.Property;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JVM tests for the {@link CompositeDecorator} class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestCompositeDecorator {
+	/**
+	 * The time to run the main looper for when waiting for animations to complete, measured in
+	 * milliseconds.
+	 */
+	private static final int ANIMATION_WAIT_MS = 5000;
+
+	/**
+	 * Supplies a different color for each combination of marked and selected status.
+	 */
+	private static final ColorSupplier COLOR_SUPPLIER = new ColorSupplier() {
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked) {
+				return selected ? Color.GREEN : Color.BLUE;
+			} else {
+				return selected ? Color.YELLOW : Color.WHITE;
+			}
+		}
+	};
+
+	/**
+	 * Supplies a different alpha for each combination of marked and selected status.
+	 */
+	private static final AlphaSupplier ALPHA_SUPPLIER = new AlphaSupplier() {
+		@Override
+		public float getAlpha(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked) {
+				return selected ? 1f : 0.3f;
+			} else {
+				return selected ? 0.9f : 0.6f;
+			}
+		}
+	};
+
+	/**
+	 * The card to decorate.
+	 */
+	private DecoratedAnswerCard card;
+
+	/**
+	 * The color property of the decorator under test.
+	 */
+	private ColorProperty colorProperty;
+
+	/**
+	 * The alpha property of the decorator under test.
+	 */
+	private AlphaProperty alphaProperty;
+
+	/**
+	 * The decorator under test.
+	 */
+	private CompositeDecorator decorator;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		card = new DecoratedAnswerCard(RuntimeEnvironment.application);
+		card.setAnswer(new PojoAnswer("test", false), false);
+
+		colorProperty = new ColorProperty(COLOR_SUPPLIER);
+		alphaProperty = new AlphaProperty(ALPHA_SUPPLIER);
+		decorator = new CompositeDecorator(colorProperty, alphaProperty);
+	}
+
+	/**
+	 * Test to ensure that the constructor throws an exception when provided with a null array.
+	 * The test will only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_nullArray() {
+		new CompositeDecorator((Property[]) null);
+	}
+
+	/**
+	 * Test to ensure that the constructor throws an exception when provided with an array which
+	 * contains null. The test will only pass if the correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_arrayContainingNull() {
+		new CompositeDecorator(colorProperty, null);
+	}
+
+	/**
+	 * Test to ensure that the properties passed to the constructor are returned in order. The
+	 * test will only pass if the count and each property are correct.
+	 */
+	@Test
+	public void testGetProperty() {
+		assertThat(decorator.getPropertyCount(), is(2));
+		assertThat(decorator.getProperty(0), is(sameInstance((Property) colorProperty)));
+		assertThat(decorator.getProperty(1), is(sameInstance((Property) alphaProperty)));
+	}
+
+	/**
+	 * Test to ensure that every property is applied for every status, with and without
+	 * animations. The test will only pass if the color and alpha of the card match the suppliers
+	 * once any animation completes.
+	 */
+	@Test
+	public void testDecorate_allStatuses() {
+		card.addDecorator(decorator, false);
+
+		for (int i = 0; i < 8; i++) {
+			final boolean marked = (i & 1) != 0;
+			final boolean selected = (i & 2) != 0;
+			final boolean animate = (i & 4) != 0;
+
+			card.setStatus(marked, selected, animate);
+			runAnimations();
+
+			assertThat(card.getCardBackgroundColor(),
+					is(COLOR_SUPPLIER.getColor(marked, selected, false)));
+			assertThat(card.getAlpha(), is(ALPHA_SUPPLIER.getAlpha(marked, selected, false)));
+		}
+	}
+
+	/**
+	 * Test to ensure that all properties are animated by a single ticker. The test will only pass
+	 * if one ticker is running while the color and alpha both change.
+	 */
+	@Test
+	public void testDecorate_singleTickerForAllProperties() {
+		card.addDecorator(decorator, false);
+
+		card.setStatus(true, false, true);
+
+		assertThat(card.getAnimationClock().getRunningCount(), is(1));
+
+		runAnimations();
+
+		assertThat(card.getAnimationClock().getRunningCount(), is(0));
+		assertThat(card.getCardBackgroundColor(), is(Color.BLUE));
+		assertThat(card.getAlpha(), is(0.3f));
+	}
+
+	/**
+	 * Runs the main looper long enough for any running animations to complete.
+	 */
+	private void runAnimations() {
+		Robolectric.getForegroundThreadScheduler().advanceBy(ANIMATION_WAIT_MS,
+				TimeUnit.MILLISECONDS);
+	}
+}
\ No newline at end of file
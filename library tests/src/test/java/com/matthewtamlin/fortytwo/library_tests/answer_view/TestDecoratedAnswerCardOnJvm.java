@@ -0,0 +1,338 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import android.graphics.Color;
+
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.matthewtamlin.android_utilities.library.helpers.ColorHelper.calculateBestTextColor;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isEmptyOrNullString;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JVM tests for the {@link DecoratedAnswerCard} and {@link ColorFadeDecorator} classes. These
+ * tests cover the same behaviours as the instrumentation tests, but run on Robolectric so that
+ * they do not need a device.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestDecoratedAnswerCardOnJvm {
+	/**
+	 * The time to run the main looper for when waiting for animations to complete, measured in
+	 * milliseconds.
+	 */
+	private static final int ANIMATION_WAIT_MS = 5000;
+
+	/**
+	 * The animation duration to use when testing retargeting, measured in milliseconds.
+	 */
+	private static final int RETARGET_DURATION_MS = 300;
+
+	/**
+	 * Supplies a different color for every status.
+	 */
+	private static final ColorSupplier COLOR_SUPPLIER = new ColorSupplier() {
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked) {
+				if (selected) {
+					return answerIsCorrect ? Color.RED : Color.GREEN;
+				} else {
+					return answerIsCorrect ? Color.BLACK : Color.BLUE;
+				}
+			} else {
+				if (selected) {
+					return answerIsCorrect ? Color.CYAN : Color.GRAY;
+				} else {
+					return answerIsCorrect ? Color.MAGENTA : Color.YELLOW;
+				}
+			}
+		}
+	};
+
+	/**
+	 * The card under test.
+	 */
+	private DecoratedAnswerCard card;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		card = new DecoratedAnswerCard(RuntimeEnvironment.application);
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setAnimationDurationMs(int)} method
+	 * functions correctly when provided with a negative duration. The test will only pass if the
+	 * correct exception is thrown.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetAnimationDuration_negativeDuration() {
+		card.setAnimationDurationMs(-1);
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setAnimationDurationMs(int)} method
+	 * functions correctly when provided with valid durations. The test will only pass if the
+	 * getter returns each new value, and the duration is passed to the decorators.
+	 */
+	@Test
+	public void testSetAnimationDuration_validDurations() {
+		final Decorator decorator = mock(Decorator.class);
+		card.addDecorator(decorator, false);
+
+		card.setAnimationDurationMs(0);
+		assertThat(card.getAnimationDurationMs(), is(0));
+
+		card.setAnimationDurationMs(10);
+		assertThat(card.getAnimationDurationMs(), is(10));
+
+		verify(decorator, times(1)).setAnimationDurationMs(10);
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setStatus(boolean, boolean, boolean)}
+	 * method functions correctly. Every combination of marked and selected is set twice, with and
+	 * without animations. The test will only pass if the status is updated correctly each time.
+	 */
+	@Test
+	public void testSetStatus_allCombinations() {
+		for (int i = 0; i < 8; i++) {
+			final boolean marked = (i & 1) != 0;
+			final boolean selected = (i & 2) != 0;
+			final boolean animate = (i & 4) != 0;
+
+			card.setStatus(marked, selected, animate);
+			card.setStatus(marked, selected, animate);
+			runAnimations();
+
+			assertThat(card.isMarked(), is(marked));
+			assertThat(card.isSelected(), is(selected));
+		}
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setAnswer(Answer, boolean)} and {@link
+	 * DecoratedAnswerCard#setIdentifier(CharSequence, boolean)} methods function correctly, with
+	 * and without animations. The test will only pass if the displayed text is updated correctly
+	 * each time.
+	 */
+	@Test
+	public void testSetAnswerAndIdentifier_multipleCalls() {
+		for (final boolean animate : new boolean[]{false, true}) {
+			card.setAnswer(new PojoAnswer("test 1", false), animate);
+			card.setIdentifier("1", animate);
+			runAnimations();
+
+			assertThat(card.getAnswerContainer().getText().toString(), is("test 1"));
+			assertThat(card.getIdentifierContainer().getText().toString(), is("1"));
+
+			card.setAnswer(null, animate);
+			card.setIdentifier(null, animate);
+			runAnimations();
+
+			assertThat(card.getAnswerContainer().getText().toString(), isEmptyOrNullString());
+			assertThat(card.getIdentifierContainer().getText().toString(), isEmptyOrNullString());
+		}
+	}
+
+	/**
+	 * Test to ensure that the automatic content description reflects the status and answer of the
+	 * card. The test will only pass if the expected description is set after each change.
+	 */
+	@Test
+	public void testAutomaticContentDescription() {
+		card.setAnswer(null, false);
+		assertThat(card.getContentDescription().toString(), is("Empty answer card."));
+
+		card.setAnswer(new PojoAnswer("test", true), false);
+		card.setStatus(true, true, false);
+		assertThat(card.getContentDescription().toString(),
+				is("Answer card, currently selected and marked as correct."));
+
+		card.setStatus(false, false, false);
+		assertThat(card.getContentDescription().toString(),
+				is("Answer card, currently unselected and unmarked."));
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#setStatus(boolean, boolean, boolean)}
+	 * method calls the decorators when the status changes, and skips them when it does not. The
+	 * test will only pass if each decorator is called once per change.
+	 */
+	@Test
+	public void testSetStatus_checkDecoratorsAreCalledOncePerChange() {
+		final Decorator decorator = mock(Decorator.class);
+
+		card.addDecorator(decorator, false);
+		card.addDecorator(null, false);
+		verify(decorator, times(1)).decorate(card, false);
+
+		card.setStatus(true, true, true);
+		verify(decorator, times(1)).decorate(card, true);
+
+		final int skippedPassCount = card.getSkippedDecorationPassCount();
+
+		card.setStatus(true, true, true);
+		card.setStatus(true, true, false);
+
+		verify(decorator, times(1)).decorate(card, true);
+		verify(decorator, times(1)).decorate(card, false);
+		assertThat(card.getSkippedDecorationPassCount(), is(skippedPassCount + 2));
+	}
+
+	/**
+	 * Test to ensure that the {@link ColorFadeDecorator} sets the expected background color for
+	 * every status, with and without animations. The test will only pass if the card background
+	 * color matches the supplier once any animation completes.
+	 */
+	@Test
+	public void testColorFadeDecorator_allStatuses() {
+		final ColorFadeDecorator decorator = new ColorFadeDecorator(COLOR_SUPPLIER);
+		card.addDecorator(decorator, false);
+
+		for (int i = 0; i < 16; i++) {
+			final boolean marked = (i & 1) != 0;
+			final boolean selected = (i & 2) != 0;
+			final boolean correct = (i & 4) != 0;
+			final boolean animate = (i & 8) != 0;
+
+			card.setAnswer(new PojoAnswer("test", correct), animate);
+			card.setStatus(marked, selected, animate);
+			runAnimations();
+
+			assertThat(card.getCardBackgroundColor(),
+					is(COLOR_SUPPLIER.getColor(marked, selected, correct)));
+		}
+	}
+
+	/**
+	 * Test to ensure that the {@link ColorFadeDecorator} finishes each animated transition with
+	 * the most readable text color for the new background. The test will only pass if the text
+	 * color reaches the end of the ramp for a light and a dark background.
+	 */
+	@Test
+	public void testColorFadeDecorator_textColorReachesEndOfRamp() {
+		final ColorFadeDecorator decorator = new ColorFadeDecorator(COLOR_SUPPLIER);
+		card.addDecorator(decorator, false);
+		card.setAnswer(new PojoAnswer("test", false), false);
+
+		// Marked is blue and unmarked is yellow, which need different text colors
+		for (final boolean marked : new boolean[]{true, false, true}) {
+			card.setStatus(marked, false, true);
+			runAnimations();
+
+			final int backgroundColor = COLOR_SUPPLIER.getColor(marked, false, false);
+
+			assertThat(card.getCardBackgroundColor(), is(backgroundColor));
+			assertThat(card.getTextColor(), is(calculateBestTextColor(backgroundColor)));
+		}
+	}
+
+	/**
+	 * Test to ensure that the {@link DecoratedAnswerCard#syncCardViewBackgroundColor()} method
+	 * makes the CardView report and control the color of the card, even though the color is
+	 * normally drawn by a separate view. The test will only pass if the CardView has the decorated
+	 * color after each animation, and a color set directly on the CardView is reported by the card.
+	 */
+	@Test
+	public void testSyncCardViewBackgroundColor_cardViewMatchesCard() {
+		final ColorFadeDecorator decorator = new ColorFadeDecorator(COLOR_SUPPLIER);
+		card.addDecorator(decorator, false);
+		card.setAnswer(new PojoAnswer("test", false), false);
+
+		for (final boolean marked : new boolean[]{true, false}) {
+			card.setStatus(marked, false, true);
+			runAnimations();
+			card.syncCardViewBackgroundColor();
+
+			assertThat(card.getCard().getCardBackgroundColor().getDefaultColor(),
+					is(COLOR_SUPPLIER.getColor(marked, false, false)));
+		}
+
+		card.getCard().setCardBackgroundColor(Color.WHITE);
+
+		assertThat(card.getCardBackgroundColor(), is(Color.WHITE));
+	}
+
+	/**
+	 * Test to ensure that the {@link ColorFadeDecorator} retargets a running animation rather than
+	 * waiting for it to finish. The status is reversed part way through an animation. The test
+	 * will only pass if the card reaches the final color within one animation duration of the
+	 * reversal, which would not be possible if the first animation had to complete first.
+	 */
+	@Test
+	public void testColorFadeDecorator_retargetsRunningAnimation() {
+		final ColorFadeDecorator decorator = new ColorFadeDecorator(COLOR_SUPPLIER);
+		card.addDecorator(decorator, false);
+		card.setAnswer(new PojoAnswer("test", false), false);
+		card.setAnimationDurationMs(RETARGET_DURATION_MS);
+
+		card.setStatus(false, true, true);
+		advanceBy(RETARGET_DURATION_MS / 3);
+
+		card.setStatus(false, false, true);
+		assertThat(card.getAnimationClock().getRunningCount(), is(1));
+
+		advanceBy(RETARGET_DURATION_MS + (RETARGET_DURATION_MS / 3));
+
+		assertThat(card.getAnimationClock().getRunningCount(), is(0));
+		assertThat(card.getCardBackgroundColor(), is(COLOR_SUPPLIER.getColor(false, false,
+				false)));
+	}
+
+	/**
+	 * Runs the main looper long enough for any running animations to complete.
+	 */
+	private void runAnimations() {
+		advanceBy(ANIMATION_WAIT_MS);
+	}
+
+	/**
+	 * Runs the main looper for the supplied time.
+	 *
+	 * @param durationMs
+	 * 		the time to run the looper for, measured in milliseconds
+	 */
+	private void advanceBy(final int durationMs) {
+		Robolectric.getForegroundThreadScheduler().advanceBy(durationMs, TimeUnit.MILLISECONDS);
+	}
+}
\ No newline at end of file
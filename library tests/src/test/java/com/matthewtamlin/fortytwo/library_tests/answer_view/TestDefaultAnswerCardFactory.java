@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library_tests.answer_view;
+
+import com.matthewtamlin.fortytwo.library.answer.PojoAnswer;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard;
+import com.matthewtamlin.fortytwo.library.answer_view.DefaultAnswerCardFactory;
+import com.matthewtamlin.fortytwo.library_tests.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * JVM tests for the {@link DefaultAnswerCardFactory} class.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class TestDefaultAnswerCardFactory {
+	/**
+	 * A card created by the factory under test.
+	 */
+	private DecoratedAnswerCard card;
+
+	/**
+	 * Performs initialisation before the tests run.
+	 */
+	@Before
+	public void setup() {
+		card = new DefaultAnswerCardFactory().createCard(RuntimeEnvironment.application);
+		card.setAnswer(new PojoAnswer("incorrect", false), false);
+	}
+
+	/**
+	 * Test to ensure that the cards created by the factory are decorated. The test will only pass
+	 * if each card has one decorator.
+	 */
+	@Test
+	public void testCreateCard_cardIsDecorated() {
+		assertThat(card.getDecorators().size(), is(1));
+	}
+
+	/**
+	 * Test to ensure that the cards created by the factory display the selected status. The test
+	 * will only pass if selecting an unmarked card changes its background color to orange.
+	 */
+	@Test
+	public void testCreateCard_selectedStatusIsDisplayed() {
+		card.setStatus(false, false, false);
+		assertThat(card.getCardBackgroundColor(), is(0xFFFFFFFF));
+
+		card.setStatus(false, true, false);
+		assertThat(card.getCardBackgroundColor(), is(0xFFFF9800));
+	}
+
+	/**
+	 * Test to ensure that the cards created by the factory display the marked status. The test
+	 * will only pass if marking a selected incorrect card changes its background color to red,
+	 * and marking an unselected incorrect card fades it.
+	 */
+	@Test
+	public void testCreateCard_markedStatusIsDisplayed() {
+		card.setStatus(true, true, false);
+		assertThat(card.getCardBackgroundColor(), is(0xFFB71C1C));
+
+		card.setStatus(true, false, false);
+		assertThat(card.getAlpha(), is(0.3f));
+	}
+}
\ No newline at end of file
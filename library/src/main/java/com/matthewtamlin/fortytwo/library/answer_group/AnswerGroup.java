@@ -101,6 +101,59 @@ public interface AnswerGroup extends Listenable<Listener> {
 	 */
 	public void declareExternalViewSelectionChanges();
 
+	/**
+	 * Declares to this view that the selected or marked status of a single contained answer view
+	 * has been changed externally. This is a cheaper alternative to {@link
+	 * #declareExternalViewSelectionChanges()} when the changed view is known. If the supplied view
+	 * is not contained in this group, then the method exits normally.
+	 *
+	 * @param answer
+	 * 		the view which was changed, not null
+	 */
+	public void declareExternalViewSelectionChange(AnswerView answer);
+
+	/**
+	 * Selects a collection of contained answer views as a single batch. The views are selected in
+	 * iteration order and are subject to the same rules as clicks, so marked views may be ignored
+	 * and the least recently selected views are deselected if the selection limit is exceeded.
+	 * Views which are not contained in this group are ignored.
+	 * <p>
+	 * Once all changes have been applied, each registered {@link BatchListener} receives a single
+	 * callback containing the net changes. Other listeners receive one callback for each net
+	 * change.
+	 *
+	 * @param answers
+	 * 		the answer views to select, not null, not containing null
+	 */
+	public void selectAnswers(Collection<? extends AnswerView> answers);
+
+	/**
+	 * Deselects a collection of contained answer views as a single batch. The views are subject to
+	 * the same rules as clicks, so marked views may be ignored. Views which are not contained in
+	 * this group are ignored.
+	 * <p>
+	 * Once all changes have been applied, each registered {@link BatchListener} receives a single
+	 * callback containing the net changes. Other listeners receive one callback for each net
+	 * change.
+	 *
+	 * @param answers
+	 * 		the answer views to deselect, not null, not containing null
+	 */
+	public void deselectAnswers(Collection<? extends AnswerView> answers);
+
+	/**
+	 * Sets the marked status of every answer view in this group in a single pass. Views which
+	 * already have the requested status are not changed. Implementations may stagger the starts of
+	 * the animations, and may fall back to instant changes when there are too many views to
+	 * animate smoothly.
+	 *
+	 * @param marked
+	 * 		the new marked status
+	 * @param animate
+	 * 		whether or not the changes should be animated, where possible
+	 */
+	public void setAllMarked(boolean marked, boolean animate);
+
 	/**
 	 * Callback listener to be called when an AnswerView in an AnswerGroup is selected or
 	 * deselected.
@@ -128,4 +181,26 @@ public interface AnswerGroup extends Listenable<Listener> {
 		 */
 		public void onAnswerDeselected(AnswerGroup answerGroup, AnswerView deselectedView);
 	}
+
+	/**
+	 * Callback listener which receives a single aggregated callback when a batch of answer views
+	 * is selected or deselected in an AnswerGroup. Changes which are not part of a batch (such as
+	 * clicks) are delivered to the per-view methods of {@link Listener}.
+	 */
+	public interface BatchListener extends Listener {
+		/**
+		 * Invoked when a batch of selection changes has been applied to the AnswerGroup this
+		 * listener is registered to. Only net changes are reported, so a view which was selected
+		 * and then deselected during the batch appears in neither list.
+		 *
+		 * @param answerGroup
+		 * 		the AnswerGroup containing the views, not null
+		 * @param selectedViews
+		 * 		the views which became selected, in order of selection, not null
+		 * @param deselectedViews
+		 * 		the views which became deselected, in order of deselection, not null
+		 */
+		public void onAnswerSelectionsChanged(AnswerGroup answerGroup,
+				List<AnswerView> selectedViews, List<AnswerView> deselectedViews);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,600 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.BatchListener;
+import com.matthewtamlin.fortytwo.library.answer_group.AnswerGroup.Listener;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
+import com.matthewtamlin.java_utilities.checkers.IntChecker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the answers of an answer group and connects them to a {@link SelectionModel}. The answers
+ * are kept in display order and indexed by identity, clicks and declarations are applied to the
+ * selection model, and the changes made by the selection model are applied to the answers and
+ * delivered to the listeners of the group. Used by {@link SelectionLimitedAnswerGroup} and {@link
+ * RecyclerAnswerGroup}, which only differ in how they display the answers.
+ * <p>
+ * Pending changes made by the {@link StaggeredMarker} of the group are finished before any status
+ * is read or changed. This class must only be used from the UI thread.
+ */
+final class AnswerGroupController {
+	/**
+	 * The group which owns this controller, passed to the listeners.
+	 */
+	private final AnswerGroup group;
+
+	/**
+	 * Displays the selection changes made by this controller.
+	 */
+	private final Host host;
+
+	/**
+	 * Applies the changes made by {@link #setAllMarked(boolean, boolean)}.
+	 */
+	private final StaggeredMarker staggeredMarker;
+
+	/**
+	 * The listeners which have registered for callbacks.
+	 */
+	private final Set<Listener> listeners = new HashSet<>();
+
+	/**
+	 * All answers in the group, in display order.
+	 */
+	private final List<AnswerView> allAnswers = new ArrayList<>();
+
+	/**
+	 * Maps each answer in {@code allAnswers} to its position. Answers are compared by identity, so
+	 * lookups never depend on the equals method of the answers.
+	 */
+	private final Map<AnswerView, Integer> answerPositions = new IdentityHashMap<>();
+
+	/**
+	 * A read-only view of {@code allAnswers}, which is returned by {@link #getAnswersView()}.
+	 */
+	private final List<AnswerView> unmodifiableAnswers = Collections.unmodifiableList(allAnswers);
+
+	/**
+	 * Records which answers are selected and marked, and enforces the selection limit.
+	 */
+	private final SelectionModel<AnswerView> selectionModel = new SelectionModel<>(1);
+
+	/**
+	 * Whether or not animations should be shown when selecting and deselecting answers.
+	 */
+	private boolean selectionAnimationsEnabled = true;
+
+	/**
+	 * The value returned by {@link PerformanceMonitor#beginOperation()} when the click currently
+	 * being handled was received, or 0 if no click is being handled or monitoring is disabled.
+	 */
+	private long clickStartNs = 0;
+
+	/**
+	 * Constructs a new AnswerGroupController. The selection limit is initially set to 1.
+	 *
+	 * @param group
+	 * 		the group which owns this controller, not null
+	 * @param host
+	 * 		displays the selection changes made by this controller, not null
+	 * @param staggeredMarker
+	 * 		applies the changes made when marking all answers, not null
+	 */
+	AnswerGroupController(final AnswerGroup group, final Host host,
+			final StaggeredMarker staggeredMarker) {
+		this.group = group;
+		this.host = host;
+		this.staggeredMarker = staggeredMarker;
+
+		selectionModel.registerListener(new SelectionModel.BatchListener<AnswerView>() {
+			@Override
+			public void onSelected(final SelectionModel<AnswerView> model,
+					final AnswerView item) {
+				onAnswerSelected(item);
+			}
+
+			@Override
+			public void onDeselected(final SelectionModel<AnswerView> model,
+					final AnswerView item) {
+				onAnswerDeselected(item);
+			}
+
+			@Override
+			public void onBatchChanged(final SelectionModel<AnswerView> model,
+					final List<AnswerView> selected, final List<AnswerView> deselected) {
+				deliverBatch(selected, deselected);
+			}
+		});
+	}
+
+	/**
+	 * Appends an answer to the end of the group. The status of the answer is not recorded until
+	 * {@link #recordStatus(AnswerView)} is called, so that the group can finish preparing the
+	 * answer first.
+	 *
+	 * @param answer
+	 * 		the answer to add, not null, not already contained
+	 */
+	void add(final AnswerView answer) {
+		answerPositions.put(answer, allAnswers.size());
+		allAnswers.add(answer);
+	}
+
+	/**
+	 * Removes an answer from the group and from the selection model. The answers after the
+	 * removed answer are moved down, so this is a linear time operation.
+	 *
+	 * @param answer
+	 * 		the answer to remove, may be null
+	 * @return the position the answer was removed from, or -1 if it was not contained
+	 */
+	int remove(final AnswerView answer) {
+		final int position = indexOf(answer);
+
+		if (position != -1) {
+			staggeredMarker.finish();
+
+			allAnswers.remove(position);
+			answerPositions.remove(answer);
+			selectionModel.remove(answer);
+
+			// Only the answers after the removed answer have moved
+			for (int i = position; i < allAnswers.size(); i++) {
+				answerPositions.put(allAnswers.get(i), i);
+			}
+		}
+
+		return position;
+	}
+
+	/**
+	 * Removes every answer from the group and from the selection model.
+	 */
+	void clear() {
+		staggeredMarker.finish();
+
+		allAnswers.clear();
+		answerPositions.clear();
+		selectionModel.clear();
+	}
+
+	/**
+	 * @return the number of answers in the group
+	 */
+	int size() {
+		return allAnswers.size();
+	}
+
+	/**
+	 * @param position
+	 * 		the position of the answer, in display order
+	 * @return the answer at the position, not null
+	 */
+	AnswerView get(final int position) {
+		return allAnswers.get(position);
+	}
+
+	/**
+	 * Finds the position of an answer, in constant time.
+	 *
+	 * @param answer
+	 * 		the answer to find, may be null
+	 * @return the position of the answer, or -1 if it is not contained
+	 */
+	int indexOf(final Object answer) {
+		final Integer position = answerPositions.get(answer);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Determines whether an answer is contained in the group, in constant time.
+	 *
+	 * @param answer
+	 * 		the answer to check, may be null
+	 * @return true if the answer is contained, false otherwise
+	 */
+	boolean contains(final Object answer) {
+		return answerPositions.containsKey(answer);
+	}
+
+	/**
+	 * @return a copy of the answers in the group, in display order, not null
+	 */
+	List<AnswerView> getAnswers() {
+		return new ArrayList<>(allAnswers);
+	}
+
+	/**
+	 * @return a read-only view of the answers in the group, in display order, not null
+	 */
+	List<AnswerView> getAnswersView() {
+		return unmodifiableAnswers;
+	}
+
+	/**
+	 * Records the current marked and selected statuses of an answer in the selection model.
+	 * Listeners are only notified if recording the answer causes another answer to be deselected.
+	 *
+	 * @param answer
+	 * 		the answer to record, not null
+	 */
+	void recordStatus(final AnswerView answer) {
+		selectionModel.setMarked(answer, answer.isMarked());
+		selectionModel.declareExternalSelectionChange(answer, answer.isSelected());
+	}
+
+	/**
+	 * Records the current statuses of every answer in the group.
+	 */
+	void recordAllStatuses() {
+		staggeredMarker.finish();
+
+		for (int i = 0; i < allAnswers.size(); i++) {
+			recordStatus(allAnswers.get(i));
+		}
+	}
+
+	/**
+	 * Selects the supplied answers, applying the selection limit. Answers which are not contained
+	 * in the group are ignored.
+	 *
+	 * @param answers
+	 * 		the answers to select, not null, not containing null
+	 */
+	void selectAnswers(final Collection<? extends AnswerView> answers) {
+		staggeredMarker.finish();
+		selectionModel.selectAll(recordContainedStatuses(answers));
+	}
+
+	/**
+	 * Deselects the supplied answers. Answers which are not contained in the group are ignored.
+	 *
+	 * @param answers
+	 * 		the answers to deselect, not null, not containing null
+	 */
+	void deselectAnswers(final Collection<? extends AnswerView> answers) {
+		staggeredMarker.finish();
+		selectionModel.deselectAll(recordContainedStatuses(answers));
+	}
+
+	/**
+	 * Records the marked status of every answer, and then applies it using the staggered marker.
+	 *
+	 * @param marked
+	 * 		the marked status to apply
+	 * @param animate
+	 * 		whether or not the changes should be animated
+	 */
+	void setAllMarked(final boolean marked, final boolean animate) {
+		for (int i = 0; i < allAnswers.size(); i++) {
+			selectionModel.setMarked(allAnswers.get(i), marked);
+		}
+
+		staggeredMarker.markAll(allAnswers, marked, animate);
+	}
+
+	/**
+	 * Handles a click on an answer. Answers are often marked externally without a declaration, so
+	 * the marked status of the clicked answer is recorded before the marking rules are applied.
+	 *
+	 * @param clickedAnswer
+	 * 		the answer which was clicked, not null
+	 */
+	void handleClick(final AnswerView clickedAnswer) {
+		clickStartNs = PerformanceMonitor.beginOperation();
+
+		staggeredMarker.finish();
+		selectionModel.setMarked(clickedAnswer, clickedAnswer.isMarked());
+		selectionModel.toggle(clickedAnswer);
+
+		PerformanceMonitor.endOperation(PerformanceMonitor.OPERATION_HANDLE_CLICK, clickStartNs);
+		clickStartNs = 0;
+	}
+
+	/**
+	 * Sets the number of answers which can be selected at any time.
+	 *
+	 * @param limit
+	 * 		the new limit, greater than zero
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than the minimum selection count
+	 */
+	void setLimit(final int limit) {
+		IntChecker.checkGreaterThan(limit, 0, "limit cannot be less than 1.");
+		selectionModel.setLimit(limit);
+	}
+
+	/**
+	 * @return the number of answers which can be selected at any time
+	 */
+	int getLimit() {
+		return selectionModel.getLimit();
+	}
+
+	/**
+	 * @param limitPolicy
+	 * 		the policy which decides what happens when the selection limit would be exceeded, not
+	 * 		null
+	 * @throws IllegalArgumentException
+	 * 		if {@code limitPolicy} is null
+	 */
+	void setLimitPolicy(final LimitPolicy<AnswerView> limitPolicy) {
+		selectionModel.setLimitPolicy(limitPolicy);
+	}
+
+	/**
+	 * @return the policy which decides what happens when the selection limit would be exceeded,
+	 * not null
+	 */
+	LimitPolicy<AnswerView> getLimitPolicy() {
+		return selectionModel.getLimitPolicy();
+	}
+
+	/**
+	 * @param minimum
+	 * 		the minimum number of answers which must remain selected, at least 0 and not more than
+	 * 		the selection limit
+	 * @throws IllegalArgumentException
+	 * 		if {@code minimum} is less than 0 or greater than the selection limit
+	 */
+	void setMinimumSelectionCount(final int minimum) {
+		selectionModel.setMinimumSelectedCount(minimum);
+	}
+
+	/**
+	 * @return the minimum number of answers which must remain selected
+	 */
+	int getMinimumSelectionCount() {
+		return selectionModel.getMinimumSelectedCount();
+	}
+
+	/**
+	 * @return true if at least the minimum number of answers are selected, false otherwise
+	 */
+	boolean hasMinimumSelection() {
+		return selectionModel.hasMinimumSelection();
+	}
+
+	/**
+	 * @param allow
+	 * 		whether or not the selection of marked answers can change
+	 */
+	void allowSelectionChangesWhenMarked(final boolean allow) {
+		selectionModel.allowSelectionChangesWhenMarked(allow);
+	}
+
+	/**
+	 * @return whether or not the selection of marked answers can change
+	 */
+	boolean selectionChangesAreAllowedWhenMarked() {
+		return selectionModel.selectionChangesAreAllowedWhenMarked();
+	}
+
+	/**
+	 * @param enable
+	 * 		whether or not selection changes should be animated
+	 */
+	void enableSelectionAnimations(final boolean enable) {
+		selectionAnimationsEnabled = enable;
+	}
+
+	/**
+	 * @return whether or not selection changes are animated
+	 */
+	boolean selectionAnimationsAreEnabled() {
+		return selectionAnimationsEnabled;
+	}
+
+	/**
+	 * @param staggerMs
+	 * 		the interval between the starts of consecutive animations when marking all answers,
+	 * 		measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code staggerMs} is less than 0
+	 */
+	void setMarkAllStaggerMs(final int staggerMs) {
+		IntChecker.checkGreaterThanOrEqualTo(staggerMs, 0, "staggerMs cannot be less than 0.");
+		staggeredMarker.setStaggerMs(staggerMs);
+	}
+
+	/**
+	 * @return the interval between the starts of consecutive animations when marking all answers,
+	 * measured in milliseconds
+	 */
+	int getMarkAllStaggerMs() {
+		return staggeredMarker.getStaggerMs();
+	}
+
+	/**
+	 * @param limit
+	 * 		the maximum number of answers to animate when marking all answers, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 0
+	 */
+	void setMarkAllAnimationLimit(final int limit) {
+		IntChecker.checkGreaterThanOrEqualTo(limit, 0, "limit cannot be less than 0.");
+		staggeredMarker.setAnimationLimit(limit);
+	}
+
+	/**
+	 * @return the maximum number of answers to animate when marking all answers
+	 */
+	int getMarkAllAnimationLimit() {
+		return staggeredMarker.getAnimationLimit();
+	}
+
+	/**
+	 * @param budgetMs
+	 * 		the maximum time to spend starting animations in a single frame when marking all
+	 * 		answers, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code budgetMs} is less than 0
+	 */
+	void setMarkAllFrameBudgetMs(final int budgetMs) {
+		IntChecker.checkGreaterThanOrEqualTo(budgetMs, 0, "budgetMs cannot be less than 0.");
+		staggeredMarker.setFrameBudgetMs(budgetMs);
+	}
+
+	/**
+	 * @return the maximum time to spend starting animations in a single frame when marking all
+	 * answers, measured in milliseconds
+	 */
+	int getMarkAllFrameBudgetMs() {
+		return staggeredMarker.getFrameBudgetMs();
+	}
+
+	/**
+	 * @param listener
+	 * 		the listener to register, null is ignored
+	 */
+	void registerListener(final Listener listener) {
+		if (listener != null) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * @param listener
+	 * 		the listener to unregister, may be null
+	 */
+	void unregisterListener(final Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Filters a collection of answers down to those contained in the group, and records the marked
+	 * status of each so that the marking rules are applied correctly.
+	 *
+	 * @param answers
+	 * 		the answers to filter, not null, not containing null
+	 * @return the contained answers, in iteration order, not null
+	 */
+	private List<AnswerView> recordContainedStatuses(
+			final Collection<? extends AnswerView> answers) {
+		final List<AnswerView> containedAnswers = new ArrayList<>(answers.size());
+
+		for (final AnswerView answer : answers) {
+			if (contains(answer)) {
+				selectionModel.setMarked(answer, answer.isMarked());
+				containedAnswers.add(answer);
+			}
+		}
+
+		return containedAnswers;
+	}
+
+	/**
+	 * Called when the selection model selects an answer. The answer is updated and any registered
+	 * listeners are called.
+	 *
+	 * @param answer
+	 * 		the answer which was selected, not null
+	 */
+	private void onAnswerSelected(final AnswerView answer) {
+		if (!answer.isSelected()) {
+			host.applySelectedStatus(answer, true, selectionAnimationsEnabled);
+		}
+
+		// Changes made in a batch are delivered together once the batch is complete
+		if (!selectionModel.batchIsInProgress()) {
+			PerformanceMonitor.reportSelectionCallback(clickStartNs);
+
+			for (final Listener listener : listeners) {
+				listener.onAnswerSelected(group, answer);
+			}
+		}
+	}
+
+	/**
+	 * Called when the selection model deselects an answer. The answer is updated and any
+	 * registered listeners are called.
+	 *
+	 * @param answer
+	 * 		the answer which was deselected, not null
+	 */
+	private void onAnswerDeselected(final AnswerView answer) {
+		if (answer.isSelected()) {
+			host.applySelectedStatus(answer, false, selectionAnimationsEnabled);
+		}
+
+		if (!selectionModel.batchIsInProgress()) {
+			PerformanceMonitor.reportSelectionCallback(clickStartNs);
+
+			for (final Listener listener : listeners) {
+				listener.onAnswerDeselected(group, answer);
+			}
+		}
+	}
+
+	/**
+	 * Delivers the net changes of a completed batch to the registered listeners. Batch listeners
+	 * receive a single callback, and other listeners receive a callback for each change.
+	 *
+	 * @param selected
+	 * 		the answers which became selected, not null
+	 * @param deselected
+	 * 		the answers which became deselected, not null
+	 */
+	private void deliverBatch(final List<AnswerView> selected, final List<AnswerView> deselected) {
+		final List<AnswerView> unmodifiableSelected = Collections.unmodifiableList(selected);
+		final List<AnswerView> unmodifiableDeselected = Collections.unmodifiableList(deselected);
+
+		for (final Listener listener : listeners) {
+			if (listener instanceof BatchListener) {
+				((BatchListener) listener).onAnswerSelectionsChanged(group, unmodifiableSelected,
+						unmodifiableDeselected);
+			} else {
+				for (final AnswerView answer : deselected) {
+					listener.onAnswerDeselected(group, answer);
+				}
+
+				for (final AnswerView answer : selected) {
+					listener.onAnswerSelected(group, answer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Displays the selection changes made by an AnswerGroupController.
+	 */
+	interface Host {
+		/**
+		 * Changes the selected status of an answer and ensures the change is displayed.
+		 *
+		 * @param answer
+		 * 		the answer to change, not null
+		 * @param selected
+		 * 		the new selected status
+		 * @param animate
+		 * 		whether or not the change should be animated
+		 */
+		void applySelectedStatus(AnswerView answer, boolean selected, boolean animate);
+	}
+}
\ No newline at end of file
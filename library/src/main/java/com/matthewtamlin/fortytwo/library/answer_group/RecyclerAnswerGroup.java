@@ -0,0 +1,683 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.java_utilities.checkers.IntChecker;
+import com.matthewtamlin.java_utilities.checkers.NullChecker;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerCardFactory;
+import com.matthewtamlin.fortytwo.library.answer_view.AnimationClock;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratableCard;
+import com.matthewtamlin.fortytwo.library.answer_view.DefaultAnswerCardFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
+import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
+
+/**
+ * An AnswerGroup which displays its answers in a RecyclerView, so that only the cards which are
+ * currently on screen exist as views. This makes it suitable for questions with hundreds or
+ * thousands of answers. The selection limit, the marking rules and the listener callbacks are the
+ * same as those of the {@link SelectionLimitedAnswerGroup}.
+ * <p>
+ * The answer views added to this group are used as models and are never attached to the window.
+ * Each model is displayed by binding its answer, identifier and status to a recycled card created
+ * by the current {@link AnswerCardFactory}. {@link VirtualAnswerView} is the recommended model
+ * class, since it is lightweight and any changes made to it are displayed automatically. Other
+ * AnswerView implementations can be used, however changes made to them externally are only
+ * displayed after calling {@link #declareExternalViewSelectionChange(AnswerView)} or {@link
+ * #declareExternalViewSelectionChanges()}.
+ * <p>
+ * This group scrolls its own content, so it should not be placed inside a ScrollView.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class RecyclerAnswerGroup extends RecyclerView implements AnswerGroup {
+	/**
+	 * Payload used to rebind the status of a card with animations.
+	 */
+	private static final Object ANIMATED_UPDATE = new Object();
+
+	/**
+	 * Payload used to rebind the status of a card without animations.
+	 */
+	private static final Object INSTANT_UPDATE = new Object();
+
+	/**
+	 * Receives clicks from every card and resolves the model which the card is bound to.
+	 */
+	private final OnClickListener cardClickListener = new OnClickListener() {
+		@Override
+		public void onClick(final View v) {
+			final int position = getChildAdapterPosition(v);
+
+			if (position != NO_POSITION) {
+				controller.handleClick(controller.get(position));
+			}
+		}
+	};
+
+	/**
+	 * Binds the models to recycled cards.
+	 */
+	private final AnswerAdapter adapter = new AnswerAdapter();
+
+	/**
+	 * Creates the cards used to display the answers.
+	 */
+	private AnswerCardFactory<?> cardFactory = new DefaultAnswerCardFactory();
+
+	/**
+	 * Drives the animations of every contained card, so that cards which animate at the same time
+	 * share a single frame callback.
+	 */
+	private final AnimationClock animationClock = new AnimationClock();
+
+	/**
+	 * Whether or not a model is currently being changed by the {@code staggeredMarker}. The marker
+	 * displays its own changes, so they are not reported back through {@link
+	 * #onAnswerChanged(VirtualAnswerView, boolean)}.
+	 */
+	private boolean applyingMarkedStatus = false;
+
+	/**
+	 * Applies the changes made by {@link #setAllMarked(boolean, boolean)}, staggering the
+	 * animations if necessary.
+	 */
+	private final StaggeredMarker staggeredMarker = new StaggeredMarker(this,
+			new StaggeredMarker.Target() {
+				@Override
+				public void applyMarkedStatus(final AnswerView answer, final boolean marked,
+						final boolean animate) {
+					applyingMarkedStatus = true;
+					answer.setMarkedStatus(marked, animate);
+					applyingMarkedStatus = false;
+
+					// Instant changes are displayed together once they have all been applied
+					if (animate) {
+						adapter.notifyItemChanged(indexOfAnswer(answer), ANIMATED_UPDATE);
+					}
+				}
+
+				@Override
+				public void onInstantUpdatesApplied() {
+					adapter.notifyItemRangeChanged(0, controller.size(), INSTANT_UPDATE);
+				}
+			});
+
+	/**
+	 * Holds the models of this group and applies the selection rules to them.
+	 */
+	private final AnswerGroupController controller = new AnswerGroupController(this,
+			new AnswerGroupController.Host() {
+				@Override
+				public void applySelectedStatus(final AnswerView answer, final boolean selected,
+						final boolean animate) {
+					answer.setSelectedStatus(selected, animate);
+
+					// VirtualAnswerViews notify the group themselves
+					if (!(answer instanceof VirtualAnswerView)) {
+						adapter.notifyItemChanged(indexOfAnswer(answer),
+								animate ? ANIMATED_UPDATE : INSTANT_UPDATE);
+					}
+				}
+			}, staggeredMarker);
+
+	/**
+	 * Constructs a new RecyclerAnswerGroup. The selection limit is initially set to 1.
+	 *
+	 * @param context
+	 * 		the context the view is operating in, not null
+	 */
+	public RecyclerAnswerGroup(final Context context) {
+		super(context);
+		init();
+	}
+
+	/**
+	 * Constructs a new RecyclerAnswerGroup. The selection limit is initially set to 1.
+	 *
+	 * @param context
+	 * 		the context this view is operating in, not null
+	 * @param attrs
+	 * 		configuration attributes, null allowed
+	 */
+	public RecyclerAnswerGroup(final Context context, final AttributeSet attrs) {
+		super(context, attrs);
+		init();
+	}
+
+	/**
+	 * Constructs a new RecyclerAnswerGroup. The selection limit is initially set to 1.
+	 *
+	 * @param context
+	 * 		the context this view is operating in, not null
+	 * @param attrs
+	 * 		configuration attributes, null allowed
+	 * @param defStyleAttr
+	 * 		an attribute in the current theme which supplies default attributes, pass 0	to ignore
+	 */
+	public RecyclerAnswerGroup(final Context context, final AttributeSet attrs,
+			final int defStyleAttr) {
+		super(context, attrs, defStyleAttr);
+		init();
+	}
+
+	/**
+	 * Sets the factory used to create the cards which display the answers. All existing cards are
+	 * discarded and replaced with cards from the new factory. By default the group uses a {@link
+	 * DefaultAnswerCardFactory}, which creates decorated cards that display the selected and marked
+	 * statuses.
+	 *
+	 * @param cardFactory
+	 * 		the factory to use, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code cardFactory} is null
+	 */
+	public void setCardFactory(final AnswerCardFactory<?> cardFactory) {
+		this.cardFactory = NullChecker.checkNotNull(cardFactory, "cardFactory cannot be null.");
+
+		// Resetting the adapter discards all existing cards, including those in the pool
+		setAdapter(adapter);
+	}
+
+	/**
+	 * @return the factory used to create the cards which display the answers, not null
+	 */
+	public AnswerCardFactory<?> getCardFactory() {
+		return cardFactory;
+	}
+
+	/**
+	 * Sets the maximum number of off-screen cards which are retained for reuse. Larger values make
+	 * scrolling smoother at the cost of memory.
+	 *
+	 * @param size
+	 * 		the maximum number of cards to retain, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code size} is less than 0
+	 */
+	public void setCardPoolSize(final int size) {
+		IntChecker.checkGreaterThanOrEqualTo(size, 0, "size cannot be less than 0.");
+		getRecycledViewPool().setMaxRecycledViews(0, size);
+	}
+
+	/**
+	 * Sets the number of answer views which can be selected at any time. If the new limit is less
+	 * than the current number of selected views, views chosen by the limit policy are deselected so
+	 * that the number of selected views equals the limit.
+	 *
+	 * @param limit
+	 * 		the new limit, greater than zero
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than the minimum selection count
+	 */
+	public void setMultipleSelectionLimit(final int limit) {
+		controller.setLimit(limit);
+	}
+
+	/**
+	 * @return the current selection limit of this group
+	 */
+	public int getMultipleSelectionLimit() {
+		return controller.getLimit();
+	}
+
+	/**
+	 * Sets the policy which decides what happens when selecting an answer would exceed the
+	 * selection limit. The default policy deselects the least recently selected answer. See {@link
+	 * LimitPolicies} for the standard policies.
+	 *
+	 * @param limitPolicy
+	 * 		the new policy, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code limitPolicy} is null
+	 */
+	public void setLimitPolicy(final LimitPolicy<AnswerView> limitPolicy) {
+		controller.setLimitPolicy(limitPolicy);
+	}
+
+	/**
+	 * @return the policy which decides what happens when selecting an answer would exceed the
+	 * selection limit, not null
+	 */
+	public LimitPolicy<AnswerView> getLimitPolicy() {
+		return controller.getLimitPolicy();
+	}
+
+	/**
+	 * Sets the minimum number of answers which must remain selected. Once this many answers are
+	 * selected, clicking a selected answer does not deselect it, however selecting another answer
+	 * can still deselect it if the selection limit is reached. The default is 0.
+	 *
+	 * @param minimum
+	 * 		the minimum, at least 0 and not more than the selection limit
+	 * @throws IllegalArgumentException
+	 * 		if {@code minimum} is less than 0 or greater than the selection limit
+	 */
+	public void setMinimumSelectionCount(final int minimum) {
+		controller.setMinimumSelectionCount(minimum);
+	}
+
+	/**
+	 * @return the minimum number of answers which must remain selected
+	 */
+	public int getMinimumSelectionCount() {
+		return controller.getMinimumSelectionCount();
+	}
+
+	/**
+	 * @return true if at least the minimum number of answers are selected, false otherwise
+	 */
+	public boolean hasMinimumSelection() {
+		return controller.hasMinimumSelection();
+	}
+
+	/**
+	 * Sets the interval between the starts of consecutive animations when {@link
+	 * #setAllMarked(boolean, boolean)} is called. The default is 0, which starts all animations in
+	 * the same frame.
+	 *
+	 * @param staggerMs
+	 * 		the interval, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code staggerMs} is less than 0
+	 */
+	public void setMarkAllStaggerMs(final int staggerMs) {
+		controller.setMarkAllStaggerMs(staggerMs);
+	}
+
+	/**
+	 * @return the interval between the starts of consecutive animations when marking all models,
+	 * measured in milliseconds
+	 */
+	public int getMarkAllStaggerMs() {
+		return controller.getMarkAllStaggerMs();
+	}
+
+	/**
+	 * Sets the maximum number of models which can be animated by a single call to {@link
+	 * #setAllMarked(boolean, boolean)}. If more models need to change, they are all changed
+	 * without animations. The default is 50.
+	 *
+	 * @param limit
+	 * 		the maximum number of models to animate, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 0
+	 */
+	public void setMarkAllAnimationLimit(final int limit) {
+		controller.setMarkAllAnimationLimit(limit);
+	}
+
+	/**
+	 * @return the maximum number of models which can be animated when marking all models
+	 */
+	public int getMarkAllAnimationLimit() {
+		return controller.getMarkAllAnimationLimit();
+	}
+
+	/**
+	 * Sets the maximum time to spend starting animations in a single frame when {@link
+	 * #setAllMarked(boolean, boolean)} is called. Once the budget is exceeded, the remaining
+	 * models are changed without animations. The default is 8 milliseconds.
+	 *
+	 * @param budgetMs
+	 * 		the budget, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code budgetMs} is less than 0
+	 */
+	public void setMarkAllFrameBudgetMs(final int budgetMs) {
+		controller.setMarkAllFrameBudgetMs(budgetMs);
+	}
+
+	/**
+	 * @return the maximum time to spend starting animations in a single frame when marking all
+	 * models, measured in milliseconds
+	 */
+	public int getMarkAllFrameBudgetMs() {
+		return controller.getMarkAllFrameBudgetMs();
+	}
+
+	/**
+	 * Enables/disables animations when answer views are selected/deselected.
+	 *
+	 * @param enable
+	 * 		true to enable animations, false to disable them
+	 */
+	public void enableSelectionAnimations(final boolean enable) {
+		controller.enableSelectionAnimations(enable);
+	}
+
+	/**
+	 * Whether or not animations are enabled when views are selected/deselected
+	 *
+	 * @return true if animations are enabled, false otherwise
+	 */
+	public boolean selectionAnimationsAreEnabled() {
+		return controller.selectionAnimationsAreEnabled();
+	}
+
+	/**
+	 * Returns the clock which drives the animations of the cards in this group. Every {@link
+	 * DecoratableCard} created by this group is given this clock, so that the cards share a single
+	 * frame callback when they animate at the same time.
+	 *
+	 * @return the animation clock, not null
+	 */
+	public AnimationClock getAnimationClock() {
+		return animationClock;
+	}
+
+	@Override
+	public void addAnswers(final Collection<? extends AnswerView> answers) {
+		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
+
+		final int insertionPosition = controller.size();
+
+		for (final AnswerView answer : answers) {
+			controller.add(answer);
+
+			if (answer instanceof VirtualAnswerView) {
+				((VirtualAnswerView) answer).setGroup(this);
+			}
+
+			controller.recordStatus(answer);
+		}
+
+		adapter.notifyItemRangeInserted(insertionPosition, answers.size());
+	}
+
+	@Override
+	public void addAnswer(final AnswerView answer) {
+		NullChecker.checkNotNull(answer, "answer cannot be null.");
+
+		final List<AnswerView> answers = new ArrayList<>();
+		answers.add(answer);
+
+		addAnswers(answers);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method takes linear time, since the models after the removed model must be moved and
+	 * re-indexed. Use {@link #clearAnswers()} to remove all models at once.
+	 */
+	@Override
+	public void removeAnswer(final AnswerView answer) {
+		NullChecker.checkNotNull(answer, "answer cannot be null.");
+
+		final int position = controller.remove(answer);
+
+		if (position != -1) {
+			detachModel(answer);
+			adapter.notifyItemRemoved(position);
+		}
+	}
+
+	@Override
+	public void clearAnswers() {
+		for (int i = 0; i < controller.size(); i++) {
+			detachModel(controller.get(i));
+		}
+
+		controller.clear();
+
+		adapter.notifyDataSetChanged();
+	}
+
+	@Override
+	public List<AnswerView> getAnswers() {
+		return controller.getAnswers();
+	}
+
+	/**
+	 * Finds the position of an answer in this group, in constant time.
+	 *
+	 * @param answer
+	 * 		the answer to find, may be null
+	 * @return the position of the answer, or -1 if it is not contained in this group
+	 */
+	public int indexOfAnswer(final AnswerView answer) {
+		return controller.indexOf(answer);
+	}
+
+	@Override
+	public void allowSelectionChangesWhenMarked(final boolean allow) {
+		controller.allowSelectionChangesWhenMarked(allow);
+	}
+
+	@Override
+	public boolean selectionChangesAreAllowedWhenMarked() {
+		return controller.selectionChangesAreAllowedWhenMarked();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * All cards are also rebound, so that changes made externally to models other than {@link
+	 * VirtualAnswerView}s are displayed.
+	 */
+	@Override
+	public void declareExternalViewSelectionChanges() {
+		controller.recordAllStatuses();
+		adapter.notifyDataSetChanged();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method never needs to be called for {@link VirtualAnswerView}s, since they declare their
+	 * own changes. For other models, the card bound to the model is also rebound.
+	 */
+	@Override
+	public void declareExternalViewSelectionChange(final AnswerView answer) {
+		NullChecker.checkNotNull(answer, "answer cannot be null.");
+
+		final int position = indexOfAnswer(answer);
+
+		if (position != -1) {
+			staggeredMarker.finish();
+			controller.recordStatus(answer);
+			adapter.notifyItemChanged(position, INSTANT_UPDATE);
+		}
+	}
+
+	@Override
+	public void selectAnswers(final Collection<? extends AnswerView> answers) {
+		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
+
+		controller.selectAnswers(answers);
+	}
+
+	@Override
+	public void deselectAnswers(final Collection<? extends AnswerView> answers) {
+		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
+
+		controller.deselectAnswers(answers);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The marked status of each model is recorded immediately, however each model is only changed
+	 * when its animation starts. The animations are staggered by {@link #getMarkAllStaggerMs()},
+	 * and are skipped if more than {@link #getMarkAllAnimationLimit()} models need to change, or
+	 * if starting them exceeds {@link #getMarkAllFrameBudgetMs()} in any frame. Models which are
+	 * waiting for their animations are changed immediately if any other method of this group
+	 * needs their status, or if the group is detached from the window.
+	 */
+	@Override
+	public void setAllMarked(final boolean marked, final boolean animate) {
+		controller.setAllMarked(marked, animate);
+	}
+
+	@Override
+	public void registerListener(final Listener listener) {
+		controller.registerListener(listener);
+	}
+
+	@Override
+	public void unregisterListener(final Listener listener) {
+		controller.unregisterListener(listener);
+	}
+
+	/**
+	 * Called by a contained {@link VirtualAnswerView} whenever it changes. The status of the view
+	 * is recorded and the card bound to the view (if any) is updated to reflect the change.
+	 *
+	 * @param answer
+	 * 		the view which changed, not null
+	 * @param animate
+	 * 		whether or not the change should be animated
+	 */
+	void onAnswerChanged(final VirtualAnswerView answer, final boolean animate) {
+		if (applyingMarkedStatus) {
+			return;
+		}
+
+		final int position = indexOfAnswer(answer);
+
+		if (position != -1) {
+			staggeredMarker.finish();
+
+			// Changes made by this group are already recorded, so this only affects external changes
+			controller.recordStatus(answer);
+			adapter.notifyItemChanged(position, animate ? ANIMATED_UPDATE : INSTANT_UPDATE);
+		}
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		staggeredMarker.finish();
+		super.onDetachedFromWindow();
+	}
+
+	/**
+	 * Common initializer method for this view. This method should only be called from a
+	 * constructor.
+	 */
+	private void init() {
+		setLayoutManager(new LinearLayoutManager(getContext()));
+		setAdapter(adapter);
+
+		// Cards animate their own changes, so the default cross-fade would only interfere
+		((SimpleItemAnimator) getItemAnimator()).setSupportsChangeAnimations(false);
+	}
+
+	/**
+	 * Disconnects a model from this group so that future changes are not reported.
+	 *
+	 * @param answer
+	 * 		the model to disconnect, not null
+	 */
+	private void detachModel(final AnswerView answer) {
+		if (answer instanceof VirtualAnswerView
+				&& ((VirtualAnswerView) answer).getGroup() == this) {
+			((VirtualAnswerView) answer).setGroup(null);
+		}
+	}
+
+	/**
+	 * Holds a single recycled card.
+	 */
+	private static class CardHolder extends ViewHolder {
+		/**
+		 * The card held by this holder.
+		 */
+		private final AnswerView card;
+
+		/**
+		 * Constructs a new CardHolder.
+		 *
+		 * @param card
+		 * 		the card to hold, must be a View, not null
+		 */
+		private CardHolder(final AnswerView card) {
+			super((View) card);
+			this.card = card;
+		}
+	}
+
+	/**
+	 * Binds the models of this group to recycled cards.
+	 */
+	private class AnswerAdapter extends Adapter<CardHolder> {
+		@Override
+		public CardHolder onCreateViewHolder(final ViewGroup parent, final int viewType) {
+			final AnswerView card = cardFactory.createCard(getContext());
+
+			((View) card).setLayoutParams(new LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+			((View) card).setOnClickListener(cardClickListener);
+
+			if (card instanceof DecoratableCard) {
+				((DecoratableCard) card).setAnimationClock(animationClock);
+			}
+
+			return new CardHolder(card);
+		}
+
+		@Override
+		public void onBindViewHolder(final CardHolder holder, final int position) {
+			final AnswerView model = controller.get(position);
+
+			holder.card.setIdentifier(model.getIdentifier(), false);
+			holder.card.setAnswer(model.getAnswer(), false);
+			holder.card.setStatus(model.isMarked(), model.isSelected(), false);
+		}
+
+		@Override
+		public void onBindViewHolder(final CardHolder holder, final int position,
+				final List<Object> payloads) {
+			if (payloads.isEmpty()) {
+				onBindViewHolder(holder, position);
+			} else {
+				final AnswerView model = controller.get(position);
+				final boolean animate = payloads.contains(ANIMATED_UPDATE);
+
+				// Only touch the text if it changed, to avoid needless text animations
+				if (holder.card.getIdentifier() != model.getIdentifier()) {
+					holder.card.setIdentifier(model.getIdentifier(), animate);
+				}
+
+				if (holder.card.getAnswer() != model.getAnswer()) {
+					holder.card.setAnswer(model.getAnswer(), animate);
+				}
+
+				holder.card.setStatus(model.isMarked(), model.isSelected(), animate);
+			}
+		}
+
+		@Override
+		public int getItemCount() {
+			return controller.size();
+		}
+	}
+}
\ No newline at end of file
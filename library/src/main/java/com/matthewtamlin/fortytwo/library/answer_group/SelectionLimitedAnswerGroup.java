@@ -18,69 +18,157 @@ package com.matthewtamlin.fortytwo.library.answer_group;
 
 import android.annotation.TargetApi;
 import android.content.Context;
+import android.os.Bundle;
 import android.support.annotation.RequiresApi;
+import android.support.v4.view.AccessibilityDelegateCompat;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.accessibility.AccessibilityEvent;
 import android.widget.LinearLayout;
 
 import com.matthewtamlin.android_utilities.library.testing.Tested;
-import com.matthewtamlin.java_utilities.checkers.IntChecker;
 import com.matthewtamlin.java_utilities.checkers.NullChecker;
+import com.matthewtamlin.fortytwo.library.answer_view.AnimationClock;
 import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
-import com.matthewtamlin.fortytwo.library.util.EvictingStackSet;
-import com.matthewtamlin.fortytwo.library.util.EvictingStackSet.EvictionListener;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratableCard;
+import com.matthewtamlin.fortytwo.library.answer_view.FlatAnswerCard;
+import com.matthewtamlin.fortytwo.library.answer_view.TextPrecomputer;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * An AnswerGroup which limits the number of view which can be selected at any given time. The limit
  * can be set at any time, and is automatically enforced when views are clicked. If the limit has
- * been reached and a view is clicked, the view which was least recently selected will be deselected
- * to allow for the newly selected view.
+ * been reached and a view is clicked, the {@link LimitPolicy} of the group decides what happens. By
+ * default the view which was least recently selected is deselected to allow for the newly selected
+ * view, and {@link LimitPolicies} provides the other standard policies.
+ * <p>
+ * The selection state is held in a {@link SelectionModel}, so clicks and single view declarations
+ * are handled in constant time regardless of the number of answers. The answers are also indexed
+ * by identity, so membership and position queries take constant time. Removing an answer takes
+ * linear time, since the answers after it must be moved and re-indexed.
  */
 @Tested(testMethod = "automated", requiresInstrumentation = true)
 public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerGroup {
 	/**
-	 * The listeners which have registered for callbacks.
+	 * Receives clicks from every answer and resolves the clicked answer using the index.
 	 */
-	private final Set<Listener> listeners = new HashSet<>();
+	private final OnClickListener answerClickListener = new OnClickListener() {
+		@Override
+		public void onClick(final View v) {
+			final int position = controller.indexOf(v);
+
+			if (position != -1) {
+				controller.handleClick(controller.get(position));
+			}
+		}
+	};
 
 	/**
-	 * All answers which are currently displayed in this group.
+	 * Allows accessibility services to click answers when touch dispatch is enabled, since the
+	 * answers have no click listeners in that mode. A single delegate is shared by every answer.
 	 */
-	private final List<AnswerView> allAnswers = new ArrayList<>();
+	private final AccessibilityDelegateCompat answerAccessibilityDelegate =
+			new AccessibilityDelegateCompat() {
+				@Override
+				public void onInitializeAccessibilityNodeInfo(final View host,
+						final AccessibilityNodeInfoCompat info) {
+					super.onInitializeAccessibilityNodeInfo(host, info);
+
+					info.setClickable(true);
+					info.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+				}
+
+				@Override
+				public boolean performAccessibilityAction(final View host, final int action,
+						final Bundle args) {
+					final int position = controller.indexOf(host);
+
+					if (action == AccessibilityNodeInfoCompat.ACTION_CLICK && position != -1) {
+						controller.handleClick(controller.get(position));
+						host.sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_CLICKED);
+
+						return true;
+					}
+
+					return super.performAccessibilityAction(host, action, args);
+				}
+			};
 
 	/**
-	 * All answers which are currently displayed and selected. The size of the stack enforces the
-	 * selection limit.
+	 * Whether or not this group detects taps on the answers itself, rather than using click
+	 * listeners.
 	 */
-	private final EvictingStackSet<AnswerView> selectedViews = new EvictingStackSet<>(1);
+	private boolean touchDispatchEnabled = false;
 
 	/**
-	 * Listens to eviction callbacks from the {@code selectedViews} and selects the evicted view.
+	 * The distance a touch can move before it is no longer considered a tap, measured in pixels.
 	 */
-	private final EvictionListener<AnswerView> evictionListener =
-			new EvictionListener<AnswerView>() {
-				@Override
-				public void onEviction(final EvictingStackSet<AnswerView> evictingStackSet,
-						final AnswerView evicted) {
-					deselectView(evicted);
-				}
-			};
+	private int touchSlop;
+
+	/**
+	 * The answer which received the current touch gesture, null if there is no gesture or it is
+	 * no longer a tap.
+	 */
+	private AnswerView touchedAnswer;
+
+	/**
+	 * The x coordinate at which the current touch gesture started, relative to this group.
+	 */
+	private float touchDownX;
 
 	/**
-	 * Whether or not the selection status of marked views can be changed.
+	 * The y coordinate at which the current touch gesture started, relative to this group.
 	 */
-	private boolean allowSelectionChangesWhenMarked = false;
+	private float touchDownY;
 
 	/**
-	 * Whether or not animations should be shown when selecting and deselecting views.
+	 * Drives the animations of every contained card, so that cards which animate at the same time
+	 * share a single frame callback.
 	 */
-	private boolean selectionAnimationsEnabled = true;
+	private final AnimationClock animationClock = new AnimationClock();
+
+	/**
+	 * Lays out the answer text of added cards on a background thread, null if not used.
+	 */
+	private TextPrecomputer textPrecomputer;
+
+	/**
+	 * Applies the changes made by {@link #setAllMarked(boolean, boolean)}, staggering the
+	 * animations if necessary.
+	 */
+	private final StaggeredMarker staggeredMarker = new StaggeredMarker(this,
+			new StaggeredMarker.Target() {
+				@Override
+				public void applyMarkedStatus(final AnswerView answer, final boolean marked,
+						final boolean animate) {
+					answer.setMarkedStatus(marked, animate);
+				}
+
+				@Override
+				public void onInstantUpdatesApplied() {
+					// Each view displays its own changes
+				}
+			});
+
+	/**
+	 * Holds the answers of this group and applies the selection rules to them.
+	 */
+	private final AnswerGroupController controller = new AnswerGroupController(this,
+			new AnswerGroupController.Host() {
+				@Override
+				public void applySelectedStatus(final AnswerView answer, final boolean selected,
+						final boolean animate) {
+					answer.setSelectedStatus(selected, animate);
+				}
+			}, staggeredMarker);
 
 	/**
 	 * Constructs a new SelectionLimitAnswerGroup. The selection limit is initially set to 1.
@@ -144,17 +232,18 @@ public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerG
 
 	/**
 	 * Sets the number of answer views which can be selected at any time. If the new limit is less
-	 * than the current number of selected views, the least recently selected views are deselected
-	 * so that the number of selected views equals the limit.
+	 * than the current number of selected views, views chosen by the limit policy are deselected so
+	 * that the number of selected views equals the limit.
 	 *
 	 * @param limit
 	 * 		the new limit, greater than zero
 	 * @throws IllegalArgumentException
 	 * 		if {@code limit} is less than 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than the minimum selection count
 	 */
 	public void setMultipleSelectionLimit(final int limit) {
-		IntChecker.checkGreaterThan(limit, 0, "limit cannot be less than 1.");
-		selectedViews.setMaxSize(limit);
+		controller.setLimit(limit);
 	}
 
 	/**
@@ -164,7 +253,7 @@ public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerG
 	 * 		true to enable animations, false to disable them
 	 */
 	public void enableSelectionAnimations(final boolean enable) {
-		selectionAnimationsEnabled = enable;
+		controller.enableSelectionAnimations(enable);
 	}
 
 	/**
@@ -173,35 +262,214 @@ public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerG
 	 * @return true if animations are enabled, false otherwise
 	 */
 	public boolean selectionAnimationsAreEnabled() {
-		return selectionAnimationsEnabled;
+		return controller.selectionAnimationsAreEnabled();
+	}
+
+	/**
+	 * Returns the clock which drives the animations of the cards in this group. Every {@link
+	 * DecoratableCard} added to this group is given this clock, so that the cards share a single
+	 * frame callback when they animate at the same time.
+	 *
+	 * @return the animation clock, not null
+	 */
+	public AnimationClock getAnimationClock() {
+		return animationClock;
+	}
+
+	/**
+	 * Enables background layout of answer text. Each {@link FlatAnswerCard} subsequently added to
+	 * this group is given the supplied precomputer, and its answer text is laid out in the
+	 * background at the expected width of the card. Cards added before this method is called are
+	 * not affected. Background layout is disabled by default.
+	 *
+	 * @param textPrecomputer
+	 * 		the text precomputer to use, null to disable background layout
+	 */
+	public void setTextPrecomputer(final TextPrecomputer textPrecomputer) {
+		this.textPrecomputer = textPrecomputer;
+	}
+
+	/**
+	 * @return the current text precomputer, null if background layout is disabled
+	 */
+	public TextPrecomputer getTextPrecomputer() {
+		return textPrecomputer;
+	}
+
+	/**
+	 * Enables/disables touch dispatch. When enabled, this group intercepts touches on the answers
+	 * and detects taps itself, so the answers need no click listeners. The touched answer is still
+	 * shown as pressed, and accessibility services can still click the answers. Answers cannot be
+	 * clicked using a keyboard in this mode. Touch dispatch is disabled by default.
+	 *
+	 * @param enable
+	 * 		true to enable touch dispatch, false to use click listeners
+	 */
+	public void enableTouchDispatch(final boolean enable) {
+		if (enable != touchDispatchEnabled) {
+			cancelTap();
+
+			for (int i = 0; i < controller.size(); i++) {
+				detachClickHandling((View) controller.get(i));
+			}
+
+			touchDispatchEnabled = enable;
+
+			for (int i = 0; i < controller.size(); i++) {
+				attachClickHandling((View) controller.get(i));
+			}
+		}
+	}
+
+	/**
+	 * @return true if touch dispatch is enabled, false otherwise
+	 */
+	public boolean touchDispatchIsEnabled() {
+		return touchDispatchEnabled;
 	}
 
 	/**
 	 * @return the current selection limit of this group
 	 */
 	public int getMultipleSelectionLimit() {
-		return selectedViews.getMaxSize();
+		return controller.getLimit();
+	}
+
+	/**
+	 * Sets the policy which decides what happens when selecting an answer would exceed the
+	 * selection limit. The default policy deselects the least recently selected answer. See {@link
+	 * LimitPolicies} for the standard policies.
+	 *
+	 * @param limitPolicy
+	 * 		the new policy, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code limitPolicy} is null
+	 */
+	public void setLimitPolicy(final LimitPolicy<AnswerView> limitPolicy) {
+		controller.setLimitPolicy(limitPolicy);
+	}
+
+	/**
+	 * @return the policy which decides what happens when selecting an answer would exceed the
+	 * selection limit, not null
+	 */
+	public LimitPolicy<AnswerView> getLimitPolicy() {
+		return controller.getLimitPolicy();
+	}
+
+	/**
+	 * Sets the minimum number of answers which must remain selected. Once this many answers are
+	 * selected, clicking a selected answer does not deselect it, however selecting another answer
+	 * can still deselect it if the selection limit is reached. The default is 0.
+	 *
+	 * @param minimum
+	 * 		the minimum, at least 0 and not more than the selection limit
+	 * @throws IllegalArgumentException
+	 * 		if {@code minimum} is less than 0 or greater than the selection limit
+	 */
+	public void setMinimumSelectionCount(final int minimum) {
+		controller.setMinimumSelectionCount(minimum);
+	}
+
+	/**
+	 * @return the minimum number of answers which must remain selected
+	 */
+	public int getMinimumSelectionCount() {
+		return controller.getMinimumSelectionCount();
+	}
+
+	/**
+	 * @return true if at least the minimum number of answers are selected, false otherwise
+	 */
+	public boolean hasMinimumSelection() {
+		return controller.hasMinimumSelection();
+	}
+
+	/**
+	 * Sets the interval between the starts of consecutive animations when {@link
+	 * #setAllMarked(boolean, boolean)} is called. The default is 0, which starts all animations in
+	 * the same frame.
+	 *
+	 * @param staggerMs
+	 * 		the interval, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code staggerMs} is less than 0
+	 */
+	public void setMarkAllStaggerMs(final int staggerMs) {
+		controller.setMarkAllStaggerMs(staggerMs);
+	}
+
+	/**
+	 * @return the interval between the starts of consecutive animations when marking all views,
+	 * measured in milliseconds
+	 */
+	public int getMarkAllStaggerMs() {
+		return controller.getMarkAllStaggerMs();
+	}
+
+	/**
+	 * Sets the maximum number of views which can be animated by a single call to {@link
+	 * #setAllMarked(boolean, boolean)}. If more views need to change, they are all changed
+	 * without animations. The default is 50.
+	 *
+	 * @param limit
+	 * 		the maximum number of views to animate, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code limit} is less than 0
+	 */
+	public void setMarkAllAnimationLimit(final int limit) {
+		controller.setMarkAllAnimationLimit(limit);
+	}
+
+	/**
+	 * @return the maximum number of views which can be animated when marking all views
+	 */
+	public int getMarkAllAnimationLimit() {
+		return controller.getMarkAllAnimationLimit();
+	}
+
+	/**
+	 * Sets the maximum time to spend starting animations in a single frame when {@link
+	 * #setAllMarked(boolean, boolean)} is called. Once the budget is exceeded, the remaining views
+	 * are changed without animations. The default is 8 milliseconds.
+	 *
+	 * @param budgetMs
+	 * 		the budget, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code budgetMs} is less than 0
+	 */
+	public void setMarkAllFrameBudgetMs(final int budgetMs) {
+		controller.setMarkAllFrameBudgetMs(budgetMs);
+	}
+
+	/**
+	 * @return the maximum time to spend starting animations in a single frame when marking all
+	 * views, measured in milliseconds
+	 */
+	public int getMarkAllFrameBudgetMs() {
+		return controller.getMarkAllFrameBudgetMs();
 	}
 
 	@Override
 	public void addAnswers(final Collection<? extends AnswerView> answers) {
 		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
 
-		allAnswers.addAll(answers);
-
 		for (final AnswerView answer : answers) {
+			controller.add(answer);
+
 			addView((View) answer);
 
-			((View) answer).setOnClickListener(new View.OnClickListener() {
-				@Override
-				public void onClick(final View v) {
-					handleClick(answer);
-				}
-			});
+			if (answer instanceof DecoratableCard) {
+				((DecoratableCard) answer).setAnimationClock(animationClock);
+			}
 
-			if (answer.isSelected()) {
-				selectedViews.add(answer);
+			if (textPrecomputer != null && answer instanceof FlatAnswerCard) {
+				((FlatAnswerCard) answer).setTextPrecomputer(textPrecomputer);
+				((FlatAnswerCard) answer).precomputeText(getExpectedCardWidth());
 			}
+
+			attachClickHandling((View) answer);
+			controller.recordStatus(answer);
 		}
 	}
 
@@ -215,63 +483,234 @@ public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerG
 		addAnswers(answers);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method takes linear time, since the answers after the removed answer must be moved and
+	 * re-indexed. Use {@link #clearAnswers()} to remove all answers at once.
+	 */
 	@Override
 	public void removeAnswer(final AnswerView answer) {
 		NullChecker.checkNotNull(answer, "answer cannot be null.");
 
-		allAnswers.remove(answer);
-		selectedViews.remove(answer);
+		final int position = controller.remove(answer);
+
+		if (position != -1) {
+			// The position is also the child index, unless other views have been added
+			if (getChildAt(position) == answer) {
+				removeViewAt(position);
+			} else {
+				removeView((View) answer);
+			}
 
-		removeView((View) answer);
-		((View) answer).setOnClickListener(null);
+			detachClickHandling((View) answer);
+		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the group contains no views other than the answers, all views are detached in a single
+	 * pass.
+	 */
 	@Override
 	public void clearAnswers() {
-		// Use a copy to avoid concurrent modification exceptions when removeAnswer is called
-		final List<AnswerView> allAnswersCopy = new ArrayList<>(allAnswers);
+		for (int i = 0; i < controller.size(); i++) {
+			detachClickHandling((View) controller.get(i));
+		}
 
-		for (final AnswerView answer : allAnswersCopy) {
-			removeAnswer(answer);
+		if (getChildCount() == controller.size()) {
+			removeAllViews();
+		} else {
+			for (int i = 0; i < controller.size(); i++) {
+				removeView((View) controller.get(i));
+			}
 		}
+
+		controller.clear();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The returned list is a copy, so it is not affected by future changes to this group. Use
+	 * {@link #getAnswersView()} to avoid the copy.
+	 */
 	@Override
 	public List<AnswerView> getAnswers() {
-		return new ArrayList<>(allAnswers);
+		return controller.getAnswers();
+	}
+
+	/**
+	 * Returns a read-only view of the answers in this group, in display order. The view reflects
+	 * all future changes to this group, so it must not be iterated while answers are added or
+	 * removed. The same instance is returned by every call.
+	 *
+	 * @return the answers, not null
+	 */
+	public List<AnswerView> getAnswersView() {
+		return controller.getAnswersView();
+	}
+
+	/**
+	 * Determines whether an answer is contained in this group, in constant time.
+	 *
+	 * @param answer
+	 * 		the answer to check, may be null
+	 * @return true if the answer is contained in this group, false otherwise
+	 */
+	public boolean containsAnswer(final AnswerView answer) {
+		return controller.contains(answer);
+	}
+
+	/**
+	 * Finds the position of an answer in this group, in constant time.
+	 *
+	 * @param answer
+	 * 		the answer to find, may be null
+	 * @return the position of the answer, or -1 if it is not contained in this group
+	 */
+	public int indexOfAnswer(final AnswerView answer) {
+		return controller.indexOf(answer);
 	}
 
 	@Override
 	public void allowSelectionChangesWhenMarked(final boolean allow) {
-		allowSelectionChangesWhenMarked = allow;
+		controller.allowSelectionChangesWhenMarked(allow);
 	}
 
 	@Override
 	public boolean selectionChangesAreAllowedWhenMarked() {
-		return allowSelectionChangesWhenMarked;
+		return controller.selectionChangesAreAllowedWhenMarked();
 	}
 
 	@Override
 	public void declareExternalViewSelectionChanges() {
-		selectedViews.clear();
+		controller.recordAllStatuses();
+	}
 
-		for (final AnswerView answer : allAnswers) {
-			if (answer.isSelected()) {
-				selectedViews.add(answer);
-			}
+	@Override
+	public void declareExternalViewSelectionChange(final AnswerView answer) {
+		NullChecker.checkNotNull(answer, "answer cannot be null.");
+
+		if (containsAnswer(answer)) {
+			staggeredMarker.finish();
+			controller.recordStatus(answer);
 		}
 	}
 
+	@Override
+	public void selectAnswers(final Collection<? extends AnswerView> answers) {
+		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
+
+		controller.selectAnswers(answers);
+	}
+
+	@Override
+	public void deselectAnswers(final Collection<? extends AnswerView> answers) {
+		NullChecker.checkEachElementIsNotNull(answers, "answers cannot be null or contain null.");
+
+		controller.deselectAnswers(answers);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The marked status of each view is recorded immediately, however each view is only changed
+	 * when its animation starts. The animations are staggered by {@link #getMarkAllStaggerMs()},
+	 * and are skipped if more than {@link #getMarkAllAnimationLimit()} views need to change, or
+	 * if starting them exceeds {@link #getMarkAllFrameBudgetMs()} in any frame. Views which are
+	 * waiting for their animations are changed immediately if any other method of this group
+	 * needs their status, or if the group is detached from the window.
+	 */
+	@Override
+	public void setAllMarked(final boolean marked, final boolean animate) {
+		controller.setAllMarked(marked, animate);
+	}
+
 	@Override
 	public void registerListener(final Listener listener) {
-		if (listener != null) {
-			listeners.add(listener);
-		}
+		controller.registerListener(listener);
 	}
 
 	@Override
 	public void unregisterListener(final Listener listener) {
-		listeners.remove(listener);
+		controller.unregisterListener(listener);
+	}
+
+	@Override
+	public boolean onInterceptTouchEvent(final MotionEvent event) {
+		if (touchDispatchEnabled && event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+			touchedAnswer = findAnswerAt(event.getX(), event.getY());
+
+			if (touchedAnswer != null) {
+				touchDownX = event.getX();
+				touchDownY = event.getY();
+				((View) touchedAnswer).setPressed(true);
+
+				// Receive the rest of the gesture in onTouchEvent
+				return true;
+			}
+		}
+
+		return super.onInterceptTouchEvent(event);
+	}
+
+	@Override
+	public boolean onTouchEvent(final MotionEvent event) {
+		if (!touchDispatchEnabled || touchedAnswer == null) {
+			return super.onTouchEvent(event);
+		}
+
+		switch (event.getActionMasked()) {
+			case MotionEvent.ACTION_MOVE: {
+				if (Math.abs(event.getX() - touchDownX) > touchSlop ||
+						Math.abs(event.getY() - touchDownY) > touchSlop) {
+					cancelTap();
+				}
+
+				break;
+			}
+
+			case MotionEvent.ACTION_UP: {
+				final AnswerView tappedAnswer = touchedAnswer;
+				cancelTap();
+
+				// The answer may have been removed during the gesture
+				if (containsAnswer(tappedAnswer)) {
+					((View) tappedAnswer).playSoundEffect(SoundEffectConstants.CLICK);
+					controller.handleClick(tappedAnswer);
+				}
+
+				break;
+			}
+
+			case MotionEvent.ACTION_CANCEL: {
+				cancelTap();
+				break;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		staggeredMarker.finish();
+		super.onDetachedFromWindow();
+	}
+
+	/**
+	 * Estimates the width of the answer cards. If this group has not been laid out yet, the width
+	 * of the display is used.
+	 *
+	 * @return the expected width of the cards, measured in pixels
+	 */
+	private int getExpectedCardWidth() {
+		final int groupWidth = getWidth() > 0 ? getWidth() :
+				getResources().getDisplayMetrics().widthPixels;
+
+		return groupWidth - getPaddingLeft() - getPaddingRight();
 	}
 
 	/**
@@ -281,63 +720,74 @@ public class SelectionLimitedAnswerGroup extends LinearLayout implements AnswerG
 	private void init() {
 		setOrientation(VERTICAL);
 
-		selectedViews.registerListener(evictionListener);
+		touchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
 	}
 
 	/**
-	 * Handles clicks on answer views contained within this group.
+	 * Prepares a newly added answer to report clicks to this group, according to the current
+	 * touch dispatch mode.
 	 *
-	 * @param clickedView
-	 * 		the answer view which was clicked, not null
+	 * @param answer
+	 * 		the answer to prepare, not null
 	 */
-	private void handleClick(final AnswerView clickedView) {
-		boolean allowSelectionChange = !(clickedView.isMarked()
-				&& !allowSelectionChangesWhenMarked);
-
-		if (allowSelectionChange) {
-			if (clickedView.isSelected()) {
-				deselectView(clickedView);
-			} else {
-				selectView(clickedView);
-			}
+	private void attachClickHandling(final View answer) {
+		if (touchDispatchEnabled) {
+			ViewCompat.setAccessibilityDelegate(answer, answerAccessibilityDelegate);
+		} else {
+			answer.setOnClickListener(answerClickListener);
 		}
 	}
 
 	/**
-	 * Deselects the supplied view and calls any registered listeners. Calling this method with a
-	 * view which is already deselected causes the method to exit immediately.
+	 * Stops an answer from reporting clicks to this group, according to the current touch
+	 * dispatch mode.
 	 *
-	 * @param answerView
-	 * 		the view to deselect, not null
+	 * @param answer
+	 * 		the answer to stop, not null
 	 */
-	private void deselectView(final AnswerView answerView) {
-		if (answerView.isSelected()) {
-			answerView.setSelectedStatus(false, selectionAnimationsEnabled);
-
-			selectedViews.remove(answerView);
-
-			for (final Listener listener : listeners) {
-				listener.onAnswerDeselected(this, answerView);
-			}
+	private void detachClickHandling(final View answer) {
+		if (touchDispatchEnabled) {
+			ViewCompat.setAccessibilityDelegate(answer, null);
+		} else {
+			answer.setOnClickListener(null);
 		}
 	}
 
 	/**
-	 * Selects the supplied view and calls any registered listeners. Calling this method with a view
-	 * which is already selected causes the method to exit immediately.
+	 * Finds the answer at the supplied point. Answers which are not visible are ignored.
 	 *
-	 * @param answerView
-	 * 		the view to select, not null
+	 * @param x
+	 * 		the x coordinate of the point, relative to this group
+	 * @param y
+	 * 		the y coordinate of the point, relative to this group
+	 * @return the answer at the point, or null if there is none
 	 */
-	private void selectView(final AnswerView answerView) {
-		if (!answerView.isSelected()) {
-			answerView.setSelectedStatus(true, selectionAnimationsEnabled);
+	private AnswerView findAnswerAt(final float x, final float y) {
+		final float scrolledX = x + getScrollX();
+		final float scrolledY = y + getScrollY();
+
+		// Search from the top of the drawing order
+		for (int i = getChildCount() - 1; i >= 0; i--) {
+			final View child = getChildAt(i);
+
+			if (child.getVisibility() == VISIBLE &&
+					scrolledX >= child.getLeft() && scrolledX < child.getRight() &&
+					scrolledY >= child.getTop() && scrolledY < child.getBottom()) {
+				final int position = controller.indexOf(child);
+				return position == -1 ? null : controller.get(position);
+			}
+		}
 
-			selectedViews.push(answerView);
+		return null;
+	}
 
-			for (final Listener listener : listeners) {
-				listener.onAnswerSelected(this, answerView);
-			}
+	/**
+	 * Ends the current tap, if any, and clears the pressed state of the touched answer.
+	 */
+	private void cancelTap() {
+		if (touchedAnswer != null) {
+			((View) touchedAnswer).setPressed(false);
+			touchedAnswer = null;
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import android.os.SystemClock;
+import android.view.View;
+
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a marked status to many answers at once, starting the animation of each answer a fixed
+ * interval after the previous one. Animations are abandoned in favour of instant updates when
+ * there are more answers to change than the animation limit, or when starting the animations of
+ * a single frame takes longer than the frame budget. Used by the answer groups to implement {@link
+ * AnswerGroup#setAllMarked(boolean, boolean)}.
+ * <p>
+ * The status of each answer is applied when its animation starts. Until then the answer is
+ * pending, and {@link #finish()} must be called before anything reads or changes the status of a
+ * pending answer. This class must only be used from the UI thread.
+ */
+final class StaggeredMarker implements Runnable {
+	/**
+	 * The default interval between the starts of consecutive animations, measured in
+	 * milliseconds.
+	 */
+	static final int DEFAULT_STAGGER_MS = 0;
+
+	/**
+	 * The default maximum number of answers which can be animated by a single call.
+	 */
+	static final int DEFAULT_ANIMATION_LIMIT = 50;
+
+	/**
+	 * The default maximum time to spend starting animations in a single frame, measured in
+	 * milliseconds.
+	 */
+	static final int DEFAULT_FRAME_BUDGET_MS = 8;
+
+	/**
+	 * The view used to schedule the staggered animations.
+	 */
+	private final View host;
+
+	/**
+	 * Applies the status to each answer.
+	 */
+	private final Target target;
+
+	/**
+	 * The answers being changed by the current call, in the order their animations start.
+	 */
+	private final List<AnswerView> pendingAnswers = new ArrayList<>();
+
+	/**
+	 * The index of the next answer in {@code pendingAnswers} to change.
+	 */
+	private int nextIndex = 0;
+
+	/**
+	 * The marked status being applied by the current call.
+	 */
+	private boolean pendingMarked = false;
+
+	/**
+	 * The uptime at which the current call started, measured in milliseconds.
+	 */
+	private long startTimeMs = 0;
+
+	/**
+	 * Whether or not this runnable is currently posted to the host.
+	 */
+	private boolean posted = false;
+
+	/**
+	 * The interval between the starts of consecutive animations, measured in milliseconds.
+	 */
+	private int staggerMs = DEFAULT_STAGGER_MS;
+
+	/**
+	 * The maximum number of answers which can be animated by a single call.
+	 */
+	private int animationLimit = DEFAULT_ANIMATION_LIMIT;
+
+	/**
+	 * The maximum time to spend starting animations in a single frame, measured in milliseconds.
+	 */
+	private int frameBudgetMs = DEFAULT_FRAME_BUDGET_MS;
+
+	/**
+	 * Constructs a new StaggeredMarker.
+	 *
+	 * @param host
+	 * 		the view used to schedule the staggered animations, not null
+	 * @param target
+	 * 		applies the status to each answer, not null
+	 */
+	StaggeredMarker(final View host, final Target target) {
+		this.host = host;
+		this.target = target;
+	}
+
+	/**
+	 * Sets the marked status of the supplied answers. Answers which already have the status are
+	 * ignored. Any answers still pending from a previous call are discarded, since they are either
+	 * changed again by this call or already have the new status.
+	 *
+	 * @param answers
+	 * 		the answers to change, not null, not containing null
+	 * @param marked
+	 * 		the new marked status
+	 * @param animate
+	 * 		whether or not the changes should be animated, where possible
+	 */
+	void markAll(final List<AnswerView> answers, final boolean marked, final boolean animate) {
+		if (posted) {
+			host.removeCallbacks(this);
+			posted = false;
+		}
+
+		pendingAnswers.clear();
+		nextIndex = 0;
+
+		for (int i = 0; i < answers.size(); i++) {
+			if (answers.get(i).isMarked() != marked) {
+				pendingAnswers.add(answers.get(i));
+			}
+		}
+
+		pendingMarked = marked;
+
+		if (!animate || pendingAnswers.size() > animationLimit) {
+			applyRemaining(false);
+		} else {
+			startTimeMs = SystemClock.uptimeMillis();
+			run();
+		}
+	}
+
+	/**
+	 * Immediately starts the animations of all pending answers. If there are no pending answers,
+	 * the method exits normally.
+	 */
+	void finish() {
+		if (posted) {
+			host.removeCallbacks(this);
+			posted = false;
+		}
+
+		applyRemaining(true);
+	}
+
+	/**
+	 * @return true if any answers are waiting for their animations to start, false otherwise
+	 */
+	boolean hasPendingAnswers() {
+		return nextIndex < pendingAnswers.size();
+	}
+
+	/**
+	 * Starts the animations of the answers which are due, and schedules the next animation. If
+	 * the frame budget is exceeded, the remaining answers are changed without animations.
+	 */
+	@Override
+	public void run() {
+		posted = false;
+
+		final long frameStartNs = System.nanoTime();
+		final long frameBudgetNs = frameBudgetMs * 1000000L;
+		final long elapsedMs = SystemClock.uptimeMillis() - startTimeMs;
+
+		// Every answer is due immediately if there is no stagger
+		final int dueCount = staggerMs == 0 ? pendingAnswers.size() :
+				(int) Math.min(pendingAnswers.size(), elapsedMs / staggerMs + 1);
+
+		while (nextIndex < dueCount) {
+			target.applyMarkedStatus(pendingAnswers.get(nextIndex++), pendingMarked, true);
+
+			if (System.nanoTime() - frameStartNs > frameBudgetNs) {
+				applyRemaining(false);
+				return;
+			}
+		}
+
+		if (hasPendingAnswers()) {
+			final long nextStartMs = startTimeMs + (long) nextIndex * staggerMs;
+
+			host.postDelayed(this, Math.max(0, nextStartMs - SystemClock.uptimeMillis()));
+			posted = true;
+		} else {
+			pendingAnswers.clear();
+			nextIndex = 0;
+		}
+	}
+
+	/**
+	 * @param staggerMs
+	 * 		the interval between the starts of consecutive animations, measured in milliseconds,
+	 * 		at least 0
+	 */
+	void setStaggerMs(final int staggerMs) {
+		this.staggerMs = staggerMs;
+	}
+
+	/**
+	 * @return the interval between the starts of consecutive animations, measured in milliseconds
+	 */
+	int getStaggerMs() {
+		return staggerMs;
+	}
+
+	/**
+	 * @param animationLimit
+	 * 		the maximum number of answers which can be animated by a single call, at least 0
+	 */
+	void setAnimationLimit(final int animationLimit) {
+		this.animationLimit = animationLimit;
+	}
+
+	/**
+	 * @return the maximum number of answers which can be animated by a single call
+	 */
+	int getAnimationLimit() {
+		return animationLimit;
+	}
+
+	/**
+	 * @param frameBudgetMs
+	 * 		the maximum time to spend starting animations in a single frame, measured in
+	 * 		milliseconds, at least 0
+	 */
+	void setFrameBudgetMs(final int frameBudgetMs) {
+		this.frameBudgetMs = frameBudgetMs;
+	}
+
+	/**
+	 * @return the maximum time to spend starting animations in a single frame, measured in
+	 * milliseconds
+	 */
+	int getFrameBudgetMs() {
+		return frameBudgetMs;
+	}
+
+	/**
+	 * Changes all pending answers and forgets them.
+	 *
+	 * @param animate
+	 * 		whether or not the changes should be animated
+	 */
+	private void applyRemaining(final boolean animate) {
+		final boolean changed = hasPendingAnswers();
+
+		while (nextIndex < pendingAnswers.size()) {
+			target.applyMarkedStatus(pendingAnswers.get(nextIndex++), pendingMarked, animate);
+		}
+
+		pendingAnswers.clear();
+		nextIndex = 0;
+
+		if (changed && !animate) {
+			target.onInstantUpdatesApplied();
+		}
+	}
+
+	/**
+	 * Applies marked statuses on behalf of a StaggeredMarker.
+	 */
+	interface Target {
+		/**
+		 * Sets the marked status of a single answer and ensures the change is displayed.
+		 *
+		 * @param answer
+		 * 		the answer to change, not null
+		 * @param marked
+		 * 		the new marked status
+		 * @param animate
+		 * 		whether or not the change should be animated
+		 */
+		void applyMarkedStatus(AnswerView answer, boolean marked, boolean animate);
+
+		/**
+		 * Invoked after a run of answers has been changed without animations, so that the
+		 * changes can be displayed together.
+		 */
+		void onInstantUpdatesApplied();
+	}
+}
\ No newline at end of file
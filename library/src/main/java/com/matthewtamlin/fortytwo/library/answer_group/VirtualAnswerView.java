@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_group;
+
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer_view.AnswerView;
+
+/**
+ * An AnswerView which is not a View. Instead of drawing itself, a VirtualAnswerView holds the
+ * state of an answer and relies on a {@link RecyclerAnswerGroup} to display it using a recycled
+ * card. Changes made to a VirtualAnswerView while it is contained in a RecyclerAnswerGroup are
+ * automatically displayed by the group.
+ */
+public class VirtualAnswerView implements AnswerView {
+	/**
+	 * The group currently displaying this view, null if there is none.
+	 */
+	private RecyclerAnswerGroup group;
+
+	/**
+	 * Whether or not this view is currently marked.
+	 */
+	private boolean marked = false;
+
+	/**
+	 * Whether or not this view is currently selected.
+	 */
+	private boolean selected = false;
+
+	/**
+	 * The current answer.
+	 */
+	private Answer answer = null;
+
+	/**
+	 * The current identifier.
+	 */
+	private CharSequence identifier = null;
+
+	/**
+	 * Constructs a new VirtualAnswerView with no answer and no identifier. The marked and selected
+	 * statuses are both set to false by default.
+	 */
+	public VirtualAnswerView() {
+		super();
+	}
+
+	/**
+	 * Constructs a new VirtualAnswerView. The marked and selected statuses are both set to false by
+	 * default.
+	 *
+	 * @param answer
+	 * 		the answer to display, may be null
+	 * @param identifier
+	 * 		the identifier to display, may be null
+	 */
+	public VirtualAnswerView(final Answer answer, final CharSequence identifier) {
+		this.answer = answer;
+		this.identifier = identifier;
+	}
+
+	@Override
+	public void setStatus(final boolean marked, final boolean selected, final boolean animate) {
+		this.marked = marked;
+		this.selected = selected;
+
+		notifyGroup(animate);
+	}
+
+	@Override
+	public void setMarkedStatus(final boolean marked, final boolean animate) {
+		setStatus(marked, selected, animate);
+	}
+
+	@Override
+	public void setSelectedStatus(final boolean selected, final boolean animate) {
+		setStatus(marked, selected, animate);
+	}
+
+	@Override
+	public boolean isMarked() {
+		return marked;
+	}
+
+	@Override
+	public boolean isSelected() {
+		return selected;
+	}
+
+	@Override
+	public void setAnswer(final Answer answer, final boolean animate) {
+		this.answer = answer;
+
+		notifyGroup(animate);
+	}
+
+	@Override
+	public Answer getAnswer() {
+		return answer;
+	}
+
+	@Override
+	public void setIdentifier(final CharSequence identifier, final boolean animate) {
+		this.identifier = identifier;
+
+		notifyGroup(animate);
+	}
+
+	@Override
+	public CharSequence getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * Sets the group which displays this view.
+	 *
+	 * @param group
+	 * 		the group, null if this view is no longer displayed
+	 */
+	void setGroup(final RecyclerAnswerGroup group) {
+		this.group = group;
+	}
+
+	/**
+	 * @return the group which displays this view, null if there is none
+	 */
+	RecyclerAnswerGroup getGroup() {
+		return group;
+	}
+
+	/**
+	 * Notifies the group displaying this view (if any) that the view has changed.
+	 *
+	 * @param animate
+	 * 		whether or not the change should be animated
+	 */
+	private void notifyGroup(final boolean animate) {
+		if (group != null) {
+			group.onAnswerChanged(this, animate);
+		}
+	}
+}
\ No newline at end of file
@@ -16,42 +16,49 @@
 
 package com.matthewtamlin.fortytwo.library.answer_view;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewPropertyAnimator;
 
 import com.matthewtamlin.android_utilities.library.testing.Tested;
 import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
 
 import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
 
 /**
  * A {@link Decorator} which changes the transparency of the target answer card. The alpha values
  * are defined by supplying an {@link AlphaDecorator.AlphaSupplier} to the constructor. If
- * animations are enabled, the transparency is transitioned smoothly.
+ * animations are enabled, the transparency is transitioned smoothly using the animation clock of
+ * the card.
+ * <p>
+ * Fading a translucent card normally redraws the card and its shadow offscreen on every frame. To
+ * avoid this, pass true to {@link #enableHardwareLayerAnimations(boolean)}. The card is then faded
+ * using its ViewPropertyAnimator, and is drawn into a hardware layer for the duration of the fade
+ * so that each frame only changes the alpha of the layer. The layer type is restored when the
+ * fade ends. Hardware layer animations require API 16 or higher, and the animation clock is used
+ * on older versions. Since the ViewPropertyAnimator of a view is shared, they should not be used
+ * with cards which are also animated by other code, for example by the item animator of a
+ * RecyclerView.
  */
 @Tested(testMethod = "automated", requiresInstrumentation = true)
-public class AlphaDecorator extends DecoratorAdapter {
+public class AlphaDecorator extends CompositeDecorator {
 	/**
 	 * Supplies the alpha values.
 	 */
 	private final AlphaSupplier alphaSupplier;
 
 	/**
-	 * Indicates whether or not a decoration is currently being applied. This could be an
-	 * instantaneous update on the UI thread, or an asynchronous update using animators.
+	 * Whether or not cards are faded using hardware layers and the ViewPropertyAnimator, rather
+	 * than the animation clock.
 	 */
-	private boolean updateInProgress = false;
+	private boolean hardwareLayerAnimationsEnabled = false;
 
 	/**
-	 * Indicates whether or not an update needs to be performed when possible.
+	 * The card which was last faded using its ViewPropertyAnimator, or null if the fade has been
+	 * cancelled or replaced by the animation clock.
 	 */
-	private boolean updatePending = false;
-
-	/**
-	 * Indicates whether or not the next update should be animated or instantaneous.
-	 */
-	private boolean animateNextUpdate = false;
+	private View layerAnimatedCard;
 
 	/**
 	 * Constructs a new AlphaDecorator.
@@ -62,70 +69,101 @@ public class AlphaDecorator extends DecoratorAdapter {
 	 * 		if {@code alphaSupplier} is null
 	 */
 	public AlphaDecorator(final AlphaSupplier alphaSupplier) {
-		this.alphaSupplier = checkNotNull(alphaSupplier, "alphaSupplier cannot be null.");
+		super(new AlphaProperty(alphaSupplier));
+		this.alphaSupplier = alphaSupplier;
 	}
 
-	@Override
-	public void decorate(final DecoratedAnswerCard cardToDecorate, final boolean animate) {
-		checkNotNull(cardToDecorate, "cardToDecorate cannot be null.");
+	/**
+	 * @return the current alpha supplier
+	 */
+	public AlphaSupplier getAlphaSupplier() {
+		return alphaSupplier;
+	}
+
+	/**
+	 * Sets whether or not cards should be faded using hardware layers and the
+	 * ViewPropertyAnimator of the card, rather than the animation clock. The setting is ignored
+	 * below API 16. The default is false.
+	 *
+	 * @param enable
+	 * 		true to enable hardware layer animations, false to disable them
+	 */
+	public void enableHardwareLayerAnimations(final boolean enable) {
+		hardwareLayerAnimationsEnabled = enable;
+	}
+
+	/**
+	 * @return true if hardware layer animations are enabled, false otherwise
+	 */
+	public boolean hardwareLayerAnimationsAreEnabled() {
+		return hardwareLayerAnimationsEnabled;
+	}
 
-		updatePending = true;
-		animateNextUpdate = animate;
+	@Override
+	public void decorate(final DecoratableCard cardToDecorate, final boolean animate) {
+		if (useHardwareLayerAnimations(cardToDecorate)) {
+			decorateWithLayer(cardToDecorate, animate);
+		} else {
+			// A fade may still be running if hardware layers were disabled part way through it
+			if (layerAnimatedCard != null) {
+				layerAnimatedCard.animate().cancel();
+				layerAnimatedCard = null;
+			}
 
-		if (!updateInProgress) {
-			updateAlpha(cardToDecorate);
+			super.decorate(cardToDecorate, animate);
 		}
 	}
 
 	/**
-	 * Applies the decoration to the supplied card, using animations if necessary. If this method is
-	 * called again while animations from a previous invocation are still running, the current
-	 * animations will complete before new ones are started.
+	 * Returns whether or not the supplied card should be faded using a hardware layer. Cards which
+	 * are not views have no ViewPropertyAnimator, so they always use the animation clock.
+	 *
+	 * @param card
+	 * 		the card to be decorated
+	 * @return true if hardware layer animations are enabled and supported for the card, false
+	 * otherwise
+	 */
+	private boolean useHardwareLayerAnimations(final DecoratableCard card) {
+		return hardwareLayerAnimationsEnabled && card instanceof View &&
+				Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN;
+	}
+
+	/**
+	 * Applies the decoration to the supplied card using its ViewPropertyAnimator. If the card is
+	 * already fading, the fade is replaced by a new one which starts from the current alpha.
 	 *
 	 * @param cardToDecorate
-	 * 		the card to apply the decoration to, not null
+	 * 		the card to apply the decoration to, not null, must be a View
+	 * @param animate
+	 * 		whether or not the decoration should be animated
+	 * @throws IllegalArgumentException
+	 * 		if {@code cardToDecorate} is null
 	 */
-	private void updateAlpha(final DecoratedAnswerCard cardToDecorate) {
-		updateInProgress = true;
-		updatePending = false;
+	private void decorateWithLayer(final DecoratableCard cardToDecorate, final boolean animate) {
+		checkNotNull(cardToDecorate, "cardToDecorate cannot be null.");
+
+		final long startNs = PerformanceMonitor.beginOperation();
+
+		// The clock may still be running if hardware layers were enabled part way through a fade
+		cancelAnimation();
 
-		// Get the target and current alphas now to avoid thread interference when animating
-		final float startAlpha = cardToDecorate.getAlpha();
 		final float targetAlpha = alphaSupplier.getAlpha(cardToDecorate.isMarked(),
 				cardToDecorate.isSelected(), cardToDecorate.answerIsCorrect());
-		final float alphaDifference = targetAlpha - startAlpha;
 
-		if (!animateNextUpdate || getAnimationDurationMs() == 0) {
-			cardToDecorate.setAlpha(targetAlpha);
-
-			updateInProgress = false;
+		final View cardView = (View) cardToDecorate;
+		final ViewPropertyAnimator animator = cardView.animate();
 
+		if (!animate || getAnimationDurationMs() == 0) {
+			animator.cancel();
+			cardToDecorate.setAlpha(targetAlpha);
+			layerAnimatedCard = null;
 		} else {
-			final ValueAnimator animator = ValueAnimator.ofFloat(0, 1);
-
-			animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-				@Override
-				public void onAnimationUpdate(final ValueAnimator animation) {
-					final float fraction = animation.getAnimatedFraction();
-					cardToDecorate.setAlpha(startAlpha + (fraction * alphaDifference));
-				}
-			});
-
-			animator.addListener(new AnimatorListenerAdapter() {
-				@Override
-				public void onAnimationEnd(final Animator animation) {
-					updateInProgress = false;
-
-					// If a new update was requested while the animation progressed, do it now
-					if (updatePending) {
-						updateAlpha(cardToDecorate);
-					}
-				}
-			});
-
-			animator.setDuration(getAnimationDurationMs());
-			animator.start();
+			// Replaces any running alpha animation, and restores the layer type when done
+			animator.alpha(targetAlpha).setDuration(getAnimationDurationMs()).withLayer();
+			layerAnimatedCard = cardView;
 		}
+
+		PerformanceMonitor.endOperation(PerformanceMonitor.OPERATION_DECORATE, startNs);
 	}
 
 	/**
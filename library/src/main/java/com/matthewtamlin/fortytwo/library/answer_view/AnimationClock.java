@@ -0,0 +1,429 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.view.animation.AnimationUtils;
+import android.view.animation.LinearInterpolator;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * Drives any number of timed animations from a single ValueAnimator. Rather than starting an
+ * animator for each animation, clients start a {@link Ticker} on the clock, and every running
+ * ticker is advanced once per frame by the same animator callback. Sharing one clock between all
+ * the cards in a group means that marking the whole group costs one frame callback per frame,
+ * regardless of how many cards and decorators are animating.
+ * <p>
+ * The clock only runs while at least one ticker is running. Tickers receive the linear fraction of
+ * their duration which has elapsed, and can use {@link #interpolate(float)} to ease the motion in
+ * the same way as a default ValueAnimator. This class must only be used from the UI thread.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class AnimationClock {
+	/**
+	 * The duration of each repetition of the underlying animator. The value is arbitrary, since
+	 * the animator only provides the frame callbacks.
+	 */
+	private static final int PULSE_DURATION_MS = 1000;
+
+	/**
+	 * The initial capacity of the ticker arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * Start time value which indicates that a ticker will start on the next frame.
+	 */
+	private static final long NOT_STARTED = -1;
+
+	/**
+	 * The running tickers. Entries between 0 (inclusive) and {@code count} (exclusive) are in use,
+	 * however cancelled tickers are nulled rather than removed while a frame is in progress.
+	 */
+	private Ticker[] tickers = new Ticker[INITIAL_CAPACITY];
+
+	/**
+	 * The frame time at which each ticker started, or {@link #NOT_STARTED}. Parallel to {@code
+	 * tickers}.
+	 */
+	private long[] startTimes = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The duration of each ticker, measured in milliseconds. Parallel to {@code tickers}.
+	 */
+	private int[] durations = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Holds the tickers which complete during a frame, so that they can be notified once the
+	 * frame has been processed.
+	 */
+	private Ticker[] completedTickers = new Ticker[INITIAL_CAPACITY];
+
+	/**
+	 * Maps each running ticker to its index in the ticker arrays, so that starting, cancelling and
+	 * checking a ticker does not scan every running ticker. Cancelled and completed tickers are
+	 * removed straight away, and the indices are updated when the arrays are compacted.
+	 */
+	private final Map<Ticker, Integer> slots = new IdentityHashMap<>();
+
+	/**
+	 * The number of entries in use in the ticker arrays, including cancelled entries.
+	 */
+	private int count = 0;
+
+	/**
+	 * The number of tickers which are currently running.
+	 */
+	private int runningCount = 0;
+
+	/**
+	 * Whether or not a frame is currently being processed.
+	 */
+	private boolean frameInProgress = false;
+
+	/**
+	 * Whether or not the clock is deliberately stopping the pulse animator.
+	 */
+	private boolean stoppingPulse = false;
+
+	/**
+	 * Whether or not all tickers are being completed immediately.
+	 */
+	private boolean completingAll = false;
+
+	/**
+	 * Provides a callback for every frame while any ticker is running. Created lazily, so that
+	 * clocks which never animate do not create an animator.
+	 */
+	private ValueAnimator pulse;
+
+	/**
+	 * Starts a ticker. The ticker receives a callback on every frame until its duration has elapsed,
+	 * starting with the next frame. If the ticker is already running, it is restarted.
+	 *
+	 * @param ticker
+	 * 		the ticker to start, not null
+	 * @param durationMs
+	 * 		the duration of the animation, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code ticker} is null
+	 * @throws IllegalArgumentException
+	 * 		if {@code durationMs} is less than 0
+	 */
+	public void start(final Ticker ticker, final int durationMs) {
+		checkNotNull(ticker, "ticker cannot be null.");
+		checkGreaterThanOrEqualTo(durationMs, 0, "durationMs cannot be less than 0.");
+
+		final int existingIndex = indexOf(ticker);
+
+		if (existingIndex != -1) {
+			startTimes[existingIndex] = NOT_STARTED;
+			durations[existingIndex] = durationMs;
+		} else {
+			ensureCapacity(count + 1);
+
+			tickers[count] = ticker;
+			startTimes[count] = NOT_STARTED;
+			durations[count] = durationMs;
+			slots.put(ticker, count);
+
+			count++;
+			runningCount++;
+		}
+
+		startPulse();
+	}
+
+	/**
+	 * Stops a ticker without completing it. The ticker receives no further callbacks. If the ticker
+	 * is not running, then the method returns normally.
+	 *
+	 * @param ticker
+	 * 		the ticker to stop, may be null
+	 */
+	public void cancel(final Ticker ticker) {
+		final int index = indexOf(ticker);
+
+		if (index != -1) {
+			tickers[index] = null;
+			slots.remove(ticker);
+			runningCount--;
+
+			if (!frameInProgress) {
+				compact();
+
+				if (runningCount == 0) {
+					stopPulse();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param ticker
+	 * 		the ticker to check, may be null
+	 * @return true if the ticker is currently running on this clock, false otherwise
+	 */
+	public boolean isRunning(final Ticker ticker) {
+		return indexOf(ticker) != -1;
+	}
+
+	/**
+	 * @return the number of tickers currently running on this clock
+	 */
+	public int getRunningCount() {
+		return runningCount;
+	}
+
+	/**
+	 * Applies the same acceleration and deceleration as the default ValueAnimator interpolator.
+	 *
+	 * @param fraction
+	 * 		the linear fraction to interpolate, between 0 and 1 inclusive
+	 * @return the interpolated fraction, between 0 and 1 inclusive
+	 */
+	public static float interpolate(final float fraction) {
+		return (float) (Math.cos((fraction + 1) * Math.PI) / 2.0) + 0.5f;
+	}
+
+	/**
+	 * Advances every running ticker to the supplied frame time. Tickers which complete are removed
+	 * and then notified.
+	 *
+	 * @param frameTimeMs
+	 * 		the time of the current frame, measured in milliseconds
+	 */
+	private void onFrame(final long frameTimeMs) {
+		final long startNs = PerformanceMonitor.beginOperation();
+
+		frameInProgress = true;
+
+		// Tickers started during this frame are not advanced until the next frame
+		final int frameCount = count;
+		int completedCount = 0;
+
+		for (int i = 0; i < frameCount; i++) {
+			final Ticker ticker = tickers[i];
+
+			if (ticker == null) {
+				continue; // Cancelled
+			}
+
+			if (startTimes[i] == NOT_STARTED) {
+				startTimes[i] = frameTimeMs;
+			}
+
+			final float fraction = durations[i] == 0 ? 1f :
+					Math.min(1f, (frameTimeMs - startTimes[i]) / (float) durations[i]);
+
+			ticker.onTick(fraction);
+
+			// The ticker may have been cancelled or restarted by a callback
+			if (fraction >= 1f && tickers[i] == ticker && startTimes[i] != NOT_STARTED) {
+				tickers[i] = null;
+				slots.remove(ticker);
+				runningCount--;
+				completedTickers[completedCount++] = ticker;
+			}
+		}
+
+		compact();
+		frameInProgress = false;
+
+		for (int i = 0; i < completedCount; i++) {
+			final Ticker ticker = completedTickers[i];
+			completedTickers[i] = null;
+
+			ticker.onComplete();
+		}
+
+		PerformanceMonitor.endAnimationFrame(runningCount, startNs);
+
+		if (runningCount == 0) {
+			stopPulse();
+		}
+	}
+
+	/**
+	 * Completes every running ticker immediately. This is used if the pulse animator ends
+	 * unexpectedly, for example because animations have been disabled in the developer options.
+	 * Tickers which are started or restarted while completing are left for the next pulse, so that
+	 * a ticker which restarts itself on completion cannot block the UI thread.
+	 */
+	private void completeAll() {
+		completingAll = true;
+
+		for (int i = 0; i < count; i++) {
+			startTimes[i] = Long.MIN_VALUE / 2; // Guarantees a fraction of 1
+		}
+
+		onFrame(0);
+
+		completingAll = false;
+
+		if (runningCount > 0) {
+			startPulse();
+		}
+	}
+
+	/**
+	 * Starts the pulse animator if it is not already running.
+	 */
+	private void startPulse() {
+		if (completingAll) {
+			return;
+		}
+
+		if (pulse == null) {
+			pulse = ValueAnimator.ofFloat(0, 1);
+			pulse.setDuration(PULSE_DURATION_MS);
+			pulse.setRepeatCount(ValueAnimator.INFINITE);
+			pulse.setInterpolator(new LinearInterpolator());
+
+			pulse.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+				@Override
+				public void onAnimationUpdate(final ValueAnimator animation) {
+					onFrame(AnimationUtils.currentAnimationTimeMillis());
+				}
+			});
+
+			pulse.addListener(new AnimatorListenerAdapter() {
+				@Override
+				public void onAnimationEnd(final Animator animation) {
+					if (!stoppingPulse && runningCount > 0) {
+						completeAll();
+					}
+				}
+			});
+		}
+
+		if (!pulse.isStarted()) {
+			pulse.start();
+		}
+	}
+
+	/**
+	 * Stops the pulse animator if it is running.
+	 */
+	private void stopPulse() {
+		if (pulse != null && pulse.isStarted()) {
+			stoppingPulse = true;
+			pulse.cancel();
+			stoppingPulse = false;
+		}
+	}
+
+	/**
+	 * Finds the index of a running ticker. This is a constant time operation.
+	 *
+	 * @param ticker
+	 * 		the ticker to find, may be null
+	 * @return the index of the ticker, or -1 if it is not running
+	 */
+	private int indexOf(final Ticker ticker) {
+		final Integer slot = ticker == null ? null : slots.get(ticker);
+
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Removes the entries of cancelled and completed tickers, preserving the order of the
+	 * remaining entries.
+	 */
+	private void compact() {
+		int write = 0;
+
+		for (int read = 0; read < count; read++) {
+			if (tickers[read] != null) {
+				if (write != read) {
+					tickers[write] = tickers[read];
+					startTimes[write] = startTimes[read];
+					durations[write] = durations[read];
+					slots.put(tickers[write], write);
+				}
+
+				write++;
+			}
+		}
+
+		for (int i = write; i < count; i++) {
+			tickers[i] = null;
+		}
+
+		count = write;
+	}
+
+	/**
+	 * Grows the ticker arrays if necessary so that they can hold the supplied number of entries.
+	 *
+	 * @param capacity
+	 * 		the required capacity
+	 */
+	private void ensureCapacity(final int capacity) {
+		if (capacity > tickers.length) {
+			final int newCapacity = Math.max(capacity, tickers.length * 2);
+
+			final Ticker[] newTickers = new Ticker[newCapacity];
+			final long[] newStartTimes = new long[newCapacity];
+			final int[] newDurations = new int[newCapacity];
+
+			System.arraycopy(tickers, 0, newTickers, 0, count);
+			System.arraycopy(startTimes, 0, newStartTimes, 0, count);
+			System.arraycopy(durations, 0, newDurations, 0, count);
+
+			tickers = newTickers;
+			startTimes = newStartTimes;
+			durations = newDurations;
+
+			// Tickers may be started during a frame, so completed tickers must be preserved
+			final Ticker[] newCompletedTickers = new Ticker[newCapacity];
+			System.arraycopy(completedTickers, 0, newCompletedTickers, 0, completedTickers.length);
+			completedTickers = newCompletedTickers;
+		}
+	}
+
+	/**
+	 * A single animation driven by an AnimationClock.
+	 */
+	public interface Ticker {
+		/**
+		 * Invoked once per frame while the ticker is running. The final invocation always has a
+		 * fraction of 1.
+		 *
+		 * @param fraction
+		 * 		the linear fraction of the duration which has elapsed, between 0 and 1 inclusive
+		 */
+		public void onTick(float fraction);
+
+		/**
+		 * Invoked once the final tick has been delivered and the ticker has been removed from the
+		 * clock. The ticker may be restarted from this method. Cancelled tickers are not
+		 * completed.
+		 */
+		public void onComplete();
+	}
+}
\ No newline at end of file
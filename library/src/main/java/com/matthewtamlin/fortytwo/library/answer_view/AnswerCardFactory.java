@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * Creates answer cards on demand. Factories are used by components which create and reuse cards
+ * themselves, so that clients can still customise each card (for example by adding decorators).
+ *
+ * @param <V>
+ * 		the type of card created by the factory
+ */
+public interface AnswerCardFactory<V extends View & AnswerView> {
+	/**
+	 * Creates a new answer card. The card must not be attached to a parent.
+	 *
+	 * @param context
+	 * 		the context the card will operate in, not null
+	 * @return the new card, not null
+	 */
+	public V createCard(Context context);
+}
\ No newline at end of file
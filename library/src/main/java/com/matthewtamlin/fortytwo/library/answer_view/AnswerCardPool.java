@@ -0,0 +1,306 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.View;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThan;
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThanOrEqualTo;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * Keeps answer cards so that they can be reused, rather than creating new cards for every
+ * question. Cards are obtained using {@link #acquire()} and returned using {@link
+ * #release(AnswerView)} once they are no longer displayed. Cards must be removed from their answer
+ * group using {@code AnswerGroup.removeAnswer(AnswerView)} or {@code AnswerGroup.clearAnswers()}
+ * before they are released, so that the group stops tracking them. Released cards are reset to an
+ * unmarked, unselected and empty state, and keep the decorators supplied by the factory.
+ * <p>
+ * Cards for an upcoming question can be created in advance using {@link #prefetch(int)}. Views
+ * must be created on the UI thread, so prefetched cards are created one at a time whenever the UI
+ * thread is idle, rather than while the user is waiting. This class must only be used from the UI
+ * thread.
+ *
+ * @param <V>
+ * 		the type of card in the pool
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class AnswerCardPool<V extends View & AnswerView> {
+	/**
+	 * The context to create cards in.
+	 */
+	private final Context context;
+
+	/**
+	 * Creates new cards when the pool is empty.
+	 */
+	private final AnswerCardFactory<V> factory;
+
+	/**
+	 * The maximum number of cards to keep in the pool.
+	 */
+	private final int maxSize;
+
+	/**
+	 * The cards which are available for reuse.
+	 */
+	private final List<V> pooledCards = new ArrayList<>();
+
+	/**
+	 * The same cards as {@code pooledCards}, compared by identity. Used to check whether a card is
+	 * already pooled in constant time.
+	 */
+	private final Set<View> pooledCardSet = Collections.newSetFromMap(new IdentityHashMap<View,
+			Boolean>());
+
+	/**
+	 * Every card created by this pool which has not been discarded. Used to ensure that only cards
+	 * of the correct type are returned to the pool. Cards are weakly referenced, so that cards
+	 * which are never released can still be garbage collected.
+	 */
+	private final Set<View> ownedCards = Collections.newSetFromMap(new WeakHashMap<View,
+			Boolean>());
+
+	/**
+	 * Creates one prefetched card each time the UI thread becomes idle.
+	 */
+	private final MessageQueue.IdleHandler prefetcher = new MessageQueue.IdleHandler() {
+		@Override
+		public boolean queueIdle() {
+			if (prefetchRemaining > 0 && pooledCards.size() < maxSize) {
+				addToPool(createCard());
+				prefetchRemaining--;
+			} else {
+				prefetchRemaining = 0;
+			}
+
+			prefetchScheduled = prefetchRemaining > 0;
+			return prefetchScheduled;
+		}
+	};
+
+	/**
+	 * The number of cards still to be prefetched.
+	 */
+	private int prefetchRemaining = 0;
+
+	/**
+	 * Whether or not the prefetcher is currently registered with the message queue.
+	 */
+	private boolean prefetchScheduled = false;
+
+	/**
+	 * Constructs a new AnswerCardPool.
+	 *
+	 * @param context
+	 * 		the context to create cards in, not null
+	 * @param factory
+	 * 		creates new cards when the pool is empty, not null
+	 * @param maxSize
+	 * 		the maximum number of cards to keep in the pool, greater than 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code context} or {@code factory} is null
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxSize} is not greater than 0
+	 */
+	public AnswerCardPool(final Context context, final AnswerCardFactory<V> factory,
+			final int maxSize) {
+		this.context = checkNotNull(context, "context cannot be null.");
+		this.factory = checkNotNull(factory, "factory cannot be null.");
+		this.maxSize = checkGreaterThan(maxSize, 0, "maxSize must be greater than 0.");
+	}
+
+	/**
+	 * Gets a card from the pool, or creates a new card if the pool is empty. The card is not
+	 * attached to a parent, and is unmarked, unselected and has no answer or identifier if it has
+	 * been used before.
+	 *
+	 * @return the card, not null
+	 */
+	public V acquire() {
+		if (pooledCards.isEmpty()) {
+			return createCard();
+		} else {
+			final V card = pooledCards.remove(pooledCards.size() - 1);
+			pooledCardSet.remove(card);
+
+			return card;
+		}
+	}
+
+	/**
+	 * Returns a card to the pool so that it can be reused. The card is reset, and must already have
+	 * been removed from its parent. If the card was not created by this pool or the pool is full,
+	 * the card is not kept.
+	 *
+	 * @param card
+	 * 		the card to release, may be null
+	 * @return true if the card was returned to the pool, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code card} was created by this pool and is still attached to a parent
+	 */
+	public boolean release(final AnswerView card) {
+		if (card == null || !ownedCards.contains(card)) {
+			return false;
+		}
+
+		if (((View) card).getParent() != null) {
+			throw new IllegalArgumentException("card must be removed from its parent before it is " +
+					"released.");
+		}
+
+		if (pooledCards.size() >= maxSize) {
+			ownedCards.remove(card);
+			return false;
+		}
+
+		@SuppressWarnings("unchecked") // Only cards created by this pool are accepted
+		final V pooledCard = (V) card;
+
+		if (!pooledCardSet.contains(pooledCard)) {
+			reset(pooledCard);
+			addToPool(pooledCard);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns several cards to the pool. Cards which were not created by this pool are ignored.
+	 *
+	 * @param cards
+	 * 		the cards to release, not null, may contain null
+	 * @throws IllegalArgumentException
+	 * 		if {@code cards} is null
+	 * @throws IllegalArgumentException
+	 * 		if any card created by this pool is still attached to a parent
+	 */
+	public void releaseAll(final Iterable<? extends AnswerView> cards) {
+		checkNotNull(cards, "cards cannot be null.");
+
+		for (final AnswerView card : cards) {
+			release(card);
+		}
+	}
+
+	/**
+	 * Creates cards in advance, so that they are available when next acquired. The cards are
+	 * created one at a time whenever the UI thread is idle, until the pool contains the requested
+	 * number of cards or is full. Calling this method again replaces the previous request.
+	 *
+	 * @param count
+	 * 		the number of cards the pool should contain, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code count} is less than 0
+	 */
+	public void prefetch(final int count) {
+		checkGreaterThanOrEqualTo(count, 0, "count cannot be less than 0.");
+
+		prefetchRemaining = Math.max(0, Math.min(count, maxSize) - pooledCards.size());
+
+		if (prefetchRemaining > 0 && !prefetchScheduled) {
+			prefetchScheduled = true;
+			Looper.myQueue().addIdleHandler(prefetcher);
+		}
+	}
+
+	/**
+	 * Stops any pending prefetch. Cards which have already been prefetched remain in the pool.
+	 */
+	public void cancelPrefetch() {
+		prefetchRemaining = 0;
+
+		if (prefetchScheduled) {
+			prefetchScheduled = false;
+			Looper.myQueue().removeIdleHandler(prefetcher);
+		}
+	}
+
+	/**
+	 * @return the number of cards currently available for reuse
+	 */
+	public int getPooledCount() {
+		return pooledCards.size();
+	}
+
+	/**
+	 * @return the maximum number of cards kept in the pool
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Discards all pooled cards and stops any pending prefetch.
+	 */
+	public void clear() {
+		cancelPrefetch();
+
+		ownedCards.removeAll(pooledCards);
+		pooledCards.clear();
+		pooledCardSet.clear();
+	}
+
+	/**
+	 * Creates a new card using the factory and records it as owned by this pool.
+	 *
+	 * @return the new card, not null
+	 */
+	private V createCard() {
+		final V card = checkNotNull(factory.createCard(context), "factory returned null.");
+		ownedCards.add(card);
+
+		return card;
+	}
+
+	/**
+	 * Adds a card to the pool.
+	 *
+	 * @param card
+	 * 		the card to add, not null, not already pooled
+	 */
+	private void addToPool(final V card) {
+		pooledCards.add(card);
+		pooledCardSet.add(card);
+	}
+
+	/**
+	 * Resets a card to an unmarked, unselected and empty state. Decorators are applied without
+	 * animation, so that the card does not animate when reused.
+	 *
+	 * @param card
+	 * 		the card to reset, not null
+	 */
+	private void reset(final V card) {
+		card.setOnClickListener(null);
+		card.setStatus(false, false, false);
+		card.setAnswer(null, false);
+		card.setIdentifier(null, false);
+	}
+}
\ No newline at end of file
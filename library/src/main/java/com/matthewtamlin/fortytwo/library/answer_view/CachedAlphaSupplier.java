@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * An {@link AlphaSupplier} which resolves every alpha value from another supplier up front, and
+ * then answers from a lookup table. There are only eight combinations of card properties, so
+ * wrapping an expensive supplier (for example one which reads dimension resources) means it is
+ * queried eight times in total rather than once per decoration. If the alpha values of the wrapped
+ * supplier change, call {@link #refresh()} to resolve them again.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = false)
+public class CachedAlphaSupplier implements AlphaSupplier {
+	/**
+	 * The supplier which provides the alpha values.
+	 */
+	private final AlphaSupplier source;
+
+	/**
+	 * The resolved alpha values, indexed using {@link CardStateTable#indexOf(boolean, boolean,
+	 * boolean)}.
+	 */
+	private final float[] alphas = new float[CardStateTable.STATE_COUNT];
+
+	/**
+	 * Stores each resolved value in the table.
+	 */
+	private final CardStateTable.Resolver resolver = new CardStateTable.Resolver() {
+		@Override
+		public void resolve(final int index, final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			alphas[index] = source.getAlpha(marked, selected, answerIsCorrect);
+		}
+	};
+
+	/**
+	 * Constructs a new CachedAlphaSupplier and resolves all alpha values from the supplied source.
+	 *
+	 * @param source
+	 * 		the supplier to resolve the alpha values from, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code source} is null
+	 */
+	public CachedAlphaSupplier(final AlphaSupplier source) {
+		this.source = checkNotNull(source, "source cannot be null.");
+		refresh();
+	}
+
+	/**
+	 * @return the supplier which provides the alpha values
+	 */
+	public AlphaSupplier getSource() {
+		return source;
+	}
+
+	/**
+	 * Resolves all alpha values from the source again, replacing the cached values.
+	 */
+	public void refresh() {
+		CardStateTable.resolveAll(resolver);
+	}
+
+	@Override
+	public float getAlpha(final boolean marked, final boolean selected,
+			final boolean answerIsCorrect) {
+		return alphas[CardStateTable.indexOf(marked, selected, answerIsCorrect)];
+	}
+}
\ No newline at end of file
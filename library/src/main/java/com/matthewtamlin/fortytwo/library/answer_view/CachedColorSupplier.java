@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * A {@link ColorSupplier} which resolves every color from another supplier up front, and then
+ * answers from a lookup table. There are only eight combinations of card properties, so wrapping
+ * an expensive supplier (for example one which resolves theme attributes) means it is queried
+ * eight times in total rather than once per decoration. If the colors of the wrapped supplier
+ * change, call {@link #refresh()} to resolve them again.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = false)
+public class CachedColorSupplier implements ColorSupplier {
+	/**
+	 * The supplier which provides the colors.
+	 */
+	private final ColorSupplier source;
+
+	/**
+	 * The resolved colors, indexed using {@link CardStateTable#indexOf(boolean, boolean,
+	 * boolean)}.
+	 */
+	private final int[] colors = new int[CardStateTable.STATE_COUNT];
+
+	/**
+	 * Stores each resolved value in the table.
+	 */
+	private final CardStateTable.Resolver resolver = new CardStateTable.Resolver() {
+		@Override
+		public void resolve(final int index, final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			colors[index] = source.getColor(marked, selected, answerIsCorrect);
+		}
+	};
+
+	/**
+	 * Constructs a new CachedColorSupplier and resolves all colors from the supplied source.
+	 *
+	 * @param source
+	 * 		the supplier to resolve the colors from, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code source} is null
+	 */
+	public CachedColorSupplier(final ColorSupplier source) {
+		this.source = checkNotNull(source, "source cannot be null.");
+		refresh();
+	}
+
+	/**
+	 * @return the supplier which provides the colors
+	 */
+	public ColorSupplier getSource() {
+		return source;
+	}
+
+	/**
+	 * Resolves all colors from the source again, replacing the cached values.
+	 */
+	public void refresh() {
+		CardStateTable.resolveAll(resolver);
+	}
+
+	@Override
+	public int getColor(final boolean marked, final boolean selected,
+			final boolean answerIsCorrect) {
+		return colors[CardStateTable.indexOf(marked, selected, answerIsCorrect)];
+	}
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+/**
+ * The lookup table layout shared by {@link CachedColorSupplier} and {@link CachedAlphaSupplier}.
+ * A card has three boolean properties which affect its decoration, so there are eight states.
+ * Each state is given an index between 0 and 7, and the cached suppliers store one value per
+ * index.
+ */
+final class CardStateTable {
+	/**
+	 * The number of distinct combinations of card properties.
+	 */
+	static final int STATE_COUNT = 8;
+
+	/**
+	 * Calculates the table index for a combination of card properties.
+	 *
+	 * @param marked
+	 * 		whether or not the card is marked
+	 * @param selected
+	 * 		whether or not the card is selected
+	 * @param answerIsCorrect
+	 * 		whether or not the answer is correct
+	 * @return the index, between 0 and 7 inclusive
+	 */
+	static int indexOf(final boolean marked, final boolean selected,
+			final boolean answerIsCorrect) {
+		return (marked ? 4 : 0) | (selected ? 2 : 0) | (answerIsCorrect ? 1 : 0);
+	}
+
+	/**
+	 * Passes every combination of card properties to the supplied resolver, along with its table
+	 * index.
+	 *
+	 * @param resolver
+	 * 		the resolver to pass the states to, not null
+	 */
+	static void resolveAll(final Resolver resolver) {
+		for (int i = 0; i < STATE_COUNT; i++) {
+			resolver.resolve(i, (i & 4) != 0, (i & 2) != 0, (i & 1) != 0);
+		}
+	}
+
+	/**
+	 * Resolves and stores the value for a single state.
+	 */
+	interface Resolver {
+		/**
+		 * Resolves the value for the supplied state and stores it at the supplied index.
+		 *
+		 * @param index
+		 * 		the table index of the state, between 0 and 7 inclusive
+		 * @param marked
+		 * 		whether or not the card is marked
+		 * @param selected
+		 * 		whether or not the card is selected
+		 * @param answerIsCorrect
+		 * 		whether or not the answer is correct
+		 */
+		void resolve(int index, boolean marked, boolean selected, boolean answerIsCorrect);
+	}
+
+	/**
+	 * Prevents instantiation, since all members are static.
+	 */
+	private CardStateTable() {
+	}
+}
\ No newline at end of file
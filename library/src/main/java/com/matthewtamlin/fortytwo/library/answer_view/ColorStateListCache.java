@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.res.ColorStateList;
+import android.util.SparseArray;
+
+/**
+ * Caches single color ColorStateLists, so that setting the text color of a card to a color it has
+ * used before does not allocate a new ColorStateList. The lists are keyed by color, so a lookup
+ * takes logarithmic time in the size of the cache. Retargeted {@link TextColorRamp}s produce
+ * colors which depend on where each transition started, so the number of distinct colors is not
+ * bounded. The cache is therefore emptied whenever it is full, which keeps its memory and its
+ * lookup cost bounded. This class must only be used from the UI thread.
+ */
+final class ColorStateListCache {
+	/**
+	 * The maximum number of ColorStateLists to cache.
+	 */
+	private static final int CAPACITY = 256;
+
+	/**
+	 * The cached ColorStateList for each color.
+	 */
+	private static final SparseArray<ColorStateList> lists = new SparseArray<>(CAPACITY);
+
+	/**
+	 * Gets a ColorStateList which uses the supplied color for every state, creating it if it has
+	 * not been cached.
+	 *
+	 * @param color
+	 * 		the color, as an ARGB hex code
+	 * @return the ColorStateList, not null
+	 */
+	static ColorStateList get(final int color) {
+		ColorStateList list = lists.get(color);
+
+		if (list == null) {
+			if (lists.size() >= CAPACITY) {
+				lists.clear();
+			}
+
+			list = ColorStateList.valueOf(color);
+			lists.put(color, list);
+		}
+
+		return list;
+	}
+
+	/**
+	 * Prevents instantiation, since all members are static.
+	 */
+	private ColorStateListCache() {
+	}
+}
\ No newline at end of file
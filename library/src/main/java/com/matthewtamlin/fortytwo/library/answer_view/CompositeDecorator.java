@@ -0,0 +1,370 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import com.matthewtamlin.android_utilities.library.helpers.ColorHelper;
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
+
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * A {@link Decorator} which changes any number of card properties together. Each time the card is
+ * decorated, its status is read once and every {@link Property} calculates its target value from
+ * it. If animations are enabled, all of the properties are then transitioned by a single ticker on
+ * the animation clock of the card, so a card with several properties costs one callback per frame
+ * rather than one per property. Use a {@link ColorProperty} and an {@link AlphaProperty} in place
+ * of a separate {@link ColorFadeDecorator} and {@link AlphaDecorator}, for example:
+ * <pre>{@code
+ * card.addDecorator(new CompositeDecorator(
+ * 		new ColorProperty(colorSupplier),
+ * 		new AlphaProperty(alphaSupplier)), false);
+ * }</pre>
+ * If the card is decorated again while an animation is running, the animation is retargeted from
+ * the current values towards the new targets. The decorator can also be used with a {@link
+ * FlatAnswerCard}.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class CompositeDecorator extends DecoratorAdapter {
+	/**
+	 * The properties to change, in the order they are applied.
+	 */
+	private final Property[] properties;
+
+	/**
+	 * Animates every property of the card towards its target. A single ticker is reused for every
+	 * update, so that decorating does not allocate once the decorator has been used.
+	 */
+	private final PropertyTicker ticker = new PropertyTicker();
+
+	/**
+	 * The card which is currently being decorated.
+	 */
+	private DecoratableCard decoratedCard;
+
+	/**
+	 * The clock which the ticker is running on, or null if no animation is running.
+	 */
+	private AnimationClock runningClock;
+
+	/**
+	 * Constructs a new CompositeDecorator.
+	 *
+	 * @param properties
+	 * 		the properties to change when decorating, not null, containing no null elements
+	 * @throws IllegalArgumentException
+	 * 		if {@code properties} is null
+	 * @throws IllegalArgumentException
+	 * 		if {@code properties} contains null
+	 */
+	public CompositeDecorator(final Property... properties) {
+		checkNotNull(properties, "properties cannot be null.");
+
+		for (final Property property : properties) {
+			checkNotNull(property, "properties cannot contain null.");
+		}
+
+		this.properties = properties.clone();
+	}
+
+	/**
+	 * @return the number of properties changed by this decorator
+	 */
+	public int getPropertyCount() {
+		return properties.length;
+	}
+
+	/**
+	 * Gets one of the properties changed by this decorator.
+	 *
+	 * @param index
+	 * 		the index of the property, in the order passed to the constructor
+	 * @return the property at the index, not null
+	 * @throws IndexOutOfBoundsException
+	 * 		if {@code index} is not between 0 (inclusive) and the property count (exclusive)
+	 */
+	public Property getProperty(final int index) {
+		return properties[index];
+	}
+
+	/**
+	 * Applies the decoration to the supplied card, using animations if necessary. If this method is
+	 * called while an animation from a previous invocation is still running, the animation is
+	 * retargeted so that the card moves from its current values towards the new targets straight
+	 * away.
+	 *
+	 * @param cardToDecorate
+	 * 		the card to apply the decoration to, not null
+	 * @param animate
+	 * 		whether or not the decoration should be animated
+	 * @throws IllegalArgumentException
+	 * 		if {@code cardToDecorate} is null
+	 */
+	@Override
+	public void decorate(final DecoratableCard cardToDecorate, final boolean animate) {
+		checkNotNull(cardToDecorate, "cardToDecorate cannot be null.");
+
+		final long startNs = PerformanceMonitor.beginOperation();
+
+		// The ticker can only drive one card, so finish any animation on a different card
+		if (runningClock != null && decoratedCard != cardToDecorate) {
+			cancelAnimation();
+			applyProperties(decoratedCard, 1f);
+		}
+
+		decoratedCard = cardToDecorate;
+
+		// Read the status once for all properties
+		final boolean marked = cardToDecorate.isMarked();
+		final boolean selected = cardToDecorate.isSelected();
+		final boolean answerIsCorrect = cardToDecorate.answerIsCorrect();
+
+		boolean changed = false;
+
+		for (final Property property : properties) {
+			changed |= property.retarget(cardToDecorate, marked, selected, answerIsCorrect);
+		}
+
+		if (!animate || getAnimationDurationMs() == 0 || !changed) {
+			cancelAnimation();
+			applyProperties(cardToDecorate, 1f);
+
+		} else {
+			// The card may have moved to a different clock since the last update
+			if (runningClock != cardToDecorate.getAnimationClock()) {
+				cancelAnimation();
+				runningClock = cardToDecorate.getAnimationClock();
+			}
+
+			// Restarting a running ticker retargets it rather than queueing another animation
+			runningClock.start(ticker, getAnimationDurationMs());
+		}
+
+		PerformanceMonitor.endOperation(PerformanceMonitor.OPERATION_DECORATE, startNs);
+	}
+
+	/**
+	 * Applies every property to the supplied card.
+	 *
+	 * @param card
+	 * 		the card to apply the properties to, not null
+	 * @param fraction
+	 * 		the interpolated fraction of the transition, between 0 and 1 inclusive
+	 */
+	private void applyProperties(final DecoratableCard card, final float fraction) {
+		for (final Property property : properties) {
+			property.apply(card, fraction);
+		}
+	}
+
+	/**
+	 * Stops the running animation, if any, leaving the card at its current values. Subclasses
+	 * which animate the card by other means should call this first, so that the two animations
+	 * do not compete.
+	 */
+	protected void cancelAnimation() {
+		if (runningClock != null) {
+			runningClock.cancel(ticker);
+			runningClock = null;
+		}
+	}
+
+	/**
+	 * Transitions every property of the decorated card from its start value to its target value.
+	 */
+	private class PropertyTicker implements AnimationClock.Ticker {
+		@Override
+		public void onTick(final float fraction) {
+			applyProperties(decoratedCard, AnimationClock.interpolate(fraction));
+		}
+
+		@Override
+		public void onComplete() {
+			runningClock = null;
+		}
+	}
+
+	/**
+	 * A property of a card which is changed by a CompositeDecorator. Implementations hold the start
+	 * and target values of the current transition, so a single instance must not be shared
+	 * between decorators.
+	 */
+	public interface Property {
+		/**
+		 * Begins a new transition. The current value of the property is read from the card and
+		 * used as the start value, and the target value is calculated from the supplied status.
+		 * If a transition is already in progress, the current value is the value it has reached.
+		 *
+		 * @param card
+		 * 		the card being decorated, not null
+		 * @param marked
+		 * 		whether or not the card is currently marked
+		 * @param selected
+		 * 		whether or not the card is currently selected
+		 * @param answerIsCorrect
+		 * 		whether or not the answer displayed in the card is correct
+		 * @return true if the target value differs from the start value, false otherwise
+		 */
+		public boolean retarget(DecoratableCard card, boolean marked, boolean selected,
+				boolean answerIsCorrect);
+
+		/**
+		 * Sets the property of the card to the value the supplied fraction of the way from the
+		 * start value to the target value. A fraction of 1 must set exactly the target value.
+		 *
+		 * @param card
+		 * 		the card to change, not null
+		 * @param fraction
+		 * 		the interpolated fraction of the transition, between 0 and 1 inclusive
+		 */
+		public void apply(DecoratableCard card, float fraction);
+	}
+
+	/**
+	 * A {@link Property} which changes the background color and the text color of a card. The
+	 * background colors are defined by a {@link ColorSupplier}, and the text colors are
+	 * automatically chosen to maximise readability against the background. The text colors are
+	 * stepped through a ramp which is calculated when each transition starts, so that the text
+	 * only takes a few distinct colors and animating does not allocate.
+	 */
+	public static class ColorProperty implements Property {
+		/**
+		 * Supplies the colors to use for the card background.
+		 */
+		private final ColorSupplier colorSupplier;
+
+		/**
+		 * The background color of the card when the current transition began.
+		 */
+		private int startBackground;
+
+		/**
+		 * The background color at the end of the current transition.
+		 */
+		private int targetBackground;
+
+		/**
+		 * Steps the text color from its start value to its target value.
+		 */
+		private final TextColorRamp textColorRamp = new TextColorRamp();
+
+		/**
+		 * Constructs a new ColorProperty.
+		 *
+		 * @param colorSupplier
+		 * 		supplies the card background colors, not null
+		 * @throws IllegalArgumentException
+		 * 		if {@code colorSupplier} is null
+		 */
+		public ColorProperty(final ColorSupplier colorSupplier) {
+			this.colorSupplier = checkNotNull(colorSupplier, "colorSupplier cannot be null.");
+		}
+
+		/**
+		 * @return the current color supplier
+		 */
+		public ColorSupplier getColorSupplier() {
+			return colorSupplier;
+		}
+
+		@Override
+		public boolean retarget(final DecoratableCard card, final boolean marked,
+				final boolean selected, final boolean answerIsCorrect) {
+			startBackground = card.getCardBackgroundColor();
+			targetBackground = colorSupplier.getColor(marked, selected, answerIsCorrect);
+
+			final int startTextColor = card.getTextColor();
+			final int targetTextColor = textColorRamp.retarget(startTextColor, targetBackground);
+
+			return startBackground != targetBackground || startTextColor != targetTextColor;
+		}
+
+		@Override
+		public void apply(final DecoratableCard card, final float fraction) {
+			if (fraction >= 1f) {
+				card.setCardBackgroundColor(targetBackground);
+			} else {
+				card.setCardBackgroundColor(ColorHelper.blendColors(startBackground,
+						targetBackground, fraction));
+			}
+
+			// Use the nearest step of the precalculated ramp
+			card.setTextColor(textColorRamp.getColor(fraction));
+		}
+	}
+
+	/**
+	 * A {@link Property} which changes the alpha of a card. The alpha values are defined by an
+	 * {@link AlphaSupplier}.
+	 */
+	public static class AlphaProperty implements Property {
+		/**
+		 * Supplies the alpha values.
+		 */
+		private final AlphaSupplier alphaSupplier;
+
+		/**
+		 * The alpha of the card when the current transition began.
+		 */
+		private float startAlpha;
+
+		/**
+		 * The alpha at the end of the current transition.
+		 */
+		private float targetAlpha;
+
+		/**
+		 * Constructs a new AlphaProperty.
+		 *
+		 * @param alphaSupplier
+		 * 		supplies the alpha values to use when decorating, not null
+		 * @throws IllegalArgumentException
+		 * 		if {@code alphaSupplier} is null
+		 */
+		public AlphaProperty(final AlphaSupplier alphaSupplier) {
+			this.alphaSupplier = checkNotNull(alphaSupplier, "alphaSupplier cannot be null.");
+		}
+
+		/**
+		 * @return the current alpha supplier
+		 */
+		public AlphaSupplier getAlphaSupplier() {
+			return alphaSupplier;
+		}
+
+		@Override
+		public boolean retarget(final DecoratableCard card, final boolean marked,
+				final boolean selected, final boolean answerIsCorrect) {
+			startAlpha = card.getAlpha();
+			targetAlpha = alphaSupplier.getAlpha(marked, selected, answerIsCorrect);
+
+			return startAlpha != targetAlpha;
+		}
+
+		@Override
+		public void apply(final DecoratableCard card, final float fraction) {
+			if (fraction >= 1f) {
+				card.setAlpha(targetAlpha);
+			} else {
+				card.setAlpha(startAlpha + (fraction * (targetAlpha - startAlpha)));
+			}
+		}
+	}
+}
\ No newline at end of file
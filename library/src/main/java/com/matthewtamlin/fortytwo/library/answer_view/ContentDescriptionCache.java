@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.res.Resources;
+
+import com.matthewtamlin.fortytwo.library.R;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Caches the automatic content descriptions of answer cards. A description only depends on the
+ * marked status, the selected status and the correctness of the answer (or the absence of an
+ * answer), so there are just nine distinct descriptions for each locale. Each one is resolved and
+ * formatted the first time it is needed, and then shared by every card. This class must only be
+ * used from the UI thread.
+ */
+final class ContentDescriptionCache {
+	/**
+	 * The state of a card which has no answer.
+	 */
+	static final int STATE_BLANK = 8;
+
+	/**
+	 * The number of distinct states.
+	 */
+	private static final int STATE_COUNT = 9;
+
+	/**
+	 * The cached descriptions for each locale, indexed by state. Entries are null until needed.
+	 */
+	private static final Map<Locale, String[]> descriptionsByLocale = new HashMap<>();
+
+	/**
+	 * Calculates the state of a card which has an answer.
+	 *
+	 * @param marked
+	 * 		whether or not the card is marked
+	 * @param selected
+	 * 		whether or not the card is selected
+	 * @param answerIsCorrect
+	 * 		whether or not the answer is correct
+	 * @return the state, between 0 and 7 inclusive
+	 */
+	static int getState(final boolean marked, final boolean selected,
+			final boolean answerIsCorrect) {
+		return (marked ? 4 : 0) | (selected ? 2 : 0) | (answerIsCorrect ? 1 : 0);
+	}
+
+	/**
+	 * Gets the content description for a state, resolving it if it has not been cached for the
+	 * current locale.
+	 *
+	 * @param resources
+	 * 		the resources to resolve the strings from, not null
+	 * @param state
+	 * 		the state to describe, either {@link #STATE_BLANK} or a value returned by {@link
+	 * 		#getState(boolean, boolean, boolean)}
+	 * @return the content description, not null
+	 */
+	@SuppressWarnings("deprecation") // Configuration.locale is the only option below API 24
+	static String getDescription(final Resources resources, final int state) {
+		final Locale locale = resources.getConfiguration().locale;
+
+		String[] descriptions = descriptionsByLocale.get(locale);
+
+		if (descriptions == null) {
+			descriptions = new String[STATE_COUNT];
+			descriptionsByLocale.put(locale, descriptions);
+		}
+
+		if (descriptions[state] == null) {
+			descriptions[state] = resolveDescription(resources, state);
+		}
+
+		return descriptions[state];
+	}
+
+	/**
+	 * Resolves and formats the content description for a state.
+	 *
+	 * @param resources
+	 * 		the resources to resolve the strings from, not null
+	 * @param state
+	 * 		the state to describe
+	 * @return the content description, not null
+	 */
+	private static String resolveDescription(final Resources resources, final int state) {
+		if (state == STATE_BLANK) {
+			return resources.getString(R.string.single_answer_view_contdesc_desc_blank);
+		}
+
+		final boolean marked = (state & 4) != 0;
+		final boolean selected = (state & 2) != 0;
+		final boolean answerIsCorrect = (state & 1) != 0;
+
+		final String selectedVariable = resources.getString(selected ?
+				R.string.single_answer_view_contdesc_general_selected :
+				R.string.single_answer_view_contdesc_general_unselected);
+
+		final String markedVariable;
+
+		if (marked) {
+			markedVariable = resources.getString(answerIsCorrect ?
+					R.string.single_answer_view_contdesc_general_marked_correct :
+					R.string.single_answer_view_contdesc_general_marked_incorrect);
+		} else {
+			markedVariable = resources.getString(
+					R.string.single_answer_view_contdesc_general_unmarked);
+		}
+
+		return resources.getString(R.string.single_answer_view_contdesc_general, selectedVariable,
+				markedVariable);
+	}
+
+	/**
+	 * Prevents instantiation, since all members are static.
+	 */
+	private ContentDescriptionCache() {
+	}
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+/**
+ * An {@link AnswerView} which exposes the properties changed by the provided decorators. Both
+ * {@link DecoratedAnswerCard} and {@link FlatAnswerCard} implement this interface, so the same
+ * decorator implementation can be used with either card.
+ */
+public interface DecoratableCard extends AnswerView {
+	/**
+	 * Returns whether or not the current answer is correct. If there is currently no answer, false
+	 * is returned.
+	 *
+	 * @return true if there is an answer and it is correct, false otherwise
+	 */
+	public boolean answerIsCorrect();
+
+	/**
+	 * Sets the clock which drives the animations of this card and its decorators.
+	 *
+	 * @param animationClock
+	 * 		the clock to use, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code animationClock} is null
+	 */
+	public void setAnimationClock(AnimationClock animationClock);
+
+	/**
+	 * @return the clock which drives the animations of this card and its decorators, not null
+	 */
+	public AnimationClock getAnimationClock();
+
+	/**
+	 * @return the current background color of the card, as an ARGB hex code
+	 */
+	public int getCardBackgroundColor();
+
+	/**
+	 * Sets the background color of the card.
+	 *
+	 * @param color
+	 * 		the color to use, as an ARGB hex code
+	 */
+	public void setCardBackgroundColor(int color);
+
+	/**
+	 * @return the current color of the answer and identifier text, as an ARGB hex code
+	 */
+	public int getTextColor();
+
+	/**
+	 * Sets the color of the answer and identifier text.
+	 *
+	 * @param color
+	 * 		the color to use, as an ARGB hex code
+	 */
+	public void setTextColor(int color);
+
+	/**
+	 * @return the current opacity of the card, between 0 and 1 inclusive
+	 */
+	public float getAlpha();
+
+	/**
+	 * Sets the opacity of the card.
+	 *
+	 * @param alpha
+	 * 		the opacity to use, between 0 and 1 inclusive
+	 */
+	public void setAlpha(float alpha);
+}
\ No newline at end of file
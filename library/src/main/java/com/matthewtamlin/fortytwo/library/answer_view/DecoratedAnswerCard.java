@@ -23,21 +23,21 @@ import com.matthewtamlin.android_utilities.library.testing.Tested;
 import com.matthewtamlin.java_utilities.checkers.IntChecker;
 import com.matthewtamlin.fortytwo.library.answer.Answer;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * An implementation of the AnswerCard interface which can be customised by supplying one or more
  * decorators. Any decorator supplied to {@link #addDecorator(Decorator, boolean)} will be called
- * upon whenever the status, answer or identifier changes.
+ * upon whenever the status or answer changes. Calls which do not change the marked status, the
+ * selected status, the answer or the correctness of the answer do not redecorate the card.
  */
 @Tested(testMethod = "automated", requiresInstrumentation = true)
 public class DecoratedAnswerCard extends SimpleAnswerCard {
 	/**
-	 * All decorators currently registered with the card.
+	 * Holds the decorators and applies them when the status or answer changes.
 	 */
-	private final Set<Decorator> decorators = new HashSet<>();
+	private final DecorationState decorationState = new DecorationState(this,
+			getAnimationDurationMs());
 
 	/**
 	 * Constructs a new DecoratedAnswerCard. The marked and selected statuses are both set to false
@@ -81,7 +81,7 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 
 	/**
 	 * Registers a decorator with this view and calls its {@link Decorator#decorate
-	 * (DecoratedAnswerCard, boolean)} method immediately. If the decorator is null or has already
+	 * (DecoratableCard, boolean)} method immediately. If the decorator is null or has already
 	 * been added, then there is no effect and the method returns immediately.
 	 *
 	 * @param decorator
@@ -90,11 +90,7 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 	 * 		whether or not the initial decoration should be animated
 	 */
 	public void addDecorator(final Decorator decorator, boolean animate) {
-		if (decorator != null) {
-			decorators.add(decorator);
-			decorator.setAnimationDurationMs(getAnimationDurationMs());
-			decorator.decorate(this, animate);
-		}
+		decorationState.add(decorator, animate);
 	}
 
 	/**
@@ -106,7 +102,7 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 	 * 		the decorator to remove
 	 */
 	public void removeDecorator(final Decorator decorator) {
-		decorators.remove(decorator);
+		decorationState.remove(decorator);
 	}
 
 	/**
@@ -114,7 +110,7 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 	 * those modifications are not reversed.
 	 */
 	public void clearDecorators() {
-		decorators.clear();
+		decorationState.clear();
 	}
 
 	/**
@@ -124,25 +120,35 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 	 * @return the set of all current decorators
 	 */
 	public Set<Decorator> getDecorators() {
-		return Collections.unmodifiableSet(decorators);
+		return decorationState.getDecorators();
+	}
+
+	/**
+	 * @return the number of times the decorators have been applied in response to a change in
+	 * the status or answer
+	 */
+	public int getDecorationPassCount() {
+		return decorationState.getPassCount();
+	}
+
+	/**
+	 * @return the number of times applying the decorators was skipped because the status and
+	 * answer had not changed
+	 */
+	public int getSkippedDecorationPassCount() {
+		return decorationState.getSkippedPassCount();
 	}
 
 	@Override
 	public void setStatus(final boolean marked, final boolean selected, final boolean animate) {
 		super.setStatus(marked, selected, animate);
-
-		for (final Decorator decorator : decorators) {
-			decorator.decorate(this, animate);
-		}
+		decorationState.decorateIfChanged(animate);
 	}
 
 	@Override
 	public void setAnswer(final Answer answer, final boolean animate) {
 		super.setAnswer(answer, animate);
-
-		for (final Decorator decorator : decorators) {
-			decorator.decorate(this, animate);
-		}
+		decorationState.decorateIfChanged(animate);
 	}
 
 	@Override
@@ -151,21 +157,19 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 				"be less than zero.");
 
 		super.setAnimationDurationMs(animationDurationMs);
-
-		for (final Decorator decorator : decorators) {
-			decorator.setAnimationDurationMs(animationDurationMs);
-		}
+		decorationState.setAnimationDurationMs(animationDurationMs);
 	}
 
 	/**
-	 * Applies decoration to a single {@link DecoratedAnswerCard} via the {@link
-	 * DecoratedAnswerCard#addDecorator(Decorator, boolean)} method. In general, it is not safe to
-	 * apply a single instance to multiple views.
+	 * Applies decoration to a single {@link DecoratableCard} via the {@link
+	 * DecoratedAnswerCard#addDecorator(Decorator, boolean)} or {@link
+	 * FlatAnswerCard#addDecorator(Decorator, boolean)} method. In general, it is not safe to apply a
+	 * single instance to multiple views.
 	 */
 	public interface Decorator {
 		/**
 		 * Sets the duration to use for any animations this decorator performs when {@link
-		 * #decorate(DecoratedAnswerCard, boolean)} is called.
+		 * #decorate(DecoratableCard, boolean)} is called.
 		 *
 		 * @param animationDurationMs
 		 * 		the duration to use, measured in milliseconds, greater than zero
@@ -174,7 +178,7 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 
 		/**
 		 * Returns the duration used for any animations this decorator performs when {@link
-		 * #decorate(DecoratedAnswerCard, boolean)} is called.
+		 * #decorate(DecoratableCard, boolean)} is called.
 		 *
 		 * @return the current animation duration, measured in milliseconds
 		 */
@@ -189,6 +193,6 @@ public class DecoratedAnswerCard extends SimpleAnswerCard {
 		 * @param animate
 		 * 		whether or not decoration animations should be enabled
 		 */
-		public void decorate(DecoratedAnswerCard cardToDecorate, boolean animate);
+		public void decorate(DecoratableCard cardToDecorate, boolean animate);
 	}
 }
\ No newline at end of file
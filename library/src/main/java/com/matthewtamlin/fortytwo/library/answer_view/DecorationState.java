@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Holds the decorators of a {@link DecoratableCard} and applies them when the card changes. The
+ * decorators are only applied if the marked status, the selected status, the answer or the
+ * correctness of the answer has changed since they were last applied, and the number of applied
+ * and skipped passes is counted. Used by {@link DecoratedAnswerCard} and {@link FlatAnswerCard}.
+ */
+final class DecorationState {
+	/**
+	 * The card to decorate.
+	 */
+	private final DecoratableCard card;
+
+	/**
+	 * All decorators currently registered with the card.
+	 */
+	private final Set<Decorator> decorators = new HashSet<>();
+
+	/**
+	 * A read-only view of {@code decorators}, which is returned by {@link #getDecorators()}.
+	 */
+	private final Set<Decorator> unmodifiableDecorators = Collections.unmodifiableSet(decorators);
+
+	/**
+	 * The animation duration to pass to the decorators, measured in milliseconds.
+	 */
+	private int animationDurationMs;
+
+	/**
+	 * The marked status, selected status and answer correctness which the decorators were last
+	 * applied to, packed into an int, or -1 if the decorators have not been applied.
+	 */
+	private int decoratedState = -1;
+
+	/**
+	 * The answer which the decorators were last applied to.
+	 */
+	private Answer decoratedAnswer = null;
+
+	/**
+	 * The number of times the decorators have been applied in response to a change.
+	 */
+	private int passCount = 0;
+
+	/**
+	 * The number of times applying the decorators was skipped because nothing had changed.
+	 */
+	private int skippedPassCount = 0;
+
+	/**
+	 * Constructs a new DecorationState.
+	 *
+	 * @param card
+	 * 		the card to decorate, not null
+	 * @param animationDurationMs
+	 * 		the initial animation duration to pass to the decorators, measured in milliseconds
+	 */
+	DecorationState(final DecoratableCard card, final int animationDurationMs) {
+		this.card = card;
+		this.animationDurationMs = animationDurationMs;
+	}
+
+	/**
+	 * Registers a decorator and applies it immediately. If the decorator is null or has already
+	 * been added, then there is no effect.
+	 *
+	 * @param decorator
+	 * 		the decorator to add, may be null
+	 * @param animate
+	 * 		whether or not the initial decoration should be animated
+	 */
+	void add(final Decorator decorator, final boolean animate) {
+		if (decorator != null && decorators.add(decorator)) {
+			decorator.setAnimationDurationMs(animationDurationMs);
+			decorator.decorate(card, animate);
+		}
+	}
+
+	/**
+	 * @param decorator
+	 * 		the decorator to remove, may be null
+	 */
+	void remove(final Decorator decorator) {
+		decorators.remove(decorator);
+	}
+
+	/**
+	 * Removes all decorators.
+	 */
+	void clear() {
+		decorators.clear();
+	}
+
+	/**
+	 * @return a read-only view of the registered decorators, not null
+	 */
+	Set<Decorator> getDecorators() {
+		return unmodifiableDecorators;
+	}
+
+	/**
+	 * Sets the animation duration of every registered decorator, and of decorators added later.
+	 *
+	 * @param animationDurationMs
+	 * 		the duration to use, measured in milliseconds, at least 0
+	 */
+	void setAnimationDurationMs(final int animationDurationMs) {
+		this.animationDurationMs = animationDurationMs;
+
+		for (final Decorator decorator : decorators) {
+			decorator.setAnimationDurationMs(animationDurationMs);
+		}
+	}
+
+	/**
+	 * Calls upon every decorator if the status or answer of the card has changed since they were
+	 * last applied.
+	 *
+	 * @param animate
+	 * 		whether or not the decorations should be animated
+	 */
+	void decorateIfChanged(final boolean animate) {
+		final int state = (card.isMarked() ? 4 : 0) | (card.isSelected() ? 2 : 0) |
+				(card.answerIsCorrect() ? 1 : 0);
+
+		if (state == decoratedState && card.getAnswer() == decoratedAnswer) {
+			skippedPassCount++;
+			return;
+		}
+
+		decoratedState = state;
+		decoratedAnswer = card.getAnswer();
+		passCount++;
+
+		for (final Decorator decorator : decorators) {
+			decorator.decorate(card, animate);
+		}
+	}
+
+	/**
+	 * @return the number of times the decorators have been applied in response to a change
+	 */
+	int getPassCount() {
+		return passCount;
+	}
+
+	/**
+	 * @return the number of times applying the decorators was skipped because nothing had changed
+	 */
+	int getSkippedPassCount() {
+		return skippedPassCount;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.Context;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.answer_view.AlphaDecorator.AlphaSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.ColorFadeDecorator.ColorSupplier;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.AlphaProperty;
+import com.matthewtamlin.fortytwo.library.answer_view.CompositeDecorator.ColorProperty;
+
+/**
+ * An AnswerCardFactory which creates {@link DecoratedAnswerCard}s that display their status. Each
+ * card is given a {@link CompositeDecorator} which changes the background color and the alpha of
+ * the card. Unmarked cards are white, or orange when selected. Marked cards are green if selected
+ * and correct, red if selected and incorrect, purple if unselected and correct, and faded white if
+ * unselected and incorrect.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = false)
+public class DefaultAnswerCardFactory implements AnswerCardFactory<DecoratedAnswerCard> {
+	/**
+	 * Supplies the background colors of the cards.
+	 */
+	private static final ColorSupplier COLOR_SUPPLIER = new ColorSupplier() {
+		@Override
+		public int getColor(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked) {
+				if (selected) {
+					return answerIsCorrect ? 0xFF2E7D32 : 0xFFb71c1c; // Green, red
+				} else {
+					return answerIsCorrect ? 0xFF673AB7 : 0xFFFFFFFF; // Purple, white
+				}
+			} else {
+				return selected ? 0xFFFF9800 : 0xFFFFFFFF; // Orange, white
+			}
+		}
+	};
+
+	/**
+	 * Supplies the alpha values of the cards.
+	 */
+	private static final AlphaSupplier ALPHA_SUPPLIER = new AlphaSupplier() {
+		@Override
+		public float getAlpha(final boolean marked, final boolean selected,
+				final boolean answerIsCorrect) {
+			if (marked && !selected && !answerIsCorrect) {
+				return 0.3f;
+			} else {
+				return 1f;
+			}
+		}
+	};
+
+	@Override
+	public DecoratedAnswerCard createCard(final Context context) {
+		final DecoratedAnswerCard card = new DecoratedAnswerCard(context);
+
+		card.addDecorator(new CompositeDecorator(new ColorProperty(COLOR_SUPPLIER),
+				new AlphaProperty(ALPHA_SUPPLIER)), false);
+
+		return card;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,864 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.View;
+
+import com.matthewtamlin.android_utilities.library.helpers.ColorHelper;
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+import com.matthewtamlin.fortytwo.library.R;
+import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.answer_view.DecoratedAnswerCard.Decorator;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
+import com.matthewtamlin.java_utilities.checkers.IntChecker;
+import com.matthewtamlin.java_utilities.checkers.NullChecker;
+
+import java.util.Set;
+
+/**
+ * An AnswerView which draws the card background, the identifier and the answer itself, rather than
+ * inflating a hierarchy of views. The text is laid out using StaticLayouts which are only rebuilt
+ * when the text or the width changes, so each card is a single view with a shallow measure and
+ * layout pass. This makes the card well suited to questions with many answers, at the cost of the
+ * elevation shadow drawn by the CardView in {@link DecoratedAnswerCard}.
+ * <p>
+ * Like the DecoratedAnswerCard, the card can be customised by supplying one or more decorators,
+ * which are called upon whenever the status or answer changes. The provided {@link
+ * ColorFadeDecorator} and {@link AlphaDecorator} can be used with both cards. The accessibility
+ * content description is automatically set based on the current status and answer, however
+ * custom content descriptions can be set by passing false to {@link
+ * #enableAutomaticContentDescriptions(boolean)} and setting the content description as usual.
+ * <p>
+ * Long answers can be laid out on a background thread by supplying a {@link TextPrecomputer} to
+ * {@link #setTextPrecomputer(TextPrecomputer)} and calling {@link #precomputeText(int)}. While a
+ * requested layout is pending the answer text is not drawn, and it is attached once it is ready.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class FlatAnswerCard extends View implements DecoratableCard {
+	/**
+	 * The default background color of the card.
+	 */
+	private static final int DEFAULT_BACKGROUND_COLOR = Color.WHITE;
+
+	/**
+	 * The radius of the card corners, measured in density independent pixels.
+	 */
+	private static final float CORNER_RADIUS_DP = 2;
+
+	/**
+	 * The minimum width of the identifier column, measured in density independent pixels.
+	 */
+	private static final float IDENTIFIER_MIN_WIDTH_DP = 42;
+
+	/**
+	 * The default inset of the card from the edges of the view, measured in density independent
+	 * pixels. The inset is only used if no padding is supplied.
+	 */
+	private static final float DEFAULT_INSET_DP = 4;
+
+	/**
+	 * Paints the card background.
+	 */
+	private final Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Paints the identifier.
+	 */
+	private final TextPaint identifierPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Paints the answer.
+	 */
+	private final TextPaint answerPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * The bounds of the card background. Reused on every draw.
+	 */
+	private final RectF cardBounds = new RectF();
+
+	/**
+	 * Transitions the text when the answer or identifier changes. Reused for every update.
+	 */
+	private final TextTicker textTicker = new TextTicker();
+
+	/**
+	 * Rebuilds the layouts when a precomputed answer layout is ready.
+	 */
+	private final TextPrecomputer.Callback precomputeCallback = new TextPrecomputer.Callback() {
+		@Override
+		public void onLayoutPrecomputed(final TextPrecomputer precomputer,
+				final CharSequence text) {
+			if (precomputer == textPrecomputer && TextUtils.equals(text, displayedAnswerText)) {
+				layoutWidth = -1;
+
+				requestLayout();
+				invalidate();
+			}
+		}
+	};
+
+	/**
+	 * Lays out the answer text on a background thread, null if not used.
+	 */
+	private TextPrecomputer textPrecomputer;
+
+	/**
+	 * The radius of the card corners, measured in pixels.
+	 */
+	private float cornerRadius;
+
+	/**
+	 * The minimum width of the identifier column, measured in pixels.
+	 */
+	private int identifierMinWidth;
+
+	/**
+	 * The horizontal padding either side of the identifier, measured in pixels.
+	 */
+	private int identifierPadding;
+
+	/**
+	 * The padding around the answer, measured in pixels.
+	 */
+	private int answerPadding;
+
+	/**
+	 * The current background color of the card.
+	 */
+	private int backgroundColor = DEFAULT_BACKGROUND_COLOR;
+
+	/**
+	 * The current color of the answer and identifier text.
+	 */
+	private int textColor;
+
+	/**
+	 * The opacity of any text which is being transitioned, between 0 and 1 inclusive.
+	 */
+	private float transitionAlpha = 1f;
+
+	/**
+	 * Whether or not the answer text is being transitioned.
+	 */
+	private boolean transitionAnswer = false;
+
+	/**
+	 * Whether or not the identifier text is being transitioned.
+	 */
+	private boolean transitionIdentifier = false;
+
+	/**
+	 * The answer text currently displayed.
+	 */
+	private CharSequence displayedAnswerText = null;
+
+	/**
+	 * The identifier currently displayed.
+	 */
+	private CharSequence displayedIdentifier = null;
+
+	/**
+	 * The answer text to display once the current transition has faded out the existing text.
+	 */
+	private CharSequence incomingAnswerText = null;
+
+	/**
+	 * The identifier to display once the current transition has faded out the existing text.
+	 */
+	private CharSequence incomingIdentifier = null;
+
+	/**
+	 * Lays out the displayed answer text. Rebuilt when the text or width changes.
+	 */
+	private StaticLayout answerLayout;
+
+	/**
+	 * Lays out the displayed identifier. Rebuilt when the text or width changes.
+	 */
+	private StaticLayout identifierLayout;
+
+	/**
+	 * The width of the identifier column in the current layouts, measured in pixels.
+	 */
+	private int identifierColumnWidth;
+
+	/**
+	 * The view width which the current layouts were built for, or -1 if they must be rebuilt.
+	 */
+	private int layoutWidth = -1;
+
+	/**
+	 * Indicates whether or not the text is currently being updated. This could be an
+	 * instantaneous update on the UI thread, or an asynchronous update using the animation clock.
+	 */
+	private boolean textUpdateInProgress = false;
+
+	/**
+	 * Indicates whether or not a text update needs to be performed when possible.
+	 */
+	private boolean textUpdatePending = false;
+
+	/**
+	 * Indicates whether or not the next text update should be animated or instantaneous.
+	 */
+	private boolean animateNextTextUpdate = false;
+
+	/**
+	 * The duration to use for animated updates, measured in milliseconds.
+	 */
+	private int animationDurationMs = 300;
+
+	/**
+	 * Holds the decorators and applies them when the status or answer changes.
+	 */
+	private final DecorationState decorationState = new DecorationState(this, animationDurationMs);
+
+	/**
+	 * Drives the animations of this card and its decorators. Created lazily, since cards in a group
+	 * normally share the clock of the group.
+	 */
+	private AnimationClock animationClock;
+
+	/**
+	 * Whether or not this card is currently marked.
+	 */
+	private boolean marked = false;
+
+	/**
+	 * Whether or not this card is currently selected.
+	 */
+	private boolean selected = false;
+
+	/**
+	 * The current answer.
+	 */
+	private Answer answer = null;
+
+	/**
+	 * The current identifier.
+	 */
+	private CharSequence identifier = null;
+
+	/**
+	 * Whether or not the content description should automatically be updated to reflect the status
+	 * and answer of the view.
+	 */
+	private boolean enableAutomaticContentDescriptions = true;
+
+	/**
+	 * The state which the current automatic content description describes, or -1 if the
+	 * description must be updated.
+	 */
+	private int describedAccessibilityState = -1;
+
+	/**
+	 * Constructs a new FlatAnswerCard. The marked and selected statuses are both set to false by
+	 * default.
+	 *
+	 * @param context
+	 * 		the context this view is operating in, not null
+	 */
+	public FlatAnswerCard(final Context context) {
+		super(context);
+		init();
+	}
+
+	/**
+	 * Constructs a new FlatAnswerCard. The marked and selected statuses are both set to false by
+	 * default.
+	 *
+	 * @param context
+	 * 		the context this view is operating in, not null
+	 * @param attrs
+	 * 		configuration attributes, null allowed
+	 */
+	public FlatAnswerCard(final Context context, final AttributeSet attrs) {
+		super(context, attrs);
+		init();
+	}
+
+	/**
+	 * Constructs a new FlatAnswerCard. The marked and selected statuses are both set to false by
+	 * default.
+	 *
+	 * @param context
+	 * 		the context this view is operating in, not null
+	 * @param attrs
+	 * 		configuration attributes, null allowed
+	 * @param defStyleAttr
+	 * 		an attribute in the current theme which supplies default attributes, pass 0	to ignore
+	 */
+	public FlatAnswerCard(final Context context, final AttributeSet attrs,
+			final int defStyleAttr) {
+		super(context, attrs, defStyleAttr);
+		init();
+	}
+
+	/**
+	 * Registers a decorator with this view and calls its {@link Decorator#decorate(DecoratableCard,
+	 * boolean)} method immediately. If the decorator is null or has already been added, then there
+	 * is no effect and the method returns immediately.
+	 *
+	 * @param decorator
+	 * 		the decorator to add
+	 * @param animate
+	 * 		whether or not the initial decoration should be animated
+	 */
+	public void addDecorator(final Decorator decorator, final boolean animate) {
+		decorationState.add(decorator, animate);
+	}
+
+	/**
+	 * Removes a decorator from this view. If the decorator is null or has not been added, then
+	 * there is no effect and the method returns immediately. If the decorator has modified the view
+	 * in some way, those modifications are not reversed.
+	 *
+	 * @param decorator
+	 * 		the decorator to remove
+	 */
+	public void removeDecorator(final Decorator decorator) {
+		decorationState.remove(decorator);
+	}
+
+	/**
+	 * Removes all decorators from the view. If the decorators have modified the view in some way,
+	 * those modifications are not reversed.
+	 */
+	public void clearDecorators() {
+		decorationState.clear();
+	}
+
+	/**
+	 * Returns an unmodifiable set containing all decorators currently registered with this view.
+	 * The set may be empty but it will never be null.
+	 *
+	 * @return the set of all current decorators
+	 */
+	public Set<Decorator> getDecorators() {
+		return decorationState.getDecorators();
+	}
+
+	/**
+	 * @return the number of times the decorators have been applied in response to a change in
+	 * the status or answer
+	 */
+	public int getDecorationPassCount() {
+		return decorationState.getPassCount();
+	}
+
+	/**
+	 * @return the number of times applying the decorators was skipped because the status and
+	 * answer had not changed
+	 */
+	public int getSkippedDecorationPassCount() {
+		return decorationState.getSkippedPassCount();
+	}
+
+	/**
+	 * Sets the animation duration to use when updating the UI. The duration is also passed to all
+	 * decorators. The default is 300 milliseconds.
+	 *
+	 * @param animationDurationMs
+	 * 		the duration to use, measured in milliseconds, at least 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code animationDurationMs} is less than 0
+	 */
+	public void setAnimationDurationMs(final int animationDurationMs) {
+		this.animationDurationMs = IntChecker.checkGreaterThanOrEqualTo(animationDurationMs, 0,
+				"animationDurationMs cannot be less than zero.");
+
+		decorationState.setAnimationDurationMs(animationDurationMs);
+	}
+
+	/**
+	 * @return the current animation duration, measured in milliseconds
+	 */
+	public int getAnimationDurationMs() {
+		return animationDurationMs;
+	}
+
+	/**
+	 * Sets the text precomputer to use when laying out the answer text. If a layout of the answer
+	 * text has been precomputed at the required width, it is used instead of laying out the text
+	 * on the UI thread.
+	 *
+	 * @param textPrecomputer
+	 * 		the text precomputer to use, null to lay out all text on the UI thread
+	 */
+	public void setTextPrecomputer(final TextPrecomputer textPrecomputer) {
+		if (this.textPrecomputer != null) {
+			this.textPrecomputer.removeCallback(precomputeCallback);
+		}
+
+		this.textPrecomputer = textPrecomputer;
+		layoutWidth = -1;
+	}
+
+	/**
+	 * @return the current text precomputer, null if there is none
+	 */
+	public TextPrecomputer getTextPrecomputer() {
+		return textPrecomputer;
+	}
+
+	/**
+	 * Requests a background layout of the current answer text, for display in a view of the
+	 * supplied width. This method has no effect if there is no text precomputer or no answer. If
+	 * the card is later measured at a different width, the text is laid out on the UI thread.
+	 *
+	 * @param viewWidth
+	 * 		the expected width of this view, measured in pixels
+	 */
+	public void precomputeText(final int viewWidth) {
+		final CharSequence answerText = answer == null ? null : answer.getText();
+
+		if (textPrecomputer != null && answerText != null) {
+			final int columnWidth = calculateIdentifierColumnWidth(identifier);
+			final int answerWidth = calculateAnswerWidth(viewWidth, columnWidth);
+
+			textPrecomputer.precompute(answerText, answerPaint, answerWidth, precomputeCallback);
+		}
+	}
+
+	@Override
+	public void setAnimationClock(final AnimationClock animationClock) {
+		this.animationClock = NullChecker.checkNotNull(animationClock,
+				"animationClock cannot be null.");
+	}
+
+	@Override
+	public AnimationClock getAnimationClock() {
+		if (animationClock == null) {
+			animationClock = new AnimationClock();
+		}
+
+		return animationClock;
+	}
+
+	/**
+	 * Enables/disables automatic content descriptions. If automatic descriptions are enabled, the
+	 * content description is automatically set to reflect the current status and answer. If this
+	 * option is disabled, the content description can be set externally.
+	 *
+	 * @param enable
+	 * 		true to enable automatic content descriptions, false to disable them
+	 */
+	public void enableAutomaticContentDescriptions(final boolean enable) {
+		enableAutomaticContentDescriptions = enable;
+
+		// May have been false previously, so ensure content descriptions reflects new setting
+		if (enable) {
+			describedAccessibilityState = -1;
+			updateAccessibility();
+		}
+	}
+
+	@Override
+	public int getCardBackgroundColor() {
+		return backgroundColor;
+	}
+
+	@Override
+	public void setCardBackgroundColor(final int color) {
+		if (color != backgroundColor) {
+			backgroundColor = color;
+			backgroundPaint.setColor(color);
+			invalidate();
+		}
+	}
+
+	@Override
+	public int getTextColor() {
+		return textColor;
+	}
+
+	@Override
+	public void setTextColor(final int color) {
+		if (color != textColor) {
+			textColor = color;
+			invalidate();
+		}
+	}
+
+	@Override
+	public boolean answerIsCorrect() {
+		return answer == null ? false : answer.isCorrect();
+	}
+
+	@Override
+	public void setStatus(final boolean marked, final boolean selected, final boolean animate) {
+		if (marked != this.marked || selected != this.selected) {
+			this.marked = marked;
+			this.selected = selected;
+
+			updateAccessibility();
+		}
+
+		decorationState.decorateIfChanged(animate);
+	}
+
+	@Override
+	public void setMarkedStatus(final boolean marked, final boolean animate) {
+		setStatus(marked, selected, animate);
+	}
+
+	@Override
+	public void setSelectedStatus(final boolean selected, final boolean animate) {
+		setStatus(marked, selected, animate);
+	}
+
+	@Override
+	public boolean isMarked() {
+		return marked;
+	}
+
+	@Override
+	public boolean isSelected() {
+		return selected;
+	}
+
+	@Override
+	public void setAnswer(final Answer answer, final boolean animate) {
+		this.answer = answer;
+
+		updateAccessibility();
+		updateText(animate);
+		decorationState.decorateIfChanged(animate);
+	}
+
+	@Override
+	public Answer getAnswer() {
+		return answer;
+	}
+
+	@Override
+	public void setIdentifier(final CharSequence identifier, final boolean animate) {
+		this.identifier = identifier;
+
+		updateText(animate);
+	}
+
+	@Override
+	public CharSequence getIdentifier() {
+		return identifier;
+	}
+
+	@Override
+	protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+		final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+		final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+
+		final int width;
+
+		if (widthMode == MeasureSpec.EXACTLY) {
+			width = widthSize;
+		} else {
+			final int desiredWidth = getPaddingLeft() + getPaddingRight() +
+					calculateIdentifierColumnWidth(displayedIdentifier) + answerPadding * 2 +
+					(int) Math.ceil(Layout.getDesiredWidth(nonNull(displayedAnswerText),
+							answerPaint));
+
+			width = widthMode == MeasureSpec.AT_MOST ? Math.min(desiredWidth, widthSize) :
+					desiredWidth;
+		}
+
+		buildLayoutsIfNecessary(width);
+
+		final int contentHeight = Math.max(identifierLayout.getHeight(),
+				answerLayout.getHeight() + answerPadding * 2);
+		final int desiredHeight = getPaddingTop() + getPaddingBottom() + contentHeight;
+
+		setMeasuredDimension(width, resolveSize(Math.max(desiredHeight, getSuggestedMinimumHeight()),
+				heightMeasureSpec));
+	}
+
+	@Override
+	protected void onDraw(final Canvas canvas) {
+		super.onDraw(canvas);
+
+		buildLayoutsIfNecessary(getWidth());
+
+		cardBounds.set(getPaddingLeft(), getPaddingTop(), getWidth() - getPaddingRight(),
+				getHeight() - getPaddingBottom());
+		canvas.drawRoundRect(cardBounds, cornerRadius, cornerRadius, backgroundPaint);
+
+		// The layouts reference their paints, so colors can be changed without rebuilding them
+		identifierLayout.getPaint().setColor(applyAlpha(textColor,
+				transitionIdentifier ? transitionAlpha : 1f));
+		answerLayout.getPaint().setColor(applyAlpha(textColor,
+				transitionAnswer ? transitionAlpha : 1f));
+
+		final float cardHeight = cardBounds.height();
+
+		canvas.save();
+		canvas.translate(cardBounds.left + identifierPadding,
+				cardBounds.top + (cardHeight - identifierLayout.getHeight()) / 2f);
+		identifierLayout.draw(canvas);
+		canvas.restore();
+
+		canvas.save();
+		canvas.translate(cardBounds.left + identifierColumnWidth,
+				cardBounds.top + (cardHeight - answerLayout.getHeight()) / 2f);
+		answerLayout.draw(canvas);
+		canvas.restore();
+	}
+
+	/**
+	 * Initialises this view by resolving the dimensions and configuring the paints.
+	 */
+	private void init() {
+		final Resources resources = getResources();
+		final float density = resources.getDisplayMetrics().density;
+
+		cornerRadius = CORNER_RADIUS_DP * density;
+		identifierMinWidth = Math.round(IDENTIFIER_MIN_WIDTH_DP * density);
+		identifierPadding = resources.getDimensionPixelSize(R.dimen.standard);
+		answerPadding = resources.getDimensionPixelSize(R.dimen.half_standard);
+
+		identifierPaint.setTextSize(resources.getDimension(R.dimen.text_size_answer_identifier));
+		identifierPaint.setTypeface(Typeface.DEFAULT_BOLD);
+		answerPaint.setTextSize(resources.getDimension(R.dimen.text_size_answer_content));
+
+		backgroundPaint.setColor(backgroundColor);
+		textColor = ColorHelper.calculateBestTextColor(backgroundColor);
+
+		if (getPaddingLeft() == 0 && getPaddingTop() == 0 && getPaddingRight() == 0 &&
+				getPaddingBottom() == 0) {
+			final int inset = Math.round(DEFAULT_INSET_DP * density);
+			setPadding(inset, inset, inset, inset);
+		}
+
+		updateAccessibility();
+	}
+
+	/**
+	 * Updates the accessibility properties of this view.
+	 */
+	private void updateAccessibility() {
+		if (enableAutomaticContentDescriptions) {
+			final int state = answer == null ? ContentDescriptionCache.STATE_BLANK :
+					ContentDescriptionCache.getState(marked, selected, answer.isCorrect());
+
+			if (state != describedAccessibilityState) {
+				describedAccessibilityState = state;
+				setContentDescription(ContentDescriptionCache.getDescription(getResources(), state));
+			}
+		}
+	}
+
+	/**
+	 * Updates the UI to display the current answer and identifier. If this method is called again
+	 * while animations from a previous invocation are still running, the current animations will
+	 * complete before new ones are started.
+	 *
+	 * @param animate
+	 * 		whether or not the UI update should be animated
+	 */
+	private void updateText(final boolean animate) {
+		textUpdatePending = true;
+		animateNextTextUpdate = animate;
+
+		if (!textUpdateInProgress) {
+			final long startNs = PerformanceMonitor.beginOperation();
+
+			textUpdateInProgress = true;
+			textUpdatePending = false;
+
+			final CharSequence answerText = answer == null ? null : answer.getText();
+			transitionAnswer = !TextUtils.equals(displayedAnswerText, answerText);
+			transitionIdentifier = !TextUtils.equals(displayedIdentifier, identifier);
+
+			if (!animateNextTextUpdate || animationDurationMs == 0 ||
+					!(transitionAnswer || transitionIdentifier)) {
+				displayText(answerText, identifier);
+
+				textUpdateInProgress = false;
+			} else {
+				incomingAnswerText = answerText;
+				incomingIdentifier = identifier;
+				textTicker.textReplaced = false;
+
+				getAnimationClock().start(textTicker, animationDurationMs);
+			}
+
+			PerformanceMonitor.endOperation(PerformanceMonitor.OPERATION_UPDATE_TEXT, startNs);
+		}
+	}
+
+	/**
+	 * Displays the supplied text, rebuilding the layouts if the text has changed.
+	 *
+	 * @param answerText
+	 * 		the answer text to display, may be null
+	 * @param identifierText
+	 * 		the identifier to display, may be null
+	 */
+	private void displayText(final CharSequence answerText, final CharSequence identifierText) {
+		if (!TextUtils.equals(displayedAnswerText, answerText) ||
+				!TextUtils.equals(displayedIdentifier, identifierText)) {
+			displayedAnswerText = answerText;
+			displayedIdentifier = identifierText;
+			layoutWidth = -1;
+
+			requestLayout();
+		}
+
+		invalidate();
+	}
+
+	/**
+	 * Builds the text layouts for the supplied view width, unless the current layouts were built
+	 * for the same width and text.
+	 *
+	 * @param width
+	 * 		the width of the view, measured in pixels
+	 */
+	private void buildLayoutsIfNecessary(final int width) {
+		if (width == layoutWidth && answerLayout != null) {
+			return;
+		}
+
+		layoutWidth = width;
+		identifierColumnWidth = calculateIdentifierColumnWidth(displayedIdentifier);
+
+		final int identifierWidth = Math.max(0, identifierColumnWidth - identifierPadding * 2);
+		final int answerWidth = calculateAnswerWidth(width, identifierColumnWidth);
+
+		identifierLayout = new StaticLayout(nonNull(displayedIdentifier), identifierPaint,
+				identifierWidth, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+
+		answerLayout = null;
+
+		if (textPrecomputer != null && displayedAnswerText != null) {
+			answerLayout = textPrecomputer.getLayout(displayedAnswerText, answerPaint, answerWidth);
+
+			// Leave the text blank until the layout is delivered, rather than blocking
+			if (answerLayout == null &&
+					textPrecomputer.isPending(displayedAnswerText, answerPaint, answerWidth)) {
+				answerLayout = new StaticLayout("", answerPaint, answerWidth,
+						Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+			}
+		}
+
+		if (answerLayout == null) {
+			answerLayout = new StaticLayout(nonNull(displayedAnswerText), answerPaint, answerWidth,
+					Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+		}
+	}
+
+	/**
+	 * Calculates the width of the identifier column.
+	 *
+	 * @param identifierText
+	 * 		the identifier to display in the column, may be null
+	 * @return the width of the identifier column, measured in pixels
+	 */
+	private int calculateIdentifierColumnWidth(final CharSequence identifierText) {
+		final float identifierWidth = Layout.getDesiredWidth(nonNull(identifierText),
+				identifierPaint);
+
+		return Math.max(identifierMinWidth, (int) Math.ceil(identifierWidth) + identifierPadding *
+				2);
+	}
+
+	/**
+	 * Calculates the width available for the answer text.
+	 *
+	 * @param viewWidth
+	 * 		the width of this view, measured in pixels
+	 * @param columnWidth
+	 * 		the width of the identifier column, measured in pixels
+	 * @return the width available for the answer text, measured in pixels
+	 */
+	private int calculateAnswerWidth(final int viewWidth, final int columnWidth) {
+		final int contentWidth = Math.max(0, viewWidth - getPaddingLeft() - getPaddingRight());
+		return Math.max(0, contentWidth - columnWidth - answerPadding);
+	}
+
+	/**
+	 * Scales the alpha channel of a color.
+	 *
+	 * @param color
+	 * 		the color to scale, as an ARGB hex code
+	 * @param alpha
+	 * 		the factor to scale the alpha channel by, between 0 and 1 inclusive
+	 * @return the scaled color, as an ARGB hex code
+	 */
+	private static int applyAlpha(final int color, final float alpha) {
+		return Color.argb(Math.round(Color.alpha(color) * alpha), Color.red(color),
+				Color.green(color), Color.blue(color));
+	}
+
+	/**
+	 * @param text
+	 * 		the text to check, may be null
+	 * @return the supplied text, or an empty string if it is null
+	 */
+	private static CharSequence nonNull(final CharSequence text) {
+		return text == null ? "" : text;
+	}
+
+	/**
+	 * Fades out the text which is changing, replaces it, then fades the new text in.
+	 */
+	private class TextTicker implements AnimationClock.Ticker {
+		/**
+		 * Whether or not the new text has been displayed yet.
+		 */
+		private boolean textReplaced = false;
+
+		@Override
+		public void onTick(final float fraction) {
+			// Fade out the current values during the first half, then fade in the new
+			if (fraction < 0.5f) {
+				transitionAlpha = 1 - AnimationClock.interpolate(fraction * 2);
+			} else {
+				if (!textReplaced) {
+					displayText(incomingAnswerText, incomingIdentifier);
+					textReplaced = true;
+				}
+
+				transitionAlpha = AnimationClock.interpolate(fraction * 2 - 1);
+			}
+
+			invalidate();
+		}
+
+		@Override
+		public void onComplete() {
+			transitionAlpha = 1f;
+			textUpdateInProgress = false;
+
+			// If a new update was requested while the animation progressed, do it now
+			if (textUpdatePending) {
+				updateText(animateNextTextUpdate);
+			}
+		}
+	}
+}
\ No newline at end of file
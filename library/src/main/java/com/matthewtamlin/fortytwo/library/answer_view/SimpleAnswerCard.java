@@ -16,21 +16,26 @@
 
 package com.matthewtamlin.fortytwo.library.answer_view;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.AnimatorSet;
-import android.animation.ValueAnimator;
 import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.os.Build;
 import android.support.v7.widget.CardView;
 import android.util.AttributeSet;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityManager;
+import android.view.accessibility.AccessibilityNodeInfo;
 import android.widget.FrameLayout;
 import android.widget.TextView;
 
 import com.matthewtamlin.android_utilities.library.helpers.ColorHelper;
 import com.matthewtamlin.android_utilities.library.testing.Tested;
 import com.matthewtamlin.java_utilities.checkers.IntChecker;
+import com.matthewtamlin.java_utilities.checkers.NullChecker;
 import com.matthewtamlin.fortytwo.library.R;
 import com.matthewtamlin.fortytwo.library.answer.Answer;
+import com.matthewtamlin.fortytwo.library.util.PerformanceMonitor;
 
 /**
  * A implementation of the AnswerView interface which uses a CardView for the UI. Although all
@@ -39,14 +44,42 @@ import com.matthewtamlin.fortytwo.library.answer.Answer;
  * The accessibility content description of the view is automatically set based on the current
  * status and answer, however custom content descriptions can be set by passing false to {@link
  * #enableAutomaticContentDescriptions(boolean)} and setting the content description as usual.
+ * Automatic descriptions are shared between cards, and can optionally be deferred until they are
+ * needed by passing true to {@link #deferAutomaticContentDescriptions(boolean)}.
  */
 @Tested(testMethod = "automated", requiresInstrumentation = true) // via subclasses
-public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView {
+public abstract class SimpleAnswerCard extends FrameLayout implements DecoratableCard {
+	/**
+	 * Accessibility state value which indicates that the content description must be updated.
+	 */
+	private static final int ACCESSIBILITY_STATE_UNKNOWN = -1;
+
 	/**
 	 * The main UI component, containing the answer container and identifier container.
 	 */
 	private CardView card;
 
+	/**
+	 * Draws the background color of the card on API 21 and up, where the content of the CardView is
+	 * clipped to its rounded outline. Changing the color of the drawable does not allocate, unlike
+	 * changing the background color of the CardView. Null on older versions, where the CardView
+	 * draws the background color itself.
+	 */
+	private ColorDrawable backgroundDrawable;
+
+	/**
+	 * The current background color of the card, while it is drawn by the background drawable.
+	 */
+	private int backgroundColor;
+
+	/**
+	 * Whether or not the CardView currently draws the background color of the card itself. On API
+	 * 21 and up, the color is handed to the CardView by {@link #syncCardViewBackgroundColor()}, so
+	 * that the CardView reports the correct color and changes to it are visible. The color is
+	 * handed back to the background drawable the next time the color is set through this view.
+	 */
+	private boolean cardDrawsColor = false;
+
 	/**
 	 * Displays the answer to the user.
 	 */
@@ -73,11 +106,23 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	 */
 	private boolean animateNextTextUpdate = false;
 
+	/**
+	 * Animates the containers when the text is updated. A single ticker is reused for every update,
+	 * since updates never overlap.
+	 */
+	private final TextTicker textTicker = new TextTicker();
+
 	/**
 	 * The duration to use for animated updates, measured in milliseconds.
 	 */
 	private int animationDurationMs = 300;
 
+	/**
+	 * Drives the animations of this card and its decorators. Created lazily, since cards in a group
+	 * normally share the clock of the group.
+	 */
+	private AnimationClock animationClock;
+
 	/**
 	 * Whether or not this card is currently marked. This value is not reflected in the UI, as this
 	 * responsibility is delegated to subclasses.
@@ -106,6 +151,40 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	 */
 	private boolean enableAutomaticContentDescriptions = true;
 
+	/**
+	 * The state which the current automatic content description describes. Used to skip updates
+	 * which would not change the description.
+	 */
+	private int describedAccessibilityState = ACCESSIBILITY_STATE_UNKNOWN;
+
+	/**
+	 * The number of times the automatic content description has been regenerated.
+	 */
+	private int accessibilityUpdateCount = 0;
+
+	/**
+	 * The number of times regenerating the automatic content description was skipped because the
+	 * description would not have changed.
+	 */
+	private int skippedAccessibilityUpdateCount = 0;
+
+	/**
+	 * Whether or not automatic content descriptions should be deferred until they are needed, if
+	 * accessibility is disabled.
+	 */
+	private boolean deferAutomaticContentDescriptions = false;
+
+	/**
+	 * Whether or not the automatic content description is out of date because an update was
+	 * deferred.
+	 */
+	private boolean contentDescriptionPending = false;
+
+	/**
+	 * Used to check whether accessibility is enabled. Obtained lazily.
+	 */
+	private AccessibilityManager accessibilityManager;
+
 	/**
 	 * Constructs a new SimpleAnswerCard. The marked and selected statuses are both set to false by
 	 * default.
@@ -150,12 +229,33 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	}
 
 	/**
+	 * Returns the CardView used for the main body of this view. On API 21 and up the color of the
+	 * card is normally drawn by a separate view inside the CardView, since changing that color does
+	 * not allocate, so the background color of the CardView is transparent. Use {@link
+	 * #getCardBackgroundColor()} and {@link #setCardBackgroundColor(int)} to access the color, or
+	 * call {@link #syncCardViewBackgroundColor()} before accessing it through the CardView.
+	 *
 	 * @return the CardView used for the main body of this view
 	 */
 	public CardView getCard() {
 		return card;
 	}
 
+	/**
+	 * Makes the CardView returned by {@link #getCard()} draw the background color of this card, so
+	 * that its background color is the current color of the card and can be changed directly. The
+	 * color moves back to the separate view the next time {@link #setCardBackgroundColor(int)}
+	 * changes it, for example when a decorator animates the card. This method has no effect on
+	 * versions below API 21, where the CardView always draws the color.
+	 */
+	public void syncCardViewBackgroundColor() {
+		if (backgroundDrawable != null && !cardDrawsColor) {
+			card.setCardBackgroundColor(backgroundColor);
+			backgroundDrawable.setColor(Color.TRANSPARENT);
+			cardDrawsColor = true;
+		}
+	}
+
 	/**
 	 * @return the TextView used to display the answer
 	 */
@@ -188,6 +288,37 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 		return animationDurationMs;
 	}
 
+	/**
+	 * Sets the clock which drives the animations of this card and its decorators. Sharing a
+	 * single clock between many cards reduces the per-frame overhead when they animate at the
+	 * same time. Animations which are already running continue on the previous clock.
+	 *
+	 * @param animationClock
+	 * 		the clock to use, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code animationClock} is null
+	 */
+	@Override
+	public void setAnimationClock(final AnimationClock animationClock) {
+		this.animationClock = NullChecker.checkNotNull(animationClock,
+				"animationClock cannot be null.");
+	}
+
+	/**
+	 * Returns the clock which drives the animations of this card and its decorators. If no clock
+	 * has been set, a clock is created for this card.
+	 *
+	 * @return the animation clock, not null
+	 */
+	@Override
+	public AnimationClock getAnimationClock() {
+		if (animationClock == null) {
+			animationClock = new AnimationClock();
+		}
+
+		return animationClock;
+	}
+
 	/**
 	 * Enables/disables automatic content descriptions. If automatic descriptions are enabled, the
 	 * content description is automatically set to reflect the current status and answer. If this
@@ -198,23 +329,134 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	 */
 	public void enableAutomaticContentDescriptions(final boolean enable) {
 		enableAutomaticContentDescriptions = enable;
+		contentDescriptionPending = false;
 
 		// May have been false previously, so ensure content descriptions reflects new setting
 		if (enable) {
+			describedAccessibilityState = ACCESSIBILITY_STATE_UNKNOWN;
 			updateAccessibility();
 		}
 	}
 
+	/**
+	 * Enables/disables deferral of automatic content descriptions. If deferral is enabled and
+	 * accessibility is disabled, the content description is not updated when the status or answer
+	 * changes. Instead it is updated when it is next requested, either by the accessibility
+	 * framework or by a call to {@link #getContentDescription()}. This avoids work for cards which
+	 * are never inspected by an accessibility service. Deferral is disabled by default.
+	 *
+	 * @param defer
+	 * 		true to defer automatic content descriptions, false to update them immediately
+	 */
+	public void deferAutomaticContentDescriptions(final boolean defer) {
+		deferAutomaticContentDescriptions = defer;
+
+		if (!defer) {
+			applyPendingContentDescription();
+		}
+	}
+
+	/**
+	 * @return true if automatic content descriptions are deferred until needed, false otherwise
+	 */
+	public boolean automaticContentDescriptionsAreDeferred() {
+		return deferAutomaticContentDescriptions;
+	}
+
+	@Override
+	public CharSequence getContentDescription() {
+		applyPendingContentDescription();
+		return super.getContentDescription();
+	}
+
+	@Override
+	public void onInitializeAccessibilityNodeInfo(final AccessibilityNodeInfo info) {
+		applyPendingContentDescription();
+		super.onInitializeAccessibilityNodeInfo(info);
+	}
+
+	@Override
+	public boolean dispatchPopulateAccessibilityEvent(final AccessibilityEvent event) {
+		applyPendingContentDescription();
+		return super.dispatchPopulateAccessibilityEvent(event);
+	}
+
+	/**
+	 * @return the number of times the automatic content description has been regenerated
+	 */
+	public int getAccessibilityUpdateCount() {
+		return accessibilityUpdateCount;
+	}
+
+	/**
+	 * @return the number of times regenerating the automatic content description was skipped
+	 * because the status and answer had not changed in a way which affects it
+	 */
+	public int getSkippedAccessibilityUpdateCount() {
+		return skippedAccessibilityUpdateCount;
+	}
+
+	@Override
+	public int getCardBackgroundColor() {
+		if (backgroundDrawable == null || cardDrawsColor) {
+			return card.getCardBackgroundColor().getDefaultColor();
+		} else {
+			return backgroundColor;
+		}
+	}
+
+	@Override
+	public void setCardBackgroundColor(final int color) {
+		if (color == getCardBackgroundColor()) {
+			return;
+		}
+
+		if (backgroundDrawable == null) {
+			card.setCardBackgroundColor(color);
+		} else {
+			if (cardDrawsColor) {
+				card.setCardBackgroundColor(Color.TRANSPARENT);
+				cardDrawsColor = false;
+			}
+
+			backgroundColor = color;
+			backgroundDrawable.setColor(color);
+		}
+	}
+
+	@Override
+	public int getTextColor() {
+		return answerContainer.getCurrentTextColor();
+	}
+
+	@Override
+	public void setTextColor(final int color) {
+		if (color == answerContainer.getCurrentTextColor() &&
+				color == identifierContainer.getCurrentTextColor()) {
+			return;
+		}
+
+		// Setting an int color creates a new ColorStateList, so reuse a cached one instead
+		final ColorStateList colors = ColorStateListCache.get(color);
+		answerContainer.setTextColor(colors);
+		identifierContainer.setTextColor(colors);
+	}
+
 	/**
 	 * Returns whether or not the current answer is correct. If there is currently no answer, false
 	 * is returned.
 	 */
+	@Override
 	public boolean answerIsCorrect() {
 		return answer == null ? false : answer.isCorrect();
 	}
 
 	@Override
 	public void setStatus(final boolean marked, final boolean selected, final boolean animate) {
+		if (marked == this.marked && selected == this.selected) {
+			return;
+		}
+
 		this.marked = marked;
 		this.selected = selected;
 
@@ -258,8 +500,7 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	public void setIdentifier(final CharSequence identifier, final boolean animate) {
 		this.identifier = identifier;
 
-		updateAccessibility();
-		updateText(animate);
+		updateText(animate); // The identifier is not part of the content description
 	}
 
 	@Override
@@ -277,9 +518,15 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 		identifierContainer = (TextView) findViewById(R.id.single_answer_card_identifier);
 		answerContainer = (TextView) findViewById(R.id.single_answer_card_label);
 
-		final int backgroundColor = card.getCardBackgroundColor().getDefaultColor();
-		identifierContainer.setTextColor(ColorHelper.calculateBestTextColor(backgroundColor));
-		answerContainer.setTextColor(ColorHelper.calculateBestTextColor(backgroundColor));
+		backgroundColor = card.getCardBackgroundColor().getDefaultColor();
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			backgroundDrawable = new ColorDrawable(backgroundColor);
+			findViewById(R.id.single_answer_card_background).setBackground(backgroundDrawable);
+			card.setCardBackgroundColor(Color.TRANSPARENT);
+		}
+
+		setTextColor(ColorHelper.calculateBestTextColor(backgroundColor));
 
 		updateAccessibility();
 		updateText(false);
@@ -290,34 +537,69 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 	 */
 	private void updateAccessibility() {
 		if (enableAutomaticContentDescriptions) {
-			if (answer == null) {
-				setContentDescription(getResources().getString(R.string
-						.single_answer_view_contdesc_desc_blank));
+			final int state = getAccessibilityState();
+
+			if (state == describedAccessibilityState) {
+				skippedAccessibilityUpdateCount++;
+				contentDescriptionPending = false;
+
+			} else if (deferAutomaticContentDescriptions && !accessibilityIsEnabled()) {
+				contentDescriptionPending = true;
+
 			} else {
-				final String selectedText = getContext().getString(R.string
-						.single_answer_view_contdesc_general_selected);
-				final String unselectedText = getContext().getString(R.string
-						.single_answer_view_contdesc_general_unselected);
-				final String markedCorrectText = getContext().getString(R.string
-						.single_answer_view_contdesc_general_marked_correct);
-				final String markedIncorrectText = getContext().getString(R.string
-						.single_answer_view_contdesc_general_marked_incorrect);
-				final String unmarkedText = getContext().getString(R.string
-						.single_answer_view_contdesc_general_unmarked);
-
-				final String selectedVariable = selected ? selectedText : unselectedText;
-				final String markedVariable = marked ?
-						(answer.isCorrect() ? markedCorrectText : markedIncorrectText) :
-						unmarkedText;
-
-				setContentDescription(String.format(getContext().getString(
-						R.string.single_answer_view_contdesc_general),
-						selectedVariable,
-						markedVariable));
+				applyContentDescription(state);
+			}
+		}
+	}
+
+	/**
+	 * Updates the content description if an update was previously deferred.
+	 */
+	private void applyPendingContentDescription() {
+		if (contentDescriptionPending) {
+			contentDescriptionPending = false;
+
+			final int state = getAccessibilityState();
+
+			if (state != describedAccessibilityState) {
+				applyContentDescription(state);
 			}
 		}
 	}
 
+	/**
+	 * Sets the content description of this view to the cached description of the supplied state.
+	 *
+	 * @param state
+	 * 		the state to describe
+	 */
+	private void applyContentDescription(final int state) {
+		describedAccessibilityState = state;
+		accessibilityUpdateCount++;
+
+		setContentDescription(ContentDescriptionCache.getDescription(getResources(), state));
+	}
+
+	/**
+	 * @return the state which the automatic content description should currently describe
+	 */
+	private int getAccessibilityState() {
+		return answer == null ? ContentDescriptionCache.STATE_BLANK :
+				ContentDescriptionCache.getState(marked, selected, answer.isCorrect());
+	}
+
+	/**
+	 * @return true if accessibility is currently enabled on the device, false otherwise
+	 */
+	private boolean accessibilityIsEnabled() {
+		if (accessibilityManager == null) {
+			accessibilityManager = (AccessibilityManager) getContext().getSystemService(
+					Context.ACCESSIBILITY_SERVICE);
+		}
+
+		return accessibilityManager != null && accessibilityManager.isEnabled();
+	}
+
 	/**
 	 * Updates the UI to display the current answer and identifier. If this method is called again
 	 * while animations from a previous invocation are still running, the current animations will
@@ -331,6 +613,8 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 		animateNextTextUpdate = animate;
 
 		if (!textUpdateInProgress) {
+			final long startNs = PerformanceMonitor.beginOperation();
+
 			textUpdateInProgress = true;
 			textUpdatePending = false;
 
@@ -347,61 +631,94 @@ public abstract class SimpleAnswerCard extends FrameLayout implements AnswerView
 
 				textUpdateInProgress = false;
 			} else {
-				final ValueAnimator fadeOutCurrent = ValueAnimator.ofFloat(0, 1);
-
-				fadeOutCurrent.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-					@Override
-					public void onAnimationUpdate(final ValueAnimator animation) {
-						if (updateAnswer) {
-							answerContainer.setAlpha(1 - animation.getAnimatedFraction());
-						}
-
-						if (updateIdentifier) {
-							identifierContainer.setAlpha(1 - animation.getAnimatedFraction());
-						}
-					}
-				});
-
-				final ValueAnimator fadeInNew = ValueAnimator.ofFloat(0, 1);
-
-				fadeInNew.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-					@Override
-					public void onAnimationUpdate(final ValueAnimator animation) {
-						if (updateAnswer) {
-							answerContainer.setAlpha(animation.getAnimatedFraction());
-						}
-
-						if (updateIdentifier) {
-							identifierContainer.setAlpha(animation.getAnimatedFraction());
-						}
-					}
-				});
-
-				fadeInNew.addListener(new AnimatorListenerAdapter() {
-					@Override
-					public void onAnimationStart(final Animator animation) {
-						// Reset then set new values
-						answerContainer.setText(null);
-						identifierContainer.setText(null);
-						answerContainer.setText(answerText);
-						identifierContainer.setText(identifier);
-					}
-
-					@Override
-					public void onAnimationEnd(final Animator animation) {
-						textUpdateInProgress = false;
-
-						// If a new update was requested while the animation progressed, do it now
-						if (textUpdatePending) {
-							updateText(animateNextTextUpdate);
-						}
-					}
-				});
-
-				final AnimatorSet update = new AnimatorSet();
-				update.play(fadeOutCurrent).before(fadeInNew);
-				update.setDuration(animationDurationMs / 2);
-				update.start();
+				textTicker.prepare(answerText, updateAnswer, updateIdentifier);
+				getAnimationClock().start(textTicker, animationDurationMs);
+			}
+
+			PerformanceMonitor.endOperation(PerformanceMonitor.OPERATION_UPDATE_TEXT, startNs);
+		}
+	}
+
+	/**
+	 * Fades out the current text of the containers, replaces it, and then fades in the new text.
+	 */
+	private class TextTicker implements AnimationClock.Ticker {
+		/**
+		 * The answer text to display once the current text has faded out.
+		 */
+		private CharSequence answerText;
+
+		/**
+		 * Whether or not the answer container is being updated.
+		 */
+		private boolean updateAnswer;
+
+		/**
+		 * Whether or not the identifier container is being updated.
+		 */
+		private boolean updateIdentifier;
+
+		/**
+		 * Whether or not the new values have been set yet.
+		 */
+		private boolean textReplaced;
+
+		/**
+		 * Prepares this ticker for the next update. Must not be called while the ticker is running.
+		 *
+		 * @param answerText
+		 * 		the answer text to display, may be null
+		 * @param updateAnswer
+		 * 		whether or not the answer container is being updated
+		 * @param updateIdentifier
+		 * 		whether or not the identifier container is being updated
+		 */
+		private void prepare(final CharSequence answerText, final boolean updateAnswer,
+				final boolean updateIdentifier) {
+			this.answerText = answerText;
+			this.updateAnswer = updateAnswer;
+			this.updateIdentifier = updateIdentifier;
+			textReplaced = false;
+		}
+
+		@Override
+		public void onTick(final float fraction) {
+			final float alpha;
+
+			// Fade out the current values during the first half, then fade in the new
+			if (fraction < 0.5f) {
+				alpha = 1 - AnimationClock.interpolate(fraction * 2);
+			} else {
+				if (!textReplaced) {
+					// Reset then set new values
+					answerContainer.setText(null);
+					identifierContainer.setText(null);
+					answerContainer.setText(answerText);
+					identifierContainer.setText(identifier);
+
+					textReplaced = true;
+				}
+
+				alpha = AnimationClock.interpolate(fraction * 2 - 1);
+			}
+
+			if (updateAnswer) {
+				answerContainer.setAlpha(alpha);
+			}
+
+			if (updateIdentifier) {
+				identifierContainer.setAlpha(alpha);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			answerText = null;
+			textUpdateInProgress = false;
+
+			// If a new update was requested while the animation progressed, do it now
+			if (textUpdatePending) {
+				updateText(animateNextTextUpdate);
 			}
 		}
 	}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import com.matthewtamlin.android_utilities.library.helpers.ColorHelper;
+
+/**
+ * Steps the text color of a card from one color to the most readable color for a new background.
+ * The steps are calculated when each transition starts, so that the text only takes a few
+ * distinct colors and stepping through them does not allocate. The most readable text colors are
+ * cached for the last few backgrounds, since calculating them is relatively expensive and cards
+ * only move between a few background colors. A single instance must not be shared between
+ * decorators.
+ */
+final class TextColorRamp {
+	/**
+	 * The number of text colors in the ramp. Text is small and thin compared to the background, so
+	 * the steps are not visible during a transition.
+	 */
+	private static final int STEPS = 16;
+
+	/**
+	 * The number of background colors to remember the best text color for. Color suppliers have at
+	 * most eight distinct results, so this is enough to avoid recalculating in normal use.
+	 */
+	private static final int CACHE_SIZE = 8;
+
+	/**
+	 * The text colors to step through during the current transition, from the start text color to
+	 * the target text color inclusive.
+	 */
+	private final int[] ramp = new int[STEPS];
+
+	/**
+	 * The background colors which have a cached text color. Parallel to {@code cachedTextColors}.
+	 */
+	private final int[] cachedBackgrounds = new int[CACHE_SIZE];
+
+	/**
+	 * The best text color for each cached background color.
+	 */
+	private final int[] cachedTextColors = new int[CACHE_SIZE];
+
+	/**
+	 * The number of entries in use in the cache.
+	 */
+	private int cachedCount = 0;
+
+	/**
+	 * The cache index to overwrite when the cache is full.
+	 */
+	private int nextSlot = 0;
+
+	/**
+	 * Recalculates the ramp so that it runs from the supplied text color to the most readable text
+	 * color for the supplied background.
+	 *
+	 * @param startTextColor
+	 * 		the text color at the start of the transition, as an ARGB hex code
+	 * @param targetBackground
+	 * 		the background color at the end of the transition, as an ARGB hex code
+	 * @return the text color at the end of the transition, as an ARGB hex code
+	 */
+	int retarget(final int startTextColor, final int targetBackground) {
+		final int targetTextColor = getBestTextColor(targetBackground);
+
+		// Fill the ramp so that its ends are exactly the start and target colors
+		final int lastStep = STEPS - 1;
+		ramp[0] = startTextColor;
+		ramp[lastStep] = targetTextColor;
+
+		for (int i = 1; i < lastStep; i++) {
+			ramp[i] = ColorHelper.blendColors(startTextColor, targetTextColor, i / (float) lastStep);
+		}
+
+		return targetTextColor;
+	}
+
+	/**
+	 * Gets the step of the ramp which is nearest to the supplied fraction of the transition.
+	 *
+	 * @param fraction
+	 * 		the interpolated fraction of the transition, between 0 and 1 inclusive
+	 * @return the text color to use, as an ARGB hex code
+	 */
+	int getColor(final float fraction) {
+		return ramp[Math.round(fraction * (STEPS - 1))];
+	}
+
+	/**
+	 * Gets the text color which is most readable against the supplied background color, using
+	 * the cache where possible.
+	 *
+	 * @param backgroundColor
+	 * 		the background color, as an ARGB hex code
+	 * @return the best text color, as an ARGB hex code
+	 */
+	int getBestTextColor(final int backgroundColor) {
+		for (int i = 0; i < cachedCount; i++) {
+			if (cachedBackgrounds[i] == backgroundColor) {
+				return cachedTextColors[i];
+			}
+		}
+
+		final int textColor = ColorHelper.calculateBestTextColor(backgroundColor);
+
+		final int slot;
+
+		if (cachedCount < CACHE_SIZE) {
+			slot = cachedCount++;
+		} else {
+			slot = nextSlot;
+			nextSlot = (nextSlot + 1) % CACHE_SIZE;
+		}
+
+		cachedBackgrounds[slot] = backgroundColor;
+		cachedTextColors[slot] = textColor;
+
+		return textColor;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2017 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.fortytwo.library.answer_view;
+
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.SpannedString;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import com.matthewtamlin.android_utilities.library.testing.Tested;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static com.matthewtamlin.java_utilities.checkers.IntChecker.checkGreaterThan;
+import static com.matthewtamlin.java_utilities.checkers.NullChecker.checkNotNull;
+
+/**
+ * Lays out answer text on a background thread, so that long answers do not need to be measured
+ * on the UI thread when they are first displayed. Layouts are requested using {@link
+ * #precompute(CharSequence, TextPaint, int, Callback)} and retrieved using {@link
+ * #getLayout(CharSequence, TextPaint, int)} once they are ready. Completed layouts are cached, and
+ * the least recently used layouts are discarded once the capacity is reached.
+ * <p>
+ * Layouts are identified by the text, the width, and the size, typeface and flags of the paint.
+ * Each layout is built using a copy of the supplied paint, which can be obtained from {@link
+ * Layout#getPaint()} and is safe to modify on the UI thread once the layout has been retrieved.
+ * Other than the background work, this class must only be used from the UI thread.
+ */
+@Tested(testMethod = "automated", requiresInstrumentation = true)
+public class TextPrecomputer {
+	/**
+	 * The default maximum number of cached layouts.
+	 */
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * Runs the layout tasks.
+	 */
+	private final Executor executor;
+
+	/**
+	 * Delivers completed layouts to the UI thread.
+	 */
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * The completed layouts, in least recently used order. Guarded by itself, since layouts are
+	 * added on the background thread.
+	 */
+	private final LinkedHashMap<LayoutKey, StaticLayout> layouts;
+
+	/**
+	 * The callbacks waiting for each layout which has been requested but not completed. Only
+	 * accessed on the UI thread.
+	 */
+	private final Map<LayoutKey, List<Callback>> pendingCallbacks = new HashMap<>();
+
+	/**
+	 * Constructs a new TextPrecomputer which lays out text on a single low priority background
+	 * thread, and caches up to 64 layouts.
+	 */
+	public TextPrecomputer() {
+		this(createDefaultExecutor(), DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new TextPrecomputer.
+	 *
+	 * @param executor
+	 * 		runs the layout tasks, not null
+	 * @param capacity
+	 * 		the maximum number of layouts to cache, greater than 0
+	 * @throws IllegalArgumentException
+	 * 		if {@code executor} is null
+	 * @throws IllegalArgumentException
+	 * 		if {@code capacity} is not greater than 0
+	 */
+	public TextPrecomputer(final Executor executor, final int capacity) {
+		this.executor = checkNotNull(executor, "executor cannot be null.");
+		checkGreaterThan(capacity, 0, "capacity must be greater than 0.");
+
+		layouts = new LinkedHashMap<LayoutKey, StaticLayout>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<LayoutKey, StaticLayout> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Requests a layout of the supplied text. If the layout is already cached then the method
+	 * returns true and the callback is not notified. Otherwise the layout is built in the
+	 * background and the callback is notified on the UI thread once it is ready.
+	 *
+	 * @param text
+	 * 		the text to lay out, not null
+	 * @param paint
+	 * 		the paint to lay out the text with, not null
+	 * @param width
+	 * 		the width to lay out the text at, measured in pixels, at least 0
+	 * @param callback
+	 * 		the callback to notify when the layout is ready, may be null
+	 * @return true if the layout is already available, false otherwise
+	 * @throws IllegalArgumentException
+	 * 		if {@code text} or {@code paint} is null
+	 */
+	public boolean precompute(final CharSequence text, final TextPaint paint, final int width,
+			final Callback callback) {
+		checkNotNull(text, "text cannot be null.");
+		checkNotNull(paint, "paint cannot be null.");
+
+		final LayoutKey key = new LayoutKey(text, paint, Math.max(0, width));
+
+		synchronized (layouts) {
+			if (layouts.containsKey(key)) {
+				return true;
+			}
+		}
+
+		List<Callback> callbacks = pendingCallbacks.get(key);
+
+		if (callbacks == null) {
+			callbacks = new ArrayList<>();
+			pendingCallbacks.put(key, callbacks);
+
+			// Copy the mutable inputs, since they may change while the task waits to run
+			final CharSequence textCopy = text instanceof Spanned ? new SpannedString(text) :
+					text.toString();
+			final TextPaint paintCopy = new TextPaint(paint);
+
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					final StaticLayout layout = new StaticLayout(textCopy, paintCopy, key.width,
+							Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+
+					synchronized (layouts) {
+						layouts.put(key, layout);
+					}
+
+					mainHandler.post(new Runnable() {
+						@Override
+						public void run() {
+							deliver(key);
+						}
+					});
+				}
+			});
+		}
+
+		if (callback != null && !callbacks.contains(callback)) {
+			callbacks.add(callback);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets a precomputed layout of the supplied text.
+	 *
+	 * @param text
+	 * 		the text which was laid out, may be null
+	 * @param paint
+	 * 		the paint which the text was laid out with, not null
+	 * @param width
+	 * 		the width which the text was laid out at, measured in pixels
+	 * @return the layout, or null if it has not been precomputed or is not ready yet
+	 */
+	public StaticLayout getLayout(final CharSequence text, final TextPaint paint, final int width) {
+		if (text == null) {
+			return null;
+		}
+
+		synchronized (layouts) {
+			return layouts.get(new LayoutKey(text, paint, Math.max(0, width)));
+		}
+	}
+
+	/**
+	 * @param text
+	 * 		the text to check, may be null
+	 * @param paint
+	 * 		the paint to check, not null
+	 * @param width
+	 * 		the width to check, measured in pixels
+	 * @return true if the layout has been requested but is not ready yet, false otherwise
+	 */
+	public boolean isPending(final CharSequence text, final TextPaint paint, final int width) {
+		return text != null &&
+				pendingCallbacks.containsKey(new LayoutKey(text, paint, Math.max(0, width)));
+	}
+
+	/**
+	 * Stops the supplied callback from being notified about any pending layouts. The layouts are
+	 * still built and cached.
+	 *
+	 * @param callback
+	 * 		the callback to remove, may be null
+	 */
+	public void removeCallback(final Callback callback) {
+		for (final List<Callback> callbacks : pendingCallbacks.values()) {
+			callbacks.remove(callback);
+		}
+	}
+
+	/**
+	 * Discards all cached layouts. Pending layouts are still delivered.
+	 */
+	public void clear() {
+		synchronized (layouts) {
+			layouts.clear();
+		}
+	}
+
+	/**
+	 * Notifies the callbacks waiting for a layout which has been completed.
+	 *
+	 * @param key
+	 * 		identifies the completed layout
+	 */
+	private void deliver(final LayoutKey key) {
+		final List<Callback> callbacks = pendingCallbacks.remove(key);
+
+		if (callbacks != null) {
+			for (final Callback callback : callbacks) {
+				callback.onLayoutPrecomputed(this, key.text);
+			}
+		}
+	}
+
+	/**
+	 * @return an executor which runs tasks on a single low priority daemon thread
+	 */
+	private static Executor createDefaultExecutor() {
+		return Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				final Thread thread = new Thread(runnable, "TextPrecomputer");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Callback to be notified when a precomputed layout is ready.
+	 */
+	public interface Callback {
+		/**
+		 * Invoked on the UI thread when a requested layout has been completed.
+		 *
+		 * @param precomputer
+		 * 		the precomputer which built the layout, not null
+		 * @param text
+		 * 		the text which was laid out, not null
+		 */
+		public void onLayoutPrecomputed(TextPrecomputer precomputer, CharSequence text);
+	}
+
+	/**
+	 * Identifies a layout by the properties which affect it.
+	 */
+	private static class LayoutKey {
+		/**
+		 * The text, as a String.
+		 */
+		private final String text;
+
+		/**
+		 * The layout width, measured in pixels.
+		 */
+		private final int width;
+
+		/**
+		 * The text size of the paint.
+		 */
+		private final float textSize;
+
+		/**
+		 * The typeface of the paint, may be null.
+		 */
+		private final Typeface typeface;
+
+		/**
+		 * The flags of the paint.
+		 */
+		private final int flags;
+
+		/**
+		 * Constructs a new LayoutKey.
+		 *
+		 * @param text
+		 * 		the text, not null
+		 * @param paint
+		 * 		the paint, not null
+		 * @param width
+		 * 		the layout width, measured in pixels
+		 */
+		private LayoutKey(final CharSequence text, final TextPaint paint, final int width) {
+			this.text = text.toString();
+			this.width = width;
+			this.textSize = paint.getTextSize();
+			this.typeface = paint.getTypeface();
+			this.flags = paint.getFlags();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (this == object) {
+				return true;
+			}
+
+			if (!(object instanceof LayoutKey)) {
+				return false;
+			}
+
+			final LayoutKey other = (LayoutKey) object;
+
+			return width == other.width && textSize == other.textSize && flags == other.flags &&
+					text.equals(other.text) &&
+					(typeface == null ? other.typeface == null : typeface.equals(other.typeface));
+		}
+
+		@Override
+		public int hashCode() {
+			int result = text.hashCode();
+			result = 31 * result + width;
+			result = 31 * result + Float.floatToIntBits(textSize);
+			result = 31 * result + (typeface == null ? 0 : typeface.hashCode());
+			result = 31 * result + flags;
+
+			return result;
+		}
+	}
+}
\ No newline at end of file